@@ -0,0 +1,19 @@
+package io.github.joke.caffeinate;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@code <Name>Columns}, a growable container that stores each property in its own array instead of one
+ * object per element. {@code get(index)} returns a reusable cursor that implements the annotated interface, and
+ * {@code forEach} walks the elements through a single cursor, so loops over many elements read contiguous arrays
+ * without allocating or chasing references. Usually combined with {@link Immutable}.
+ */
+@Documented
+@Target(TYPE)
+@Retention(CLASS)
+public @interface Columns {}
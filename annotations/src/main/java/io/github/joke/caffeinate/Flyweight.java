@@ -0,0 +1,19 @@
+package io.github.joke.caffeinate;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Generates {@code <Name>Flyweight}, a view that reads every getter from a fixed offset in a
+ * {@link java.nio.ByteBuffer} instead of a field. One instance can be moved over any number of records with
+ * {@code wrap(buffer, offset)}, so memory-mapped files can be scanned through the annotated interface without
+ * allocating per record. All properties must be primitives; values use the byte order of the buffer.
+ */
+@Documented
+@Target(TYPE)
+@Retention(CLASS)
+public @interface Flyweight {}
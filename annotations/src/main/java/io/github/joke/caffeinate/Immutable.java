@@ -7,6 +7,12 @@ import java.lang.annotation.Documented;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
+/**
+ * Generates an immutable implementation of the annotated interface or abstract class. {@code List}, {@code Set} and
+ * {@code Map} arguments are copied unless they cannot change, and the getters return unmodifiable collections. Array
+ * arguments are cloned, but array getters return the stored array, so array properties are not protected against
+ * callers that modify the returned array.
+ */
 @Documented
 @Target(TYPE)
 @Retention(CLASS)
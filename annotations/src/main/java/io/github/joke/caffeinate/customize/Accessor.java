@@ -0,0 +1,25 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Generate reflection-free access to the properties of an {@code @Immutable} or {@code @Mutable} type by index and
+ * name, as the nested class {@code Accessor} of its implementation. Indexes follow the declaration order of the
+ * properties.
+ *
+ * <pre>{@code
+ * int index = PersonImpl.Accessor.indexOf("age");   // -1 if there is no such property
+ * Object age = PersonImpl.Accessor.get(person, index);
+ * PersonImpl.Accessor.set(person, index, 37);        // @Mutable types only
+ * for (String name : PersonImpl.Accessor.names()) { ... }
+ * }</pre>
+ *
+ * <p>{@code get} boxes primitive values, and {@code set} casts the value to the property type.
+ */
+@Target(TYPE)
+@Retention(CLASS)
+public @interface Accessor {}
@@ -0,0 +1,32 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.CLASS;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Generate a reflection-free binary codec for an {@code @Immutable} type as the nested class {@code Codec} of its
+ * implementation. Properties are written in declaration order, after a presence bitmap covering the
+ * {@code @Nullable} ones:
+ *
+ * <ul>
+ *   <li>primitives and boxed primitives in their raw big-endian form,
+ *   <li>{@code String} as a length-prefixed UTF-8 byte sequence, {@code byte[]} as a length-prefixed array,
+ *   <li>enums by ordinal,
+ *   <li>other {@code @Immutable @Codec} types through their own codec.
+ * </ul>
+ *
+ * <pre>{@code
+ * PersonImpl.Codec.encode(person, dataOutput);
+ * PersonImpl.Codec.encode(person, byteBuffer);
+ * Person copy = PersonImpl.Codec.decode(byteBuffer);
+ * }</pre>
+ *
+ * <p>The format has no type or version information; both sides must use the same declaration. Ignored on
+ * {@code @Mutable} types.
+ */
+@Target(TYPE)
+@Retention(CLASS)
+public @interface Codec {}
@@ -0,0 +1,46 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Make a {@code @Mutable} type safe to share between threads without locking. Every field is accessed through a
+ * {@code VarHandle} with the memory ordering selected by {@link #access()}, and each property gets atomic update
+ * methods in addition to its getter and setter.
+ *
+ * <pre>{@code
+ * private static final VarHandle COUNT = varHandle("count", int.class);
+ *
+ * public boolean compareAndSetCount(int expectedValue, int newValue) {
+ *   return COUNT.compareAndSet(this, expectedValue, newValue);
+ * }
+ *
+ * public int getAndUpdateCount(IntUnaryOperator updateFunction) { ... }
+ *
+ * public int updateCount(IntUnaryOperator updateFunction) { ... }
+ * }</pre>
+ *
+ * <p>Reference properties are compared by identity in {@code compareAndSet}. Cannot be combined with
+ * {@link Layout}; ignored on {@code @Immutable} types.
+ */
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface Concurrent {
+
+    /**
+     * Memory ordering of getters and setters. Atomic updates always have volatile semantics.
+     */
+    Access access() default Access.VOLATILE;
+
+    enum Access {
+        /** {@code getVolatile} / {@code setVolatile}: sequentially consistent. */
+        VOLATILE,
+        /** {@code getAcquire} / {@code setRelease}: a read sees every write made before the matching write. */
+        ACQUIRE_RELEASE,
+        /** {@code getOpaque} / {@code setOpaque}: atomic and coherent per field, no ordering with other fields. */
+        OPAQUE
+    }
+}
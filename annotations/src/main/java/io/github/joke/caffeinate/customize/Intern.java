@@ -0,0 +1,38 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Canonicalize instances of an {@code @Immutable} type. The generated implementation gets a static {@code of(...)}
+ * factory that returns an existing equal instance when there is one; its constructor becomes private, and the
+ * builder and {@code withX} methods go through the factory as well.
+ *
+ * <pre>{@code
+ * public static PersonImpl of(String name, int age) {
+ *   PersonImpl candidate = new PersonImpl(name, age);
+ *   synchronized (INTERNED) {
+ *     ...
+ *   }
+ * }
+ * }</pre>
+ *
+ * <p>If every property is a {@code boolean} or a non-null enum with few enough combinations, all instances are
+ * created up front, {@code of(...)} indexes them by ordinal and {@link #maxSize()} does not apply.
+ *
+ * <p>Ignored on {@code @Mutable} types.
+ */
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface Intern {
+
+    /**
+     * Maximum number of canonical instances to retain. With the default {@code 0}, instances are held weakly and
+     * removed once no longer referenced elsewhere; otherwise the least recently interned instances are evicted
+     * beyond this size.
+     */
+    int maxSize() default 0;
+}
@@ -0,0 +1,52 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Customize how properties are stored in the fields of the generated implementation. Accessors, constructors and
+ * setters keep the declared types; only the internal representation changes.
+ */
+@Documented
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface Layout {
+
+    /**
+     * Store boxed primitives ({@code Integer}, {@code Long}, ...), {@link java.util.OptionalInt},
+     * {@link java.util.OptionalLong}, {@link java.util.OptionalDouble} and {@code Optional} of a boxed primitive in
+     * primitive fields. {@code @Nullable} boxed values and optionals additionally use a presence bit; values are boxed
+     * again only when read through the getter.
+     *
+     * <pre>{@code
+     * private final int count;        // Integer getCount()
+     * private final long timeout;     // OptionalLong getTimeout()
+     * private final int bits0;        // presence bits
+     *
+     * @Override
+     * public OptionalLong getTimeout() {
+     *   return (this.bits0 & 0x1) != 0 ? OptionalLong.of(this.timeout) : OptionalLong.empty();
+     * }
+     * }</pre>
+     */
+    boolean unboxed() default false;
+
+    /**
+     * Store {@code boolean} properties as single bits in the shared bit words instead of one field each. Combined with
+     * {@link #unboxed()}, non-{@code @Nullable} {@code Boolean} properties are packed as well.
+     *
+     * <pre>{@code
+     * private final long bits0;       // 40 boolean flags
+     *
+     * @Override
+     * public boolean isActive() {
+     *   return (this.bits0 & 0x1L) != 0;
+     * }
+     * }</pre>
+     */
+    boolean packBooleans() default false;
+}
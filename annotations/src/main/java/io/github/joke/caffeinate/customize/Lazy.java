@@ -0,0 +1,41 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Memoize the result of a concrete, parameterless method of an {@code @Immutable} type. The generated implementation
+ * overrides the method, calls the original implementation once and caches its result in a field using
+ * double-checked locking:
+ *
+ * <pre>{@code
+ * private volatile String fullName;
+ *
+ * @Override
+ * public String getFullName() {
+ *   String result = this.fullName;
+ *   if (result == null) {
+ *     synchronized (this) {
+ *       result = this.fullName;
+ *       if (result == null) {
+ *         result = super.getFullName();
+ *         this.fullName = result;
+ *       }
+ *     }
+ *   }
+ *   return result;
+ * }
+ * }</pre>
+ *
+ * <p>Lazy values are derived state: they are not properties and take no part in {@code equals}, {@code hashCode} or
+ * {@code toString}. Ignored on {@code @Mutable} types.
+ *
+ * <p>On {@code @Intern} types, whose instances are shared with every caller, the generated code locks a private
+ * {@code lock} field instead of {@code this}.
+ */
+@Target(METHOD)
+@Retention(SOURCE)
+public @interface Lazy {}
@@ -0,0 +1,51 @@
+package io.github.joke.caffeinate.customize;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.SOURCE;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Order instances of an {@code @Immutable} type by the listed properties. The generated implementation implements
+ * {@code Comparable} of the annotated type and gets a static {@code COMPARATOR}. Primitives and boxed primitives are
+ * compared with {@code Integer.compare} and its siblings, other properties with their {@code compareTo}, so comparing
+ * neither boxes nor allocates.
+ *
+ * <pre>{@code
+ * private static int compare(Person left, Person right) {
+ *   int result;
+ *   result = left.getLastName().compareTo(right.getLastName());
+ *   if (result != 0) {
+ *     return result;
+ *   }
+ *   result = Integer.compare(left.getAge(), right.getAge());
+ *   ...
+ * }
+ * }</pre>
+ *
+ * <p>Ignored on {@code @Mutable} types.
+ */
+@Target(TYPE)
+@Retention(SOURCE)
+public @interface OrderBy {
+
+    /**
+     * The property names to order by, in order of precedence. Every property must be primitive, a boxed primitive or
+     * {@link Comparable}.
+     */
+    String[] value();
+
+    /**
+     * Where {@code null} values of {@code @Nullable} properties are ordered.
+     */
+    Nulls nulls() default Nulls.FIRST;
+
+    enum Nulls {
+        /** {@code null} is less than any value. */
+        FIRST,
+
+        /** {@code null} is greater than any value. */
+        LAST
+    }
+}
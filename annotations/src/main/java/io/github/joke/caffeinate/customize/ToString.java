@@ -46,6 +46,24 @@ public @interface ToString {
          * }
          * }</pre>
          */
-        TO_STRING_BUILDER
+        TO_STRING_BUILDER,
+
+        /**
+         * Implement {@link Object#toString()} with a single {@link StringBuilder} presized from the property count and
+         * types. Constant fragments are merged into one {@code append} call each, so the only allocations are the
+         * builder and the resulting string.
+         *
+         * <pre>{@code
+         * @Override
+         * public String toString() {
+         *   return new StringBuilder(36)
+         *     .append("Person[name='").append(name)
+         *     .append("', age=").append(age)
+         *     .append(']')
+         *     .toString();
+         * }
+         * }</pre>
+         */
+        STRING_BUILDER
     }
 }
@@ -0,0 +1,88 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.AbstractEntity;
+import io.github.joke.caffeinate.benchmarks.model.BoxedValue;
+import io.github.joke.caffeinate.benchmarks.model.CollectionValue;
+import io.github.joke.caffeinate.benchmarks.model.MutableValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValue;
+import io.github.joke.caffeinate.benchmarks.model.UnboxedValue;
+import io.github.joke.caffeinate.benchmarks.model.WideValue;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AccessorBenchmark {
+
+    // accessed through their interfaces, as client code does
+    private PrimitiveValue primitive = Fixtures.primitive(42);
+    private BoxedValue boxed = Fixtures.boxed(42);
+    private UnboxedValue unboxed = Fixtures.unboxed(42);
+    private CollectionValue collections = Fixtures.collections(42);
+    private WideValue wide = Fixtures.wide(42);
+    private AbstractEntity entity = Fixtures.entity(42);
+    private MutableValueImpl mutable = Fixtures.mutable(42);
+
+    @Benchmark
+    public void primitiveGetters(Blackhole blackhole) {
+        blackhole.consume(primitive.getId());
+        blackhole.consume(primitive.getTimestamp());
+        blackhole.consume(primitive.getRatio());
+        blackhole.consume(primitive.getWeight());
+        blackhole.consume(primitive.getPort());
+        blackhole.consume(primitive.getFlags());
+        blackhole.consume(primitive.getGrade());
+        blackhole.consume(primitive.isActive());
+    }
+
+    @Benchmark
+    public long boxedGetters() {
+        return boxed.getCount() + boxed.getTotal() + (long) (double) boxed.getAverage() + (boxed.getEnabled() ? 1 : 0);
+    }
+
+    @Benchmark
+    public long unboxedGetters() {
+        return unboxed.getCount()
+                + unboxed.getTotal()
+                + (long) (double) unboxed.getAverage()
+                + (unboxed.getEnabled() ? 1 : 0)
+                + unboxed.getTimeout().orElse(0L);
+    }
+
+    @Benchmark
+    public int collectionGetters() {
+        return collections.getName().length()
+                + collections.getTags().size()
+                + collections.getCodes().size()
+                + collections.getCounters().size();
+    }
+
+    @Benchmark
+    public long wideGetters() {
+        return wide.getProperty00() + wide.getProperty01() + wide.getProperty30() + wide.getProperty55();
+    }
+
+    @Benchmark
+    public long abstractBaseGetters() {
+        return entity.getId().length() + entity.getVersion() + entity.getOwner().length();
+    }
+
+    @Benchmark
+    public int mutableSetAndGet() {
+        mutable.setCount(mutable.getCount() + 1);
+        return mutable.getCount();
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.CodecValueImpl;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes and decodes a {@code @Codec} type through its generated codec, reusing one buffer per thread.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark {
+
+    private final CodecValueImpl value =
+            new CodecValueImpl(42L, "name-42", 42, 0.42, true, "a short comment", 7L);
+    private final ByteBuffer buffer = ByteBuffer.allocate(256);
+    private final ByteBuffer encoded = encode(value);
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+    private final DataOutputStream stream = new DataOutputStream(bytes);
+
+    @Benchmark
+    public int encodeBuffer() {
+        buffer.clear();
+        CodecValueImpl.Codec.encode(value, buffer);
+        return buffer.position();
+    }
+
+    @Benchmark
+    public CodecValueImpl decodeBuffer() {
+        encoded.rewind();
+        return CodecValueImpl.Codec.decode(encoded);
+    }
+
+    @Benchmark
+    public int encodeStream() throws IOException {
+        bytes.reset();
+        CodecValueImpl.Codec.encode(value, stream);
+        return bytes.size();
+    }
+
+    private static ByteBuffer encode(CodecValueImpl value) {
+        ByteBuffer buffer = ByteBuffer.allocate(256);
+        CodecValueImpl.Codec.encode(value, buffer);
+        return buffer.flip();
+    }
+}
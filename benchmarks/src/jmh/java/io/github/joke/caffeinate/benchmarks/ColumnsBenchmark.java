@@ -0,0 +1,73 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValue;
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValueColumns;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Aggregates two properties of {@code PrimitiveValue} over a generated columns container, read by column and through
+ * {@code forEach}, against a {@code List} of generated immutable instances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnsBenchmark {
+
+    @Param({"100000"})
+    public int records = 100_000;
+
+    private List<PrimitiveValue> list = new ArrayList<>();
+    private PrimitiveValueColumns columns = new PrimitiveValueColumns();
+
+    @Setup
+    public void setUp() {
+        list = new ArrayList<>(records);
+        columns = new PrimitiveValueColumns(records);
+        for (int i = 0; i < records; i++) {
+            PrimitiveValue value = Fixtures.primitive(i);
+            list.add(value);
+            columns.add(value);
+        }
+    }
+
+    @Benchmark
+    public long listScan() {
+        long sum = 0;
+        for (PrimitiveValue value : list) {
+            sum += value.getTimestamp() + value.getPort();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long columnScan() {
+        long sum = 0;
+        for (int i = 0; i < columns.size(); i++) {
+            sum += columns.getTimestamp(i) + columns.getPort(i);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long cursorScan() {
+        long[] sum = new long[1];
+        columns.forEach(value -> sum[0] += value.getTimestamp() + value.getPort());
+        return sum[0];
+    }
+}
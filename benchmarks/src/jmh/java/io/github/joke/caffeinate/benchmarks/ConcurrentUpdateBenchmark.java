@@ -0,0 +1,59 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.ConcurrentCounterImpl;
+import io.github.joke.caffeinate.benchmarks.model.MutableValueImpl;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Counters shared by all benchmark threads: the generated lock-free updates of a {@code @Concurrent} type against
+ * external locking of a plain {@code @Mutable} type.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class ConcurrentUpdateBenchmark {
+
+    private final ConcurrentCounterImpl concurrent = new ConcurrentCounterImpl(0, 0L);
+    private final MutableValueImpl locked = Fixtures.mutable(0);
+
+    @Benchmark
+    public int concurrentUpdate() {
+        concurrent.updateTotal(total -> total + 7);
+        return concurrent.updateCount(count -> count + 1);
+    }
+
+    @Benchmark
+    public int lockedUpdate() {
+        synchronized (locked) {
+            locked.setTotal(locked.getTotal() + 7);
+            locked.setCount(locked.getCount() + 1);
+            return locked.getCount();
+        }
+    }
+
+    @Benchmark
+    public int concurrentRead() {
+        return concurrent.getCount();
+    }
+
+    @Benchmark
+    public int lockedRead() {
+        synchronized (locked) {
+            return locked.getCount();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.AbstractEntityImpl;
+import io.github.joke.caffeinate.benchmarks.model.BoxedValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.CollectionValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.InternedTagImpl;
+import io.github.joke.caffeinate.benchmarks.model.MutableValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.UnboxedValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.WideValueImpl;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstructionBenchmark {
+
+    // non-final inputs keep the JIT from constant-folding the constructor arguments
+    private int seed = 42;
+    private String name = "name";
+    private long total = 4711L;
+    private Integer boxedCount = 1000;
+    private Long boxedTotal = 4711L;
+    private Double boxedAverage = 0.5;
+    private Boolean boxedEnabled = Boolean.TRUE;
+    private OptionalLong timeout = OptionalLong.of(4711L);
+    private List<String> tags = List.of("a", "b", "c");
+    private Set<Integer> codes = Set.of(1, 2, 3);
+    private Map<String, Long> counters = Map.of("x", 1L, "y", 2L);
+    private List<String> mutableTags = new ArrayList<>(tags);
+    private Set<Integer> mutableCodes = new HashSet<>(codes);
+    private Map<String, Long> mutableCounters = new HashMap<>(counters);
+    private final PrimitiveValueImpl.Builder builder = PrimitiveValueImpl.builder();
+    private final PrimitiveValueImpl template =
+            new PrimitiveValueImpl(42, 4711L, 0.5, 0.25f, (short) 80, (byte) 1, 'a', true);
+    private final CollectionValueImpl collectionTemplate =
+            new CollectionValueImpl(name, mutableTags, mutableCodes, mutableCounters);
+
+    @Benchmark
+    public PrimitiveValueImpl primitive() {
+        return new PrimitiveValueImpl(seed, total, 0.5, 0.25f, (short) 80, (byte) 1, 'a', true);
+    }
+
+    @Benchmark
+    public PrimitiveValueImpl primitiveBuilder() {
+        return PrimitiveValueImpl.builder()
+                .id(seed)
+                .timestamp(total)
+                .ratio(0.5)
+                .weight(0.25f)
+                .port((short) 80)
+                .flags((byte) 1)
+                .grade('a')
+                .active(true)
+                .build();
+    }
+
+    @Benchmark
+    public PrimitiveValueImpl primitiveBuilderReused() {
+        return builder.reset()
+                .id(seed)
+                .timestamp(total)
+                .ratio(0.5)
+                .weight(0.25f)
+                .port((short) 80)
+                .flags((byte) 1)
+                .grade('a')
+                .active(true)
+                .build();
+    }
+
+    @Benchmark
+    public PrimitiveValueImpl witherChanged() {
+        return template.withId(seed + 1);
+    }
+
+    @Benchmark
+    public PrimitiveValueImpl witherUnchanged() {
+        return template.withId(seed);
+    }
+
+    @Benchmark
+    public BoxedValueImpl boxed() {
+        return new BoxedValueImpl(boxedCount, boxedTotal, boxedAverage, boxedEnabled);
+    }
+
+    @Benchmark
+    public UnboxedValueImpl unboxed() {
+        return new UnboxedValueImpl(boxedCount, boxedTotal, boxedAverage, boxedEnabled, timeout);
+    }
+
+    @Benchmark
+    public InternedTagImpl interned() {
+        return InternedTagImpl.of(name, seed);
+    }
+
+    @Benchmark
+    public CollectionValueImpl collections() {
+        return new CollectionValueImpl(name, tags, codes, counters);
+    }
+
+    @Benchmark
+    public CollectionValueImpl collectionsCopied() {
+        return new CollectionValueImpl(name, mutableTags, mutableCodes, mutableCounters);
+    }
+
+    @Benchmark
+    public CollectionValueImpl collectionsFromInstance() {
+        return new CollectionValueImpl(
+                name, collectionTemplate.getTags(), collectionTemplate.getCodes(), collectionTemplate.getCounters());
+    }
+
+    @Benchmark
+    public WideValueImpl wide() {
+        return Fixtures.wide(seed);
+    }
+
+    @Benchmark
+    public AbstractEntityImpl abstractBase() {
+        return new AbstractEntityImpl(name, total, name);
+    }
+
+    @Benchmark
+    public MutableValueImpl mutableAllArgs() {
+        return new MutableValueImpl(name, seed, total, true);
+    }
+
+    @Benchmark
+    public MutableValueImpl mutableSetters() {
+        MutableValueImpl value = new MutableValueImpl();
+        value.setName(name);
+        value.setCount(seed);
+        value.setTotal(total);
+        value.setActive(true);
+        return value;
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.AbstractEntityImpl;
+import io.github.joke.caffeinate.benchmarks.model.BoxedValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.CollectionValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.MutableValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.UnboxedValueImpl;
+import io.github.joke.caffeinate.benchmarks.model.WideValueImpl;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Creates instances of the benchmark corpus. Instances created from the same seed are equal in value but distinct
+ * in identity.
+ */
+final class Fixtures {
+
+    static final String PRIMITIVE = "primitive";
+    static final String BOXED = "boxed";
+    static final String UNBOXED = "unboxed";
+    static final String COLLECTIONS = "collections";
+    static final String WIDE = "wide";
+    static final String ABSTRACT = "abstract";
+    static final String MUTABLE = "mutable";
+
+    private Fixtures() {}
+
+    static Object create(String shape, int seed) {
+        switch (shape) {
+            case PRIMITIVE:
+                return primitive(seed);
+            case BOXED:
+                return boxed(seed);
+            case UNBOXED:
+                return unboxed(seed);
+            case COLLECTIONS:
+                return collections(seed);
+            case WIDE:
+                return wide(seed);
+            case ABSTRACT:
+                return entity(seed);
+            case MUTABLE:
+                return mutable(seed);
+            default:
+                throw new IllegalArgumentException("Unknown shape: " + shape);
+        }
+    }
+
+    static PrimitiveValueImpl primitive(int seed) {
+        return new PrimitiveValueImpl(
+                seed,
+                seed * 31L,
+                seed / 7.0,
+                seed / 3.0f,
+                (short) seed,
+                (byte) seed,
+                (char) ('a' + seed % 26),
+                seed % 2 == 0);
+    }
+
+    static BoxedValueImpl boxed(int seed) {
+        return new BoxedValueImpl(seed, seed * 31L, seed / 7.0, seed % 2 == 0);
+    }
+
+    static UnboxedValueImpl unboxed(int seed) {
+        return new UnboxedValueImpl(seed, seed * 31L, seed / 7.0, seed % 2 == 0, OptionalLong.of(seed * 1000L));
+    }
+
+    static CollectionValueImpl collections(int seed) {
+        return new CollectionValueImpl(
+                "name-" + seed,
+                List.of("a-" + seed, "b", "c"),
+                Set.of(seed, seed + 1, seed + 2),
+                Map.of("x", (long) seed, "y", seed + 1L));
+    }
+
+    static AbstractEntityImpl entity(int seed) {
+        return new AbstractEntityImpl("id-" + seed, seed, "owner-" + seed % 10);
+    }
+
+    static MutableValueImpl mutable(int seed) {
+        return new MutableValueImpl("name-" + seed, seed, seed * 31L, seed % 2 == 0);
+    }
+
+    static WideValueImpl wide(int seed) {
+        return new WideValueImpl(
+                seed + 0,
+                seed + 1L,
+                "p2-" + seed,
+                (seed + 3) % 2 == 0,
+                (seed + 4) / 10.0,
+                seed + 5,
+                seed + 6,
+                seed + 7L,
+                "p8-" + seed,
+                (seed + 9) % 2 == 0,
+                (seed + 10) / 10.0,
+                seed + 11,
+                seed + 12,
+                seed + 13L,
+                "p14-" + seed,
+                (seed + 15) % 2 == 0,
+                (seed + 16) / 10.0,
+                seed + 17,
+                seed + 18,
+                seed + 19L,
+                "p20-" + seed,
+                (seed + 21) % 2 == 0,
+                (seed + 22) / 10.0,
+                seed + 23,
+                seed + 24,
+                seed + 25L,
+                "p26-" + seed,
+                (seed + 27) % 2 == 0,
+                (seed + 28) / 10.0,
+                seed + 29,
+                seed + 30,
+                seed + 31L,
+                "p32-" + seed,
+                (seed + 33) % 2 == 0,
+                (seed + 34) / 10.0,
+                seed + 35,
+                seed + 36,
+                seed + 37L,
+                "p38-" + seed,
+                (seed + 39) % 2 == 0,
+                (seed + 40) / 10.0,
+                seed + 41,
+                seed + 42,
+                seed + 43L,
+                "p44-" + seed,
+                (seed + 45) % 2 == 0,
+                (seed + 46) / 10.0,
+                seed + 47,
+                seed + 48,
+                seed + 49L,
+                "p50-" + seed,
+                (seed + 51) % 2 == 0,
+                (seed + 52) / 10.0,
+                seed + 53,
+                seed + 54,
+                seed + 55L,
+                "p56-" + seed,
+                (seed + 57) % 2 == 0,
+                (seed + 58) / 10.0,
+                seed + 59);
+    }
+}
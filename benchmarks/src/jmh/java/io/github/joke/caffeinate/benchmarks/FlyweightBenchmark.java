@@ -0,0 +1,69 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValue;
+import io.github.joke.caffeinate.benchmarks.model.PrimitiveValueFlyweight;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scans a column of records through the {@code PrimitiveValue} interface: one flyweight moved over an off-heap
+ * buffer against an array of generated immutable instances.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlyweightBenchmark {
+
+    @Param({"100000"})
+    public int records = 100_000;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(0);
+    private PrimitiveValue[] objects = new PrimitiveValue[0];
+    private final PrimitiveValueFlyweight flyweight = new PrimitiveValueFlyweight();
+
+    @Setup
+    public void setUp() {
+        buffer = ByteBuffer.allocateDirect(records * PrimitiveValueFlyweight.BYTES);
+        objects = new PrimitiveValue[records];
+        for (int i = 0; i < records; i++) {
+            objects[i] = Fixtures.primitive(i);
+            PrimitiveValueFlyweight.put(buffer, i * PrimitiveValueFlyweight.BYTES, objects[i]);
+        }
+    }
+
+    @Benchmark
+    public long flyweightScan() {
+        long sum = 0;
+        for (int offset = 0; offset < buffer.limit(); offset += PrimitiveValueFlyweight.BYTES) {
+            sum += sum(flyweight.wrap(buffer, offset));
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long objectScan() {
+        long sum = 0;
+        for (PrimitiveValue value : objects) {
+            sum += sum(value);
+        }
+        return sum;
+    }
+
+    private static long sum(PrimitiveValue value) {
+        return value.getId() + value.getTimestamp() + (value.isActive() ? 1 : 0);
+    }
+}
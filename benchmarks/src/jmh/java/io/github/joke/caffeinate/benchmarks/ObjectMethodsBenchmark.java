@@ -0,0 +1,68 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code hashCode}, {@code equals} and {@code toString} of the generated implementations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ObjectMethodsBenchmark {
+
+    @Param({
+        Fixtures.PRIMITIVE,
+        Fixtures.BOXED,
+        Fixtures.UNBOXED,
+        Fixtures.COLLECTIONS,
+        Fixtures.WIDE,
+        Fixtures.ABSTRACT,
+        Fixtures.MUTABLE
+    })
+    public String shape = Fixtures.PRIMITIVE;
+
+    private Object value = new Object();
+    private Object equalValue = new Object();
+    private Object otherValue = new Object();
+
+    @Setup
+    public void setUp() {
+        value = Fixtures.create(shape, 42);
+        equalValue = Fixtures.create(shape, 42);
+        otherValue = Fixtures.create(shape, 43);
+    }
+
+    @Benchmark
+    public int hashing() {
+        return value.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalityOfEqualValues() {
+        return value.equals(equalValue);
+    }
+
+    @Benchmark
+    public boolean equalityOfDifferentValues() {
+        return value.equals(otherValue);
+    }
+
+    @Benchmark
+    public String stringify() {
+        return value.toString();
+    }
+}
@@ -0,0 +1,141 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.testing.compile.Compilation;
+import com.google.testing.compile.JavaFileObjects;
+import io.github.joke.caffeinate.CaffeinateProcessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaFileObject;
+import org.jspecify.annotations.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the wall-clock time of a single annotation processing pass over a synthetic corpus. Sources are compiled
+ * with {@code -proc:only}, so the result covers parsing, attribution and the processor, but not the generated code.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProcessorThroughputBenchmark {
+
+    static final String FLAT = "flat";
+    static final String SHARED_HIERARCHY = "sharedHierarchy";
+
+    private static final int PROPERTIES = 8;
+    private static final int HIERARCHY_DEPTH = 4;
+
+    @Param({"1000", "10000"})
+    public int types = 1000;
+
+    @Param({FLAT, SHARED_HIERARCHY})
+    public String corpus = FLAT;
+
+    @Param({"1", "4"})
+    public int threads = 1;
+
+    private List<JavaFileObject> sources = List.of();
+
+    @Setup
+    public void setUp() {
+        sources = corpus(corpus, types);
+    }
+
+    @Benchmark
+    public Compilation process() {
+        Compilation compilation = javac().withProcessors(new CaffeinateProcessor())
+                .withOptions("-proc:only", "-Acaffeinate.threads=" + threads)
+                .compile(sources);
+        if (compilation.status() != Compilation.Status.SUCCESS) {
+            throw new IllegalStateException("Corpus failed to process: " + compilation.errors());
+        }
+        return compilation;
+    }
+
+    static List<JavaFileObject> corpus(String corpus, int types) {
+        List<JavaFileObject> sources = new ArrayList<>(types + HIERARCHY_DEPTH);
+        String parent = null;
+        if (SHARED_HIERARCHY.equals(corpus)) {
+            for (int level = 0; level < HIERARCHY_DEPTH; level++) {
+                String name = "Base" + level;
+                sources.add(source(name, null, parent, level, PROPERTIES, false));
+                parent = name;
+            }
+        } else if (!FLAT.equals(corpus)) {
+            throw new IllegalArgumentException("Unknown corpus: " + corpus);
+        }
+        for (int index = 0; index < types; index++) {
+            String annotation = index % 2 == 0 ? "Immutable" : "Mutable";
+            sources.add(source(
+                    String.format(Locale.ROOT, "Type%05d", index), annotation, parent, index, PROPERTIES, false));
+        }
+        return sources;
+    }
+
+    /**
+     * An interface with {@code properties} getters of mixed types, each followed by a setter if {@code setters} is set.
+     */
+    static JavaFileObject source(
+            String name,
+            @Nullable String annotation,
+            @Nullable String parent,
+            int seed,
+            int properties,
+            boolean setters) {
+        StringBuilder source = new StringBuilder("package corpus;\n");
+        if (annotation != null) {
+            source.append("@io.github.joke.caffeinate.").append(annotation).append('\n');
+        }
+        source.append("public interface ").append(name);
+        if (parent != null) {
+            source.append(" extends ").append(parent);
+        }
+        source.append(" {\n");
+        for (int property = 0; property < properties; property++) {
+            String suffix = name + property;
+            String type;
+            String getter;
+            switch ((seed + property) % 4) {
+                case 0:
+                    type = "int";
+                    getter = "getCount";
+                    break;
+                case 1:
+                    type = "String";
+                    getter = "getName";
+                    break;
+                case 2:
+                    type = "boolean";
+                    getter = "isFlag";
+                    break;
+                default:
+                    type = "java.util.List<String>";
+                    getter = "getItems";
+                    break;
+            }
+            source.append("    ").append(type).append(' ').append(getter).append(suffix).append("();\n");
+            if (setters) {
+                String setter = "set" + getter.substring(getter.startsWith("is") ? 2 : 3);
+                source.append("    void ").append(setter).append(suffix).append('(').append(type).append(" value);\n");
+            }
+        }
+        source.append("}\n");
+        return JavaFileObjects.forSourceString("corpus." + name, source.toString());
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import io.github.joke.caffeinate.benchmarks.model.RankedValue;
+import io.github.joke.caffeinate.benchmarks.model.RankedValueImpl;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorts a batch of {@code @OrderBy} instances with the generated {@code COMPARATOR} and with the equivalent
+ * {@code Comparator.comparing} chain, which boxes the {@code double} and {@code long} keys on every comparison.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortBenchmark {
+
+    private static final Comparator<RankedValue> CHAIN = Comparator.comparing(RankedValue::getCategory)
+            .thenComparing(RankedValue::getScore)
+            .thenComparing(RankedValue::getId);
+
+    @Param({"10000"})
+    public int size = 10_000;
+
+    private RankedValue[] values = new RankedValue[0];
+    private RankedValue[] work = new RankedValue[0];
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        values = new RankedValue[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = new RankedValueImpl("category-" + random.nextInt(8), random.nextInt(100) / 10.0, i);
+        }
+        work = new RankedValue[size];
+    }
+
+    @Benchmark
+    public RankedValue[] generatedComparator() {
+        System.arraycopy(values, 0, work, 0, size);
+        Arrays.sort(work, RankedValueImpl.COMPARATOR);
+        return work;
+    }
+
+    @Benchmark
+    public RankedValue[] comparatorChain() {
+        System.arraycopy(values, 0, work, 0, size);
+        Arrays.sort(work, CHAIN);
+        return work;
+    }
+}
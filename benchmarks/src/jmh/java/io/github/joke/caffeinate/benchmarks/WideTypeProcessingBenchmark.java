@@ -0,0 +1,69 @@
+package io.github.joke.caffeinate.benchmarks;
+
+import static com.google.testing.compile.Compiler.javac;
+
+import com.google.testing.compile.Compilation;
+import io.github.joke.caffeinate.CaffeinateProcessor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaFileObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Processes a corpus of wide interfaces with {@code -proc:only}, where property discovery and setter validation
+ * dominate. Half of the types are {@code @Mutable} and declare a setter for every getter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WideTypeProcessingBenchmark {
+
+    @Param({"50"})
+    public int types = 50;
+
+    @Param({"200", "400"})
+    public int properties = 200;
+
+    private List<JavaFileObject> sources = List.of();
+
+    @Setup
+    public void setUp() {
+        sources = new ArrayList<>(types);
+        for (int index = 0; index < types; index++) {
+            boolean mutable = index % 2 == 1;
+            sources.add(ProcessorThroughputBenchmark.source(
+                    String.format(Locale.ROOT, "Wide%03d", index),
+                    mutable ? "Mutable" : "Immutable",
+                    null,
+                    index,
+                    properties,
+                    mutable));
+        }
+    }
+
+    @Benchmark
+    public Compilation process() {
+        Compilation compilation = javac().withProcessors(new CaffeinateProcessor())
+                .withOptions("-proc:only", "-Acaffeinate.threads=1")
+                .compile(sources);
+        if (compilation.status() != Compilation.Status.SUCCESS) {
+            throw new IllegalStateException("Corpus failed to process: " + compilation.errors());
+        }
+        return compilation;
+    }
+}
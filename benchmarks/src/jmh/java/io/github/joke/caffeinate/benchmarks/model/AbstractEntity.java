@@ -0,0 +1,17 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+
+@Immutable
+public abstract class AbstractEntity {
+
+    public abstract String getId();
+
+    public abstract long getVersion();
+
+    public abstract String getOwner();
+
+    public String getQualifiedId() {
+        return getOwner() + ':' + getId();
+    }
+}
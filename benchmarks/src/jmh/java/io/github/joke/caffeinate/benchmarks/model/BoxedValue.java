@@ -0,0 +1,14 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+
+@Immutable
+public interface BoxedValue {
+    Integer getCount();
+
+    Long getTotal();
+
+    Double getAverage();
+
+    Boolean getEnabled();
+}
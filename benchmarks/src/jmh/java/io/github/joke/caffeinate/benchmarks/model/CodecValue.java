@@ -0,0 +1,22 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+import io.github.joke.caffeinate.customize.Codec;
+
+@Immutable
+@Codec
+public interface CodecValue {
+    long getId();
+
+    String getName();
+
+    int getCount();
+
+    double getRatio();
+
+    boolean isActive();
+
+    String getComment();
+
+    Long getParentId();
+}
@@ -0,0 +1,17 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Immutable
+public interface CollectionValue {
+    String getName();
+
+    List<String> getTags();
+
+    Set<Integer> getCodes();
+
+    Map<String, Long> getCounters();
+}
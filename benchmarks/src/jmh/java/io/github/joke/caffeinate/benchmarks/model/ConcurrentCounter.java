@@ -0,0 +1,12 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Mutable;
+import io.github.joke.caffeinate.customize.Concurrent;
+
+@Mutable
+@Concurrent
+public interface ConcurrentCounter {
+    int getCount();
+
+    long getTotal();
+}
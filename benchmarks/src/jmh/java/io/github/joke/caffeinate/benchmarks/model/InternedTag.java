@@ -0,0 +1,12 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+import io.github.joke.caffeinate.customize.Intern;
+
+@Immutable
+@Intern
+public interface InternedTag {
+    String getName();
+
+    int getWeight();
+}
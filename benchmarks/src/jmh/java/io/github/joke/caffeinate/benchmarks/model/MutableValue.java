@@ -0,0 +1,14 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Mutable;
+
+@Mutable
+public interface MutableValue {
+    String getName();
+
+    int getCount();
+
+    long getTotal();
+
+    boolean isActive();
+}
@@ -0,0 +1,26 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Columns;
+import io.github.joke.caffeinate.Flyweight;
+import io.github.joke.caffeinate.Immutable;
+
+@Immutable
+@Flyweight
+@Columns
+public interface PrimitiveValue {
+    int getId();
+
+    long getTimestamp();
+
+    double getRatio();
+
+    float getWeight();
+
+    short getPort();
+
+    byte getFlags();
+
+    char getGrade();
+
+    boolean isActive();
+}
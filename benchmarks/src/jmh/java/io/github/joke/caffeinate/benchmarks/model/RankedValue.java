@@ -0,0 +1,14 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+import io.github.joke.caffeinate.customize.OrderBy;
+
+@Immutable
+@OrderBy({"category", "score", "id"})
+public interface RankedValue {
+    String getCategory();
+
+    double getScore();
+
+    long getId();
+}
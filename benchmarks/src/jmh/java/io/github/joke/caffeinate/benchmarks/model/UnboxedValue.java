@@ -0,0 +1,19 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+import io.github.joke.caffeinate.customize.Layout;
+import java.util.OptionalLong;
+
+@Immutable
+@Layout(unboxed = true)
+public interface UnboxedValue {
+    Integer getCount();
+
+    Long getTotal();
+
+    Double getAverage();
+
+    Boolean getEnabled();
+
+    OptionalLong getTimeout();
+}
@@ -0,0 +1,126 @@
+package io.github.joke.caffeinate.benchmarks.model;
+
+import io.github.joke.caffeinate.Immutable;
+
+@Immutable
+public interface WideValue {
+    int getProperty00();
+
+    long getProperty01();
+
+    String getProperty02();
+
+    boolean isProperty03();
+
+    double getProperty04();
+
+    Integer getProperty05();
+
+    int getProperty06();
+
+    long getProperty07();
+
+    String getProperty08();
+
+    boolean isProperty09();
+
+    double getProperty10();
+
+    Integer getProperty11();
+
+    int getProperty12();
+
+    long getProperty13();
+
+    String getProperty14();
+
+    boolean isProperty15();
+
+    double getProperty16();
+
+    Integer getProperty17();
+
+    int getProperty18();
+
+    long getProperty19();
+
+    String getProperty20();
+
+    boolean isProperty21();
+
+    double getProperty22();
+
+    Integer getProperty23();
+
+    int getProperty24();
+
+    long getProperty25();
+
+    String getProperty26();
+
+    boolean isProperty27();
+
+    double getProperty28();
+
+    Integer getProperty29();
+
+    int getProperty30();
+
+    long getProperty31();
+
+    String getProperty32();
+
+    boolean isProperty33();
+
+    double getProperty34();
+
+    Integer getProperty35();
+
+    int getProperty36();
+
+    long getProperty37();
+
+    String getProperty38();
+
+    boolean isProperty39();
+
+    double getProperty40();
+
+    Integer getProperty41();
+
+    int getProperty42();
+
+    long getProperty43();
+
+    String getProperty44();
+
+    boolean isProperty45();
+
+    double getProperty46();
+
+    Integer getProperty47();
+
+    int getProperty48();
+
+    long getProperty49();
+
+    String getProperty50();
+
+    boolean isProperty51();
+
+    double getProperty52();
+
+    Integer getProperty53();
+
+    int getProperty54();
+
+    long getProperty55();
+
+    String getProperty56();
+
+    boolean isProperty57();
+
+    double getProperty58();
+
+    Integer getProperty59();
+}
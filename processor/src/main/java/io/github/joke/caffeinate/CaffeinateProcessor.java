@@ -1,11 +1,17 @@
 package io.github.joke.caffeinate;
 
 import com.google.auto.service.AutoService;
+import io.github.joke.caffeinate.columns.ColumnsSubcomponent;
 import io.github.joke.caffeinate.component.DaggerProcessorComponent;
 import io.github.joke.caffeinate.component.ProcessorModule;
+import io.github.joke.caffeinate.flyweight.FlyweightSubcomponent;
 import io.github.joke.caffeinate.immutable.ImmutableSubcomponent;
 import io.github.joke.caffeinate.mutable.MutableSubcomponent;
-import java.io.IOException;
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import io.github.joke.caffeinate.strategy.TypeNameCache;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.processing.AbstractProcessor;
@@ -26,6 +32,12 @@ public class CaffeinateProcessor extends AbstractProcessor {
 
     private ImmutableSubcomponent immutableSubcomponent;
     private MutableSubcomponent mutableSubcomponent;
+    private FlyweightSubcomponent flyweightSubcomponent;
+    private ColumnsSubcomponent columnsSubcomponent;
+    private TypeHierarchyResolver typeHierarchyResolver;
+    private TypeNameCache typeNameCache;
+    private ProcessingStatistics statistics;
+    private SourceRenderer renderer;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -35,11 +47,30 @@ public class CaffeinateProcessor extends AbstractProcessor {
                 .build();
         immutableSubcomponent = component.immutable().create();
         mutableSubcomponent = component.mutable().create();
+        flyweightSubcomponent = component.flyweight().create();
+        columnsSubcomponent = component.columns().create();
+        typeHierarchyResolver = component.typeHierarchyResolver();
+        typeNameCache = component.typeNameCache();
+        statistics = component.statistics();
+        renderer = component.renderer();
     }
 
     @Override
     public Set<String> getSupportedAnnotationTypes() {
-        return Set.of(Immutable.class.getCanonicalName(), Mutable.class.getCanonicalName());
+        return Set.of(
+                Immutable.class.getCanonicalName(),
+                Mutable.class.getCanonicalName(),
+                Flyweight.class.getCanonicalName(),
+                Columns.class.getCanonicalName());
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(
+                ProcessingStatistics.STATS_OPTION,
+                ProcessingStatistics.REPORT_OPTION,
+                SourceRenderer.THREADS_OPTION,
+                SourceRenderer.FINGERPRINTS_OPTION);
     }
 
     @Override
@@ -49,10 +80,12 @@ public class CaffeinateProcessor extends AbstractProcessor {
 
     @Override
     public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        long roundStart = statistics.start();
         for (TypeElement annotation : annotations) {
             String annotationName = annotation.getQualifiedName().toString();
 
             for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                statistics.countElement(annotationName);
                 boolean isInterface = element.getKind() == ElementKind.INTERFACE;
                 boolean isAbstractClass = element.getKind() == ElementKind.CLASS
                         && element.getModifiers().contains(Modifier.ABSTRACT);
@@ -79,22 +112,25 @@ public class CaffeinateProcessor extends AbstractProcessor {
                     continue;
                 }
 
-                try {
-                    if (annotationName.equals(Immutable.class.getCanonicalName())) {
-                        immutableSubcomponent.generator().generate((TypeElement) element);
-                    } else if (annotationName.equals(Mutable.class.getCanonicalName())) {
-                        mutableSubcomponent.generator().generate((TypeElement) element);
-                    }
-                } catch (IOException e) {
-                    processingEnv
-                            .getMessager()
-                            .printMessage(
-                                    Diagnostic.Kind.ERROR,
-                                    "Failed to generate implementation: " + e.getMessage(),
-                                    element);
+                if (annotationName.equals(Immutable.class.getCanonicalName())) {
+                    immutableSubcomponent.generator().generate((TypeElement) element);
+                } else if (annotationName.equals(Mutable.class.getCanonicalName())) {
+                    mutableSubcomponent.generator().generate((TypeElement) element);
+                } else if (annotationName.equals(Flyweight.class.getCanonicalName())) {
+                    flyweightSubcomponent.generator().generate((TypeElement) element);
+                } else if (annotationName.equals(Columns.class.getCanonicalName())) {
+                    columnsSubcomponent.generator().generate((TypeElement) element);
                 }
             }
         }
+        renderer.flush();
+        typeHierarchyResolver.clear();
+        typeNameCache.clear();
+        statistics.record(Stage.ROUND, "process", roundStart);
+        if (roundEnv.processingOver()) {
+            statistics.report(processingEnv.getMessager());
+            renderer.close();
+        }
         return false;
     }
 
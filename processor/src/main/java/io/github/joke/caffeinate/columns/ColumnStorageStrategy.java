@@ -0,0 +1,98 @@
+package io.github.joke.caffeinate.columns;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import java.util.Arrays;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates one array per property together with the constructors, {@code add}, {@code clear} and an indexed
+ * accessor per column. The columns grow by half their capacity when full.
+ */
+public class ColumnStorageStrategy implements GenerationStrategy {
+
+    static final int DEFAULT_CAPACITY = 16;
+
+    @Inject
+    ColumnStorageStrategy() {}
+
+    @Override
+    public int order() {
+        return FIELDS;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        model.getFields().add(FieldSpec.builder(int.class, "capacity", Modifier.PRIVATE).build());
+
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder()
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(int.class, "initialCapacity")
+                .beginControlFlow("if (initialCapacity < 0)")
+                .addStatement(
+                        "throw new $T($S + initialCapacity)", IllegalArgumentException.class, "Negative capacity: ")
+                .endControlFlow()
+                .addStatement("this.capacity = initialCapacity");
+        MethodSpec.Builder add = MethodSpec.methodBuilder("add")
+                .addModifiers(Modifier.PUBLIC)
+                .addParameter(ClassName.get(source), "value")
+                .beginControlFlow("if (this.size == this.capacity)")
+                .addStatement("grow()")
+                .endControlFlow();
+        MethodSpec.Builder grow = MethodSpec.methodBuilder("grow")
+                .addModifiers(Modifier.PRIVATE)
+                .addStatement("this.capacity = $T.max(8, this.capacity + (this.capacity >> 1))", Math.class);
+        MethodSpec.Builder clear = MethodSpec.methodBuilder("clear").addModifiers(Modifier.PUBLIC);
+
+        for (Property property : model.getProperties()) {
+            String column = ColumnsLayout.columnName(property);
+            TypeName element = ColumnsLayout.elementType(property);
+            model.getFields()
+                    .add(FieldSpec.builder(ArrayTypeName.of(element), column, Modifier.PRIVATE)
+                            .build());
+            constructor.addStatement("this.$N = new $T[initialCapacity]", column, element);
+            add.addStatement("this.$N[this.size] = value.$N()", column, property.getGetterName());
+            grow.addStatement("this.$N = $T.copyOf(this.$N, this.capacity)", column, Arrays.class, column);
+            if (!element.isPrimitive()) {
+                clear.addStatement("$T.fill(this.$N, 0, this.size, null)", Arrays.class, column);
+            }
+            model.getMethods().add(accessor(property, column));
+        }
+        add.addStatement("this.size++");
+        clear.addStatement("this.size = 0");
+
+        model.getMethods()
+                .add(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addStatement("this($L)", DEFAULT_CAPACITY)
+                        .build());
+        model.getMethods().add(constructor.build());
+        model.getMethods().add(add.build());
+        model.getMethods().add(clear.build());
+        model.getMethods().add(grow.build());
+    }
+
+    private static MethodSpec accessor(Property property, String column) {
+        MethodSpec.Builder accessor = MethodSpec.methodBuilder(property.getGetterName())
+                .addModifiers(Modifier.PUBLIC)
+                .returns(property.getType())
+                .addParameter(int.class, "index")
+                .addStatement("$T.checkIndex(index, this.size)", Objects.class);
+        if (ColumnsLayout.needsCast(property)) {
+            accessor.addAnnotation(ColumnsLayout.UNCHECKED)
+                    .addStatement("return ($T) this.$N[index]", property.getType().withoutAnnotations(), column);
+        } else {
+            accessor.addStatement("return this.$N[index]", column);
+        }
+        return accessor.build();
+    }
+}
@@ -0,0 +1,53 @@
+package io.github.joke.caffeinate.columns;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.Property;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Names and array types of a columns container. Each property is stored in an array field named after the property
+ * with a {@code Column} suffix, which keeps the columns apart from the bookkeeping fields of the container.
+ */
+final class ColumnsLayout {
+
+    static final AnnotationSpec UNCHECKED = AnnotationSpec.builder(SuppressWarnings.class)
+            .addMember("value", "$S", "unchecked")
+            .build();
+
+    private ColumnsLayout() {}
+
+    static ClassName className(TypeElement source) {
+        return ClassName.get(ClassName.get(source).packageName(), source.getSimpleName() + "Columns");
+    }
+
+    static ClassName cursorName(TypeElement source) {
+        return className(source).nestedClass("Cursor");
+    }
+
+    static String columnName(Property property) {
+        return property.getFieldName() + "Column";
+    }
+
+    /**
+     * The element type of the column. Generic arrays cannot be created, so non-reifiable types are stored as
+     * {@code Object} and cast on read.
+     */
+    static TypeName elementType(Property property) {
+        TypeName type = property.getType().withoutAnnotations();
+        return isReifiable(type) ? type : ClassName.OBJECT;
+    }
+
+    static boolean needsCast(Property property) {
+        return !isReifiable(property.getType().withoutAnnotations());
+    }
+
+    private static boolean isReifiable(TypeName type) {
+        if (type instanceof ArrayTypeName) {
+            return isReifiable(((ArrayTypeName) type).componentType().withoutAnnotations());
+        }
+        return type.isPrimitive() || type instanceof ClassName;
+    }
+}
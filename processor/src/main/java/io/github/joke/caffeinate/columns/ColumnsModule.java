@@ -0,0 +1,33 @@
+package io.github.joke.caffeinate.columns;
+
+import dagger.Binds;
+import dagger.Module;
+import dagger.multibindings.IntoSet;
+import io.github.joke.caffeinate.phase.AnalysisPhase;
+import io.github.joke.caffeinate.phase.GenerationPhase;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.PropertyDiscoveryStrategy;
+
+@Module
+public interface ColumnsModule {
+
+    @Binds
+    @IntoSet
+    @AnalysisPhase
+    GenerationStrategy propertyDiscovery(PropertyDiscoveryStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy columnsStructure(ColumnsStructureStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy columnStorage(ColumnStorageStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy cursor(CursorStrategy impl);
+}
@@ -0,0 +1,72 @@
+package io.github.joke.caffeinate.columns;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.WildcardTypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import java.util.Objects;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Declares the columns class with its {@code size}, {@code size()}, {@code get(index)} returning the shared cursor and
+ * {@code forEach}, which moves a cursor of its own over every element.
+ */
+public class ColumnsStructureStrategy implements GenerationStrategy {
+
+    @Inject
+    ColumnsStructureStrategy() {}
+
+    @Override
+    public int order() {
+        return STRUCTURE;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        ClassName cursor = ColumnsLayout.cursorName(source);
+        model.setClassName(ColumnsLayout.className(source).simpleName());
+        model.getModifiers().add(Modifier.PUBLIC);
+        model.getModifiers().add(Modifier.FINAL);
+
+        model.getFields().add(FieldSpec.builder(int.class, "size", Modifier.PRIVATE).build());
+        model.getFields()
+                .add(FieldSpec.builder(cursor, "cursor", Modifier.PRIVATE, Modifier.FINAL)
+                        .initializer("new $T()", cursor)
+                        .build());
+
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("size")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int.class)
+                        .addStatement("return this.size")
+                        .build());
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("get")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(cursor)
+                        .addParameter(int.class, "index")
+                        .addStatement("this.cursor.index = $T.checkIndex(index, this.size)", Objects.class)
+                        .addStatement("return this.cursor")
+                        .build());
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("forEach")
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(Consumer.class),
+                                        WildcardTypeName.supertypeOf(ClassName.get(source))),
+                                "action")
+                        .addStatement("$T each = new $T()", cursor, cursor)
+                        .beginControlFlow("for (int i = 0; i < this.size; i++)")
+                        .addStatement("each.index = i")
+                        .addStatement("action.accept(each)")
+                        .endControlFlow()
+                        .build());
+    }
+}
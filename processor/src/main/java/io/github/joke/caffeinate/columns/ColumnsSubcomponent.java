@@ -0,0 +1,14 @@
+package io.github.joke.caffeinate.columns;
+
+import dagger.Subcomponent;
+
+@Subcomponent(modules = ColumnsModule.class)
+public interface ColumnsSubcomponent {
+
+    ColumnsGenerator generator();
+
+    @Subcomponent.Factory
+    interface Factory {
+        ColumnsSubcomponent create();
+    }
+}
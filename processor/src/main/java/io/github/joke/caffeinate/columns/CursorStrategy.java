@@ -0,0 +1,61 @@
+package io.github.joke.caffeinate.columns;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import javax.inject.Inject;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the nested {@code Cursor}, an inner class implementing the source type whose getters read the element at
+ * its {@code index} from the columns of the enclosing container. The index is checked when the cursor is positioned,
+ * not on every read.
+ */
+public class CursorStrategy implements GenerationStrategy {
+
+    @Inject
+    CursorStrategy() {}
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        ClassName outer = ColumnsLayout.className(source);
+        TypeSpec.Builder cursor = TypeSpec.classBuilder(ColumnsLayout.cursorName(source))
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addField(FieldSpec.builder(int.class, "index", Modifier.PRIVATE).build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build());
+        if (source.getKind() == ElementKind.INTERFACE) {
+            cursor.addSuperinterface(ClassName.get(source));
+        } else {
+            cursor.superclass(ClassName.get(source));
+        }
+
+        for (Property property : model.getProperties()) {
+            MethodSpec.Builder getter = MethodSpec.methodBuilder(property.getGetterName())
+                    .addAnnotation(Override.class)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(property.getType());
+            property.getAnnotations().forEach(getter::addAnnotation);
+            String column = ColumnsLayout.columnName(property);
+            if (ColumnsLayout.needsCast(property)) {
+                getter.addAnnotation(ColumnsLayout.UNCHECKED)
+                        .addStatement(
+                                "return ($T) $T.this.$N[this.index]",
+                                property.getType().withoutAnnotations(),
+                                outer,
+                                column);
+            } else {
+                getter.addStatement("return $T.this.$N[this.index]", outer, column);
+            }
+            cursor.addMethod(getter.build());
+        }
+        model.getTypes().add(cursor.build());
+    }
+}
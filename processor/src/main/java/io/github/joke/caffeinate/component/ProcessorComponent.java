@@ -1,12 +1,32 @@
 package io.github.joke.caffeinate.component;
 
 import dagger.Component;
+import io.github.joke.caffeinate.columns.ColumnsSubcomponent;
+import io.github.joke.caffeinate.flyweight.FlyweightSubcomponent;
 import io.github.joke.caffeinate.immutable.ImmutableSubcomponent;
 import io.github.joke.caffeinate.mutable.MutableSubcomponent;
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import io.github.joke.caffeinate.strategy.TypeNameCache;
+import javax.inject.Singleton;
 
+@Singleton
 @Component(modules = ProcessorModule.class)
 public interface ProcessorComponent {
     ImmutableSubcomponent.Factory immutable();
 
     MutableSubcomponent.Factory mutable();
+
+    FlyweightSubcomponent.Factory flyweight();
+
+    ColumnsSubcomponent.Factory columns();
+
+    TypeHierarchyResolver typeHierarchyResolver();
+
+    TypeNameCache typeNameCache();
+
+    ProcessingStatistics statistics();
+
+    SourceRenderer renderer();
 }
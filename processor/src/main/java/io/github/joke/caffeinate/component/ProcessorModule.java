@@ -2,14 +2,25 @@ package io.github.joke.caffeinate.component;
 
 import dagger.Module;
 import dagger.Provides;
+import io.github.joke.caffeinate.columns.ColumnsSubcomponent;
+import io.github.joke.caffeinate.flyweight.FlyweightSubcomponent;
 import io.github.joke.caffeinate.immutable.ImmutableSubcomponent;
 import io.github.joke.caffeinate.mutable.MutableSubcomponent;
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
 import javax.annotation.processing.Filer;
 import javax.annotation.processing.Messager;
 import javax.annotation.processing.ProcessingEnvironment;
+import javax.inject.Singleton;
 import javax.lang.model.util.Types;
 
-@Module(subcomponents = {ImmutableSubcomponent.class, MutableSubcomponent.class})
+@Module(
+        subcomponents = {
+            ImmutableSubcomponent.class,
+            MutableSubcomponent.class,
+            FlyweightSubcomponent.class,
+            ColumnsSubcomponent.class
+        })
 public class ProcessorModule {
 
     private final ProcessingEnvironment processingEnvironment;
@@ -32,4 +43,21 @@ public class ProcessorModule {
     Types types() {
         return processingEnvironment.getTypeUtils();
     }
+
+    @Provides
+    @Singleton
+    ProcessingStatistics statistics() {
+        return new ProcessingStatistics(processingEnvironment.getOptions());
+    }
+
+    @Provides
+    @Singleton
+    SourceRenderer renderer(ProcessingStatistics statistics) {
+        return new SourceRenderer(
+                processingEnvironment.getFiler(),
+                processingEnvironment.getMessager(),
+                statistics,
+                SourceRenderer.threads(processingEnvironment.getOptions()),
+                processingEnvironment.getOptions().get(SourceRenderer.FINGERPRINTS_OPTION));
+    }
 }
@@ -0,0 +1,87 @@
+package io.github.joke.caffeinate.flyweight;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import java.nio.ByteBuffer;
+import java.util.List;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the layout descriptor ({@code BYTES} and an {@code _OFFSET} and {@code _BYTES} constant per property),
+ * the getters reading at {@code offset} plus the property offset, and a static {@code put} that writes any instance
+ * of the source type as a record.
+ */
+public class FlyweightAccessorStrategy implements GenerationStrategy {
+
+    @Inject
+    FlyweightAccessorStrategy() {}
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        List<Property> properties = model.getProperties();
+        int[] offsets = FlyweightLayout.offsets(properties);
+        model.getFields().add(constant("BYTES", FlyweightLayout.recordSize(properties)));
+
+        MethodSpec.Builder put = MethodSpec.methodBuilder("put")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(ByteBuffer.class, "buffer")
+                .addParameter(int.class, "offset")
+                .addParameter(ClassName.get(source), "value");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            TypeName type = property.getType().withoutAnnotations();
+            String offset = FlyweightLayout.constantName(property, "OFFSET");
+            model.getFields().add(constant(offset, offsets[i]));
+            model.getFields()
+                    .add(constant(FlyweightLayout.constantName(property, "BYTES"), FlyweightLayout.size(type)));
+
+            CodeBlock index = CodeBlock.of("offset + $N", offset);
+            model.getMethods()
+                    .add(MethodSpec.methodBuilder(property.getGetterName())
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(type)
+                            .addStatement("return $L", read(type, CodeBlock.of("this.$L", index)))
+                            .build());
+            put.addStatement(write(type, index, CodeBlock.of("value.$N()", property.getGetterName())));
+        }
+        model.getMethods().add(put.build());
+    }
+
+    private static FieldSpec constant(String name, int value) {
+        return FieldSpec.builder(int.class, name, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .initializer("$L", value)
+                .build();
+    }
+
+    private static CodeBlock read(TypeName type, CodeBlock index) {
+        if (type.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("this.buffer.get($L) != 0", index);
+        } else if (type.equals(TypeName.BYTE)) {
+            return CodeBlock.of("this.buffer.get($L)", index);
+        }
+        return CodeBlock.of("this.buffer.get$L($L)", suffix(type), index);
+    }
+
+    private static CodeBlock write(TypeName type, CodeBlock index, CodeBlock value) {
+        if (type.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("buffer.put($L, (byte) ($L ? 1 : 0))", index, value);
+        } else if (type.equals(TypeName.BYTE)) {
+            return CodeBlock.of("buffer.put($L, $L)", index, value);
+        }
+        return CodeBlock.of("buffer.put$L($L, $L)", suffix(type), index, value);
+    }
+
+    private static String suffix(TypeName primitive) {
+        String name = primitive.toString();
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+}
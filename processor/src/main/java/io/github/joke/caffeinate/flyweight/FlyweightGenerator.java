@@ -0,0 +1,36 @@
+package io.github.joke.caffeinate.flyweight;
+
+import io.github.joke.caffeinate.phase.AnalysisPhase;
+import io.github.joke.caffeinate.phase.GenerationPhase;
+import io.github.joke.caffeinate.phase.GenerationPipeline;
+import io.github.joke.caffeinate.phase.ValidationPhase;
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.lang.model.element.TypeElement;
+
+public class FlyweightGenerator {
+
+    private final GenerationPipeline pipeline;
+
+    @Inject
+    FlyweightGenerator(
+            @AnalysisPhase Set<GenerationStrategy> analysisStrategies,
+            @ValidationPhase Set<GenerationStrategy> validationStrategies,
+            @GenerationPhase Set<GenerationStrategy> generationStrategies,
+            SourceRenderer renderer,
+            ProcessingStatistics statistics) {
+        this.pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.ANALYSIS, analysisStrategies)
+                .phase(Stage.VALIDATION, validationStrategies)
+                .phase(Stage.GENERATION, generationStrategies)
+                .build();
+    }
+
+    public void generate(TypeElement source) {
+        pipeline.run(source);
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.joke.caffeinate.flyweight;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyUtils;
+import java.util.List;
+import java.util.Map;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * The record layout of a flyweight: properties are packed in declaration order without padding, so the layout of a
+ * type only changes when its properties do.
+ */
+final class FlyweightLayout {
+
+    private static final Map<TypeName, Integer> SIZES = Map.of(
+            TypeName.BOOLEAN, 1,
+            TypeName.BYTE, 1,
+            TypeName.SHORT, 2,
+            TypeName.CHAR, 2,
+            TypeName.INT, 4,
+            TypeName.FLOAT, 4,
+            TypeName.LONG, 8,
+            TypeName.DOUBLE, 8);
+
+    private FlyweightLayout() {}
+
+    static ClassName className(TypeElement source) {
+        return ClassName.get(ClassName.get(source).packageName(), source.getSimpleName() + "Flyweight");
+    }
+
+    static boolean isFixedWidth(TypeName type) {
+        return SIZES.containsKey(type.withoutAnnotations());
+    }
+
+    static int size(TypeName type) {
+        Integer size = SIZES.get(type.withoutAnnotations());
+        if (size == null) {
+            throw new IllegalArgumentException("Not a fixed-width type: " + type);
+        }
+        return size;
+    }
+
+    static int[] offsets(List<Property> properties) {
+        int[] offsets = new int[properties.size()];
+        int offset = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += size(properties.get(i).getType());
+        }
+        return offsets;
+    }
+
+    static int recordSize(List<Property> properties) {
+        return properties.stream().mapToInt(property -> size(property.getType())).sum();
+    }
+
+    /**
+     * The name of the constant holding an attribute of the property, e.g. {@code REQUEST_COUNT_OFFSET}.
+     */
+    static String constantName(Property property, String suffix) {
+        return PropertyUtils.constantNameForField(property.getFieldName()) + "_" + suffix;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.joke.caffeinate.flyweight;
+
+import dagger.Binds;
+import dagger.Module;
+import dagger.multibindings.IntoSet;
+import io.github.joke.caffeinate.phase.AnalysisPhase;
+import io.github.joke.caffeinate.phase.GenerationPhase;
+import io.github.joke.caffeinate.phase.ValidationPhase;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.PropertyDiscoveryStrategy;
+
+@Module
+public interface FlyweightModule {
+
+    @Binds
+    @IntoSet
+    @AnalysisPhase
+    GenerationStrategy propertyDiscovery(PropertyDiscoveryStrategy impl);
+
+    @Binds
+    @IntoSet
+    @ValidationPhase
+    GenerationStrategy flyweightValidation(FlyweightValidationStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy flyweightStructure(FlyweightStructureStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy flyweightAccessor(FlyweightAccessorStrategy impl);
+}
@@ -0,0 +1,71 @@
+package io.github.joke.caffeinate.flyweight;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Declares the flyweight class with its {@code buffer} and {@code offset} fields, the constructors and
+ * {@code wrap(buffer, offset)}. A flyweight created with the no-args constructor must be wrapped before use.
+ */
+public class FlyweightStructureStrategy implements GenerationStrategy {
+
+    @Inject
+    FlyweightStructureStrategy() {}
+
+    @Override
+    public int order() {
+        return STRUCTURE;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        ClassName self = FlyweightLayout.className(source);
+        model.setClassName(self.simpleName());
+        model.getModifiers().add(Modifier.PUBLIC);
+        model.getModifiers().add(Modifier.FINAL);
+        if (source.getKind() == ElementKind.INTERFACE) {
+            model.getSuperinterfaces().add(ClassName.get(source));
+        } else {
+            model.setSuperclass(ClassName.get(source));
+        }
+
+        model.getFields()
+                .add(FieldSpec.builder(ByteBuffer.class, "buffer", Modifier.PRIVATE)
+                        .initializer("$T.allocate(0)", ByteBuffer.class)
+                        .build());
+        model.getFields()
+                .add(FieldSpec.builder(int.class, "offset", Modifier.PRIVATE).build());
+
+        model.getMethods()
+                .add(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .build());
+        model.getMethods()
+                .add(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PUBLIC)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .addParameter(int.class, "offset")
+                        .addStatement("wrap(buffer, offset)")
+                        .build());
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("wrap")
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(self)
+                        .addParameter(ByteBuffer.class, "buffer")
+                        .addParameter(int.class, "offset")
+                        .addStatement("$T.checkFromIndexSize(offset, BYTES, buffer.limit())", Objects.class)
+                        .addStatement("this.buffer = buffer")
+                        .addStatement("this.offset = offset")
+                        .addStatement("return this")
+                        .build());
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.joke.caffeinate.flyweight;
+
+import dagger.Subcomponent;
+
+@Subcomponent(modules = FlyweightModule.class)
+public interface FlyweightSubcomponent {
+
+    FlyweightGenerator generator();
+
+    @Subcomponent.Factory
+    interface Factory {
+        FlyweightSubcomponent create();
+    }
+}
@@ -0,0 +1,33 @@
+package io.github.joke.caffeinate.flyweight;
+
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import javax.annotation.processing.Messager;
+import javax.inject.Inject;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+public class FlyweightValidationStrategy implements GenerationStrategy {
+
+    private final Messager messager;
+
+    @Inject
+    FlyweightValidationStrategy(Messager messager) {
+        this.messager = messager;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        for (Property property : model.getProperties()) {
+            if (!FlyweightLayout.isFixedWidth(property.getType())) {
+                messager.printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Properties of @Flyweight types must be primitives: " + property.getGetterName() + "() returns "
+                                + property.getType(),
+                        source);
+                model.setHasErrors(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Generates a nested static {@code Builder} with fluent setters and a static {@code builder()} factory. A builder can
+ * be {@code reset()} or loaded {@code from} an existing instance, so a single (e.g. thread-local) builder can serve any
+ * number of {@code build()} calls without allocating.
+ */
+public class BuilderStrategy implements GenerationStrategy {
+
+    private static final Set<ClassName> OPTIONALS = Set.of(
+            ClassName.get(Optional.class),
+            ClassName.get(OptionalInt.class),
+            ClassName.get(OptionalLong.class),
+            ClassName.get(OptionalDouble.class));
+
+    @Inject
+    BuilderStrategy() {}
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        List<Property> properties = model.getProperties();
+        if (properties.isEmpty()) {
+            return;
+        }
+
+        ClassName sourceType = ClassName.get(source);
+        ClassName self = ClassStructureStrategy.className(source, model);
+        ClassName builderType = self.nestedClass("Builder");
+
+        TypeSpec.Builder builder =
+                TypeSpec.classBuilder(builderType).addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL);
+        MethodSpec.Builder from = MethodSpec.methodBuilder("from")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(builderType)
+                .addParameter(sourceType, "instance");
+        MethodSpec.Builder reset =
+                MethodSpec.methodBuilder("reset").addModifiers(Modifier.PUBLIC).returns(builderType);
+        for (Property property : properties) {
+            TypeName type = property.getType();
+            String name = property.getFieldName();
+            CodeBlock initial = initialValue(type);
+
+            FieldSpec.Builder field = FieldSpec.builder(type, name, Modifier.PRIVATE);
+            if (initial != null) {
+                field.initializer(initial);
+            }
+            builder.addField(field.build());
+
+            ParameterSpec.Builder param = ParameterSpec.builder(type, name);
+            property.getAnnotations().forEach(param::addAnnotation);
+            builder.addMethod(MethodSpec.methodBuilder(name)
+                    .addModifiers(Modifier.PUBLIC)
+                    .returns(builderType)
+                    .addParameter(param.build())
+                    .addStatement("this.$N = $N", name, name)
+                    .addStatement("return this")
+                    .build());
+
+            from.addStatement("this.$N = instance.$N()", name, property.getGetterName());
+            reset.addStatement("this.$N = $L", name, initial != null ? initial : zero(type));
+        }
+        builder.addMethod(from.addStatement("return this").build());
+        builder.addMethod(reset.addStatement("return this").build());
+
+        CodeBlock arguments = CodeBlock.join(
+                properties.stream()
+                        .map(property -> CodeBlock.of("this.$N", property.getFieldName()))
+                        .collect(Collectors.toList()),
+                ", ");
+        builder.addMethod(MethodSpec.methodBuilder("build")
+                .addModifiers(Modifier.PUBLIC)
+                .returns(self)
+                .addStatement("return $L", InternStrategy.newInstance(source, self, arguments))
+                .build());
+
+        model.getTypes().add(builder.build());
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("builder")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(builderType)
+                        .addStatement("return new $T()", builderType)
+                        .build());
+    }
+
+    /**
+     * Optionals start out empty rather than {@code null}; everything else keeps the field default.
+     */
+    private static @Nullable CodeBlock initialValue(TypeName type) {
+        TypeName raw = type.withoutAnnotations();
+        if (raw instanceof ParameterizedTypeName) {
+            raw = ((ParameterizedTypeName) raw).rawType();
+        }
+        if (raw instanceof ClassName && OPTIONALS.contains(raw)) {
+            return CodeBlock.of("$T.empty()", raw);
+        }
+        return null;
+    }
+
+    private static CodeBlock zero(TypeName type) {
+        if (type.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("false");
+        } else if (type.isPrimitive()) {
+            return CodeBlock.of("0");
+        }
+        return CodeBlock.of("null");
+    }
+}
@@ -0,0 +1,464 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.NameAllocator;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.Immutable;
+import io.github.joke.caffeinate.customize.Codec;
+import io.github.joke.caffeinate.strategy.BitSlot;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.Messager;
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Generates the nested {@code Codec} of {@code @Codec} types with {@code encode}/{@code decode} pairs for
+ * {@link DataOutput}/{@link DataInput} and for {@link ByteBuffer}. The presence bitmap of the {@code @Nullable}
+ * properties is written first, in the smallest of {@code byte}, {@code short}, {@code int} or a sequence of
+ * {@code long} words that holds all bits.
+ */
+public class CodecStrategy implements GenerationStrategy {
+
+    private static final TypeName STRING = ClassName.get(String.class);
+    private static final TypeName BYTES = ArrayTypeName.of(TypeName.BYTE);
+
+    private final Messager messager;
+    private final TypeHierarchyResolver resolver;
+
+    @Inject
+    CodecStrategy(Messager messager, TypeHierarchyResolver resolver) {
+        this.messager = messager;
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (source.getAnnotation(Codec.class) == null) {
+            return;
+        }
+
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        for (ExecutableElement method : resolver.getAllAbstractMethods(source)) {
+            getters.put(method.getSimpleName().toString(), method);
+        }
+        List<Field> fields = new ArrayList<>(model.getProperties().size());
+        boolean supported = true;
+        for (Property property : model.getProperties()) {
+            ExecutableElement getter = getters.get(property.getGetterName());
+            Field field = getter == null ? null : field(property, getter.getReturnType());
+            if (field == null) {
+                messager.printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "Unsupported @Codec property type: " + property.getType(),
+                        getter != null ? getter : source);
+                supported = false;
+            } else {
+                fields.add(field);
+            }
+        }
+        if (!supported) {
+            model.setHasErrors(true);
+            return;
+        }
+
+        ClassName sourceType = ClassName.get(source);
+        ClassName self = ClassStructureStrategy.className(source, model);
+        TypeSpec.Builder codec = TypeSpec.classBuilder(self.nestedClass("Codec"))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build());
+        // values() clones the constants on every call, so each enum type gets one shared copy
+        fields.stream()
+                .filter(field -> field.kind == Kind.ENUM)
+                .map(field -> field.type)
+                .distinct()
+                .forEach(type -> codec.addField(FieldSpec.builder(
+                                ArrayTypeName.of(type), valuesName(type), Modifier.PRIVATE, Modifier.STATIC)
+                        .addModifiers(Modifier.FINAL)
+                        .initializer("$T.values()", type)
+                        .build()));
+        for (Channel channel : Channel.values()) {
+            codec.addMethod(encode(channel, sourceType, fields));
+            codec.addMethod(decode(channel, source, self, fields));
+        }
+        boolean strings = fields.stream().anyMatch(field -> field.kind == Kind.STRING);
+        boolean bytes = strings || fields.stream().anyMatch(field -> field.kind == Kind.BYTES);
+        for (Channel channel : Channel.values()) {
+            if (strings) {
+                codec.addMethod(channel.writeString());
+                codec.addMethod(channel.readString());
+            }
+            if (bytes) {
+                codec.addMethod(channel.writeBytes());
+                codec.addMethod(channel.readBytes());
+            }
+        }
+        model.getTypes().add(codec.build());
+    }
+
+    private static MethodSpec encode(Channel channel, ClassName sourceType, List<Field> fields) {
+        NameAllocator names = names(fields);
+        String instance = names.newName("instance");
+        String target = names.newName(channel.output);
+        MethodSpec.Builder method = MethodSpec.methodBuilder("encode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(sourceType, instance)
+                .addParameter(channel.outputType, target);
+        if (channel.checked) {
+            method.addException(IOException.class);
+        }
+
+        List<BitSlot> slots = presenceSlots(fields, names);
+        for (Field field : fields) {
+            if (field.nullable) {
+                method.addStatement(
+                        "$T $N = $N.$N()",
+                        field.property.getType(),
+                        field.property.getFieldName(),
+                        instance,
+                        field.property.getGetterName());
+            }
+        }
+        Map<String, List<CodeBlock>> words = new LinkedHashMap<>();
+        for (int i = 0, n = 0; i < fields.size(); i++) {
+            if (fields.get(i).nullable) {
+                BitSlot slot = slots.get(n++);
+                words.computeIfAbsent(slot.getWord(), word -> new ArrayList<>())
+                        .add(CodeBlock.of(
+                                "($N != null ? $L : 0)", fields.get(i).property.getFieldName(), slot.mask()));
+            }
+        }
+        int wordBits = wordBits(slots.size());
+        words.values().forEach(bits -> method.addStatement(
+                channel.writeWord(wordBits, target, CodeBlock.join(bits, "$W| "))));
+
+        for (Field field : fields) {
+            if (field.nullable) {
+                method.beginControlFlow("if ($N != null)", field.property.getFieldName())
+                        .addStatement(write(channel, field, target, CodeBlock.of("$N", field.property.getFieldName())))
+                        .endControlFlow();
+            } else {
+                method.addStatement(write(
+                        channel, field, target, CodeBlock.of("$N.$N()", instance, field.property.getGetterName())));
+            }
+        }
+        return method.build();
+    }
+
+    private static MethodSpec decode(Channel channel, TypeElement source, ClassName self, List<Field> fields) {
+        NameAllocator names = names(fields);
+        String input = names.newName(channel.input);
+        MethodSpec.Builder method = MethodSpec.methodBuilder("decode")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(self)
+                .addParameter(channel.inputType, input);
+        if (channel.checked) {
+            method.addException(IOException.class);
+        }
+
+        List<BitSlot> slots = presenceSlots(fields, names);
+        int wordBits = wordBits(slots.size());
+        slots.stream()
+                .map(BitSlot::getWord)
+                .distinct()
+                .forEach(word -> method.addStatement(
+                        "$T $N = $L",
+                        wordBits == Long.SIZE ? TypeName.LONG : TypeName.INT,
+                        word,
+                        channel.readWord(wordBits, input)));
+
+        for (int i = 0, n = 0; i < fields.size(); i++) {
+            Field field = fields.get(i);
+            CodeBlock value = read(channel, field, input);
+            if (field.nullable) {
+                BitSlot slot = slots.get(n++);
+                value = CodeBlock.of("($N & $L) != 0 ? $L : null", slot.getWord(), slot.mask(), value);
+            }
+            method.addStatement("$T $N = $L", field.property.getType(), field.property.getFieldName(), value);
+        }
+
+        CodeBlock arguments = CodeBlock.join(
+                fields.stream()
+                        .map(field -> CodeBlock.of("$N", field.property.getFieldName()))
+                        .collect(Collectors.toList()),
+                ", ");
+        return method.addStatement("return $L", InternStrategy.newInstance(source, self, arguments))
+                .build();
+    }
+
+    private static CodeBlock write(Channel channel, Field field, String target, CodeBlock value) {
+        switch (field.kind) {
+            case STRING:
+                return CodeBlock.of("writeString($N, $L)", target, value);
+            case BYTES:
+                return CodeBlock.of("writeBytes($N, $L)", target, value);
+            case ENUM:
+                return channel.writePrimitive(TypeName.INT, target, CodeBlock.of("$L.ordinal()", value));
+            case NESTED:
+                return CodeBlock.of("$T.encode($L, $N)", field.type, value, target);
+            default:
+                return channel.writePrimitive(field.type, target, value);
+        }
+    }
+
+    private static CodeBlock read(Channel channel, Field field, String input) {
+        switch (field.kind) {
+            case STRING:
+                return CodeBlock.of("readString($N)", input);
+            case BYTES:
+                return CodeBlock.of("readBytes($N)", input);
+            case ENUM:
+                return CodeBlock.of("$N[$L]", valuesName(field.type), channel.readPrimitive(TypeName.INT, input));
+            case NESTED:
+                return CodeBlock.of("$T.decode($N)", field.type, input);
+            default:
+                return channel.readPrimitive(field.type, input);
+        }
+    }
+
+    /**
+     * Reserves the field names, which become the names of the locals holding the property values.
+     */
+    private static NameAllocator names(List<Field> fields) {
+        NameAllocator names = new NameAllocator();
+        fields.forEach(field -> names.newName(field.property.getFieldName()));
+        return names;
+    }
+
+    private static List<BitSlot> presenceSlots(List<Field> fields, NameAllocator names) {
+        int count = (int) fields.stream().filter(field -> field.nullable).count();
+        int wordBits = wordBits(count);
+        TypeName wordType = wordBits == Long.SIZE ? TypeName.LONG : TypeName.INT;
+        List<BitSlot> slots = new ArrayList<>(count);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i / wordBits == words.size()) {
+                words.add(names.newName("presence" + words.size()));
+            }
+            slots.add(new BitSlot(words.get(i / wordBits), wordType, i % wordBits));
+        }
+        return slots;
+    }
+
+    private static String valuesName(TypeName enumType) {
+        String simpleName = ((ClassName) enumType).simpleName();
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < simpleName.length(); i++) {
+            char c = simpleName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.append("_VALUES").toString();
+    }
+
+    private static int wordBits(int count) {
+        if (count <= Byte.SIZE) {
+            return Byte.SIZE;
+        } else if (count <= Short.SIZE) {
+            return Short.SIZE;
+        } else if (count <= Integer.SIZE) {
+            return Integer.SIZE;
+        }
+        return Long.SIZE;
+    }
+
+    private static @Nullable Field field(Property property, TypeMirror returnType) {
+        TypeName type = property.getType().withoutAnnotations();
+        boolean nullable = property.isNullable();
+        if (type.isPrimitive()) {
+            return new Field(property, Kind.PRIMITIVE, type, false);
+        } else if (type.isBoxedPrimitive()) {
+            return new Field(property, Kind.PRIMITIVE, type.unbox(), nullable);
+        } else if (type.equals(STRING)) {
+            return new Field(property, Kind.STRING, type, nullable);
+        } else if (type.equals(BYTES)) {
+            return new Field(property, Kind.BYTES, type, nullable);
+        } else if (returnType.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+
+        Element element = ((DeclaredType) returnType).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return new Field(property, Kind.ENUM, ClassName.get((TypeElement) element), nullable);
+        } else if (element.getAnnotation(Immutable.class) != null && element.getAnnotation(Codec.class) != null) {
+            ClassName nested = ClassName.get((TypeElement) element);
+            ClassName impl = ClassName.get(nested.packageName(), nested.simpleName() + "Impl");
+            return new Field(property, Kind.NESTED, impl.nestedClass("Codec"), nullable);
+        }
+        return null;
+    }
+
+    private enum Kind {
+        PRIMITIVE,
+        STRING,
+        BYTES,
+        ENUM,
+        NESTED
+    }
+
+    /**
+     * A property with its wire representation: the primitive type, enum type or nested codec.
+     */
+    private static final class Field {
+        final Property property;
+        final Kind kind;
+        final TypeName type;
+        final boolean nullable;
+
+        Field(Property property, Kind kind, TypeName type, boolean nullable) {
+            this.property = property;
+            this.kind = kind;
+            this.type = type;
+            this.nullable = nullable;
+        }
+    }
+
+    private enum Channel {
+        DATA(DataOutput.class, "out", DataInput.class, "in", true),
+        BUFFER(ByteBuffer.class, "buffer", ByteBuffer.class, "buffer", false);
+
+        final Class<?> outputType;
+        final String output;
+        final Class<?> inputType;
+        final String input;
+        final boolean checked;
+
+        Channel(Class<?> outputType, String output, Class<?> inputType, String input, boolean checked) {
+            this.outputType = outputType;
+            this.output = output;
+            this.inputType = inputType;
+            this.input = input;
+            this.checked = checked;
+        }
+
+        CodeBlock writePrimitive(TypeName primitive, String target, CodeBlock value) {
+            String suffix = suffix(primitive);
+            if (this == DATA) {
+                return CodeBlock.of("$N.write$L($L)", target, suffix, value);
+            } else if (primitive.equals(TypeName.BOOLEAN)) {
+                return CodeBlock.of("$N.put((byte) ($L ? 1 : 0))", target, value);
+            } else if (primitive.equals(TypeName.BYTE)) {
+                return CodeBlock.of("$N.put($L)", target, value);
+            }
+            return CodeBlock.of("$N.put$L($L)", target, suffix, value);
+        }
+
+        CodeBlock readPrimitive(TypeName primitive, String input) {
+            if (this == DATA) {
+                return CodeBlock.of("$N.read$L()", input, suffix(primitive));
+            } else if (primitive.equals(TypeName.BOOLEAN)) {
+                return CodeBlock.of("$N.get() != 0", input);
+            } else if (primitive.equals(TypeName.BYTE)) {
+                return CodeBlock.of("$N.get()", input);
+            }
+            return CodeBlock.of("$N.get$L()", input, suffix(primitive));
+        }
+
+        CodeBlock writeWord(int bits, String target, CodeBlock value) {
+            if (bits == Byte.SIZE) {
+                return this == DATA
+                        ? CodeBlock.of("$N.writeByte($L)", target, value)
+                        : CodeBlock.of("$N.put((byte) ($L))", target, value);
+            } else if (bits == Short.SIZE) {
+                return this == DATA
+                        ? CodeBlock.of("$N.writeShort($L)", target, value)
+                        : CodeBlock.of("$N.putShort((short) ($L))", target, value);
+            }
+            return writePrimitive(bits == Long.SIZE ? TypeName.LONG : TypeName.INT, target, value);
+        }
+
+        CodeBlock readWord(int bits, String input) {
+            if (bits == Byte.SIZE) {
+                return readPrimitive(TypeName.BYTE, input);
+            } else if (bits == Short.SIZE) {
+                return readPrimitive(TypeName.SHORT, input);
+            }
+            return readPrimitive(bits == Long.SIZE ? TypeName.LONG : TypeName.INT, input);
+        }
+
+        MethodSpec writeString() {
+            return helper("writeString", outputType, output)
+                    .addParameter(String.class, "value")
+                    .addStatement("writeBytes($N, value.getBytes($T.UTF_8))", output, StandardCharsets.class)
+                    .build();
+        }
+
+        MethodSpec readString() {
+            return helper("readString", inputType, input)
+                    .returns(String.class)
+                    .addStatement("return new $T(readBytes($N), $T.UTF_8)", String.class, input, StandardCharsets.class)
+                    .build();
+        }
+
+        MethodSpec writeBytes() {
+            MethodSpec.Builder method = helper("writeBytes", outputType, output).addParameter(BYTES, "value");
+            return (this == DATA
+                            ? method.addStatement("$N.writeInt(value.length)", output)
+                                    .addStatement("$N.write(value)", output)
+                            : method.addStatement("$N.putInt(value.length).put(value)", output))
+                    .build();
+        }
+
+        MethodSpec readBytes() {
+            MethodSpec.Builder method = helper("readBytes", inputType, input)
+                    .returns(BYTES)
+                    .addStatement("byte[] value = new byte[$L]", readPrimitive(TypeName.INT, input));
+            return method.addStatement(this == DATA ? "$N.readFully(value)" : "$N.get(value)", input)
+                    .addStatement("return value")
+                    .build();
+        }
+
+        private MethodSpec.Builder helper(String name, Class<?> type, String parameter) {
+            MethodSpec.Builder method = MethodSpec.methodBuilder(name)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addParameter(type, parameter);
+            if (checked) {
+                method.addException(IOException.class);
+            }
+            return method;
+        }
+
+        private static String suffix(TypeName primitive) {
+            String name = primitive.toString();
+            return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates value-based {@code equals} and {@code hashCode}. The hash code is computed lazily and cached in a
+ * non-volatile field (racy single-check): the computation is idempotent, so a thread that observes the default
+ * {@code 0} simply recomputes it.
+ */
+public class EqualsHashCodeStrategy implements GenerationStrategy {
+
+    private final TypeHierarchyResolver resolver;
+
+    @Inject
+    EqualsHashCodeStrategy(TypeHierarchyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public int order() {
+        return OBJECT_METHODS;
+    }
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (resolver.hasConcreteMethod(source, "equals", 1) || resolver.hasConcreteMethod(source, "hashCode", 0)) {
+            return;
+        }
+
+        ClassName self = ClassStructureStrategy.className(source, model);
+        List<Property> properties = model.getProperties();
+        if (properties.isEmpty()) {
+            model.getMethods().add(equals(CodeBlock.of("return this == other || other instanceof $T;\n", self)));
+            model.getMethods().add(hashCode(CodeBlock.of("return 1;\n")));
+            return;
+        }
+
+        String hashField = hashFieldName(properties);
+        model.getFields()
+                .add(FieldSpec.builder(TypeName.INT, hashField, Modifier.PRIVATE, Modifier.TRANSIENT)
+                        .build());
+
+        // primitives first: they are the cheapest to compare and the most likely to differ
+        List<CodeBlock> comparisons = new ArrayList<>(properties.size() + model.getBitWords().size());
+        for (String word : model.getBitWords()) {
+            comparisons.add(CodeBlock.of("this.$N == that.$N", word, word));
+        }
+        for (Property property : properties) {
+            if (property.hasField() && property.getFieldType().isPrimitive()) {
+                comparisons.add(comparison(property));
+            }
+        }
+        for (Property property : properties) {
+            if (!property.getFieldType().isPrimitive()) {
+                comparisons.add(comparison(property));
+            }
+        }
+
+        // cached hashes that differ prove inequality without comparing any field
+        CodeBlock equalsBody = CodeBlock.builder()
+                .addStatement("if (this == other) return true")
+                .addStatement("if (!(other instanceof $T)) return false", self)
+                .addStatement("$T that = ($T) other", self, self)
+                .addStatement("if (this.$1N != 0 && that.$1N != 0 && this.$1N != that.$1N) return false", hashField)
+                .addStatement("return $L", CodeBlock.join(comparisons, "$W&& "))
+                .build();
+        model.getMethods().add(equals(equalsBody));
+
+        CodeBlock.Builder body = CodeBlock.builder()
+                .addStatement("int result = this.$N", hashField)
+                .beginControlFlow("if (result == 0)")
+                .addStatement("result = 1");
+        for (Property property : properties) {
+            if (property.hasField()) {
+                body.addStatement("result = 31 * result + $L", hash(property));
+            }
+        }
+        for (String word : model.getBitWords()) {
+            body.addStatement("result = 31 * result + $T.hashCode(this.$N)", model.getBitWordType().box(), word);
+        }
+        body.addStatement("this.$N = result", hashField).endControlFlow().addStatement("return result");
+        model.getMethods().add(hashCode(body.build()));
+    }
+
+    private static MethodSpec equals(CodeBlock body) {
+        return MethodSpec.methodBuilder("equals")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(Object.class, "other")
+                .addCode(body)
+                .build();
+    }
+
+    private static MethodSpec hashCode(CodeBlock body) {
+        return MethodSpec.methodBuilder("hashCode")
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.INT)
+                .addCode(body)
+                .build();
+    }
+
+    private static CodeBlock comparison(Property property) {
+        TypeName type = property.getFieldType();
+        String field = property.getFieldName();
+        if (type.equals(TypeName.FLOAT) || type.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("$T.compare(this.$N, that.$N) == 0", type.box(), field, field);
+        }
+        if (type.isPrimitive()) {
+            return CodeBlock.of("this.$N == that.$N", field, field);
+        }
+        if (type instanceof ArrayTypeName) {
+            return CodeBlock.of("$T.equals(this.$N, that.$N)", Arrays.class, field, field);
+        }
+        if (property.isNullable()) {
+            return CodeBlock.of("$T.equals(this.$N, that.$N)", Objects.class, field, field);
+        }
+        return CodeBlock.of("this.$N.equals(that.$N)", field, field);
+    }
+
+    private static CodeBlock hash(Property property) {
+        TypeName type = property.getFieldType();
+        String field = property.getFieldName();
+        if (type.isPrimitive()) {
+            return CodeBlock.of("$T.hashCode(this.$N)", type.box(), field);
+        }
+        if (type instanceof ArrayTypeName) {
+            return CodeBlock.of("$T.hashCode(this.$N)", Arrays.class, field);
+        }
+        if (property.isNullable()) {
+            return CodeBlock.of("$T.hashCode(this.$N)", Objects.class, field);
+        }
+        return CodeBlock.of("this.$N.hashCode()", field);
+    }
+
+    private static String hashFieldName(List<Property> properties) {
+        Set<String> fieldNames = properties.stream().map(Property::getFieldName).collect(Collectors.toSet());
+        String name = "hashCode";
+        while (fieldNames.contains(name)) {
+            name += "$";
+        }
+        return name;
+    }
+}
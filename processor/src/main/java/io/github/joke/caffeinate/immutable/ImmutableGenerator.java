@@ -1,74 +1,33 @@
 package io.github.joke.caffeinate.immutable;
 
-import com.palantir.javapoet.ClassName;
-import com.palantir.javapoet.FieldSpec;
-import com.palantir.javapoet.JavaFile;
-import com.palantir.javapoet.MethodSpec;
-import com.palantir.javapoet.TypeName;
-import com.palantir.javapoet.TypeSpec;
 import io.github.joke.caffeinate.phase.AnalysisPhase;
 import io.github.joke.caffeinate.phase.GenerationPhase;
-import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.phase.GenerationPipeline;
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
-import java.io.IOException;
 import java.util.Set;
-import javax.annotation.processing.Filer;
 import javax.inject.Inject;
-import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
 public class ImmutableGenerator {
 
-    private final Set<GenerationStrategy> analysisStrategies;
-    private final Set<GenerationStrategy> generationStrategies;
-    private final Filer filer;
+    private final GenerationPipeline pipeline;
 
     @Inject
     ImmutableGenerator(
             @AnalysisPhase Set<GenerationStrategy> analysisStrategies,
             @GenerationPhase Set<GenerationStrategy> generationStrategies,
-            Filer filer) {
-        this.analysisStrategies = analysisStrategies;
-        this.generationStrategies = generationStrategies;
-        this.filer = filer;
+            SourceRenderer renderer,
+            ProcessingStatistics statistics) {
+        this.pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.ANALYSIS, analysisStrategies)
+                .phase(Stage.GENERATION, generationStrategies)
+                .build();
     }
 
-    public void generate(TypeElement source) throws IOException {
-        ClassModel model = new ClassModel();
-
-        for (GenerationStrategy strategy : analysisStrategies) {
-            strategy.generate(source, model);
-        }
-
-        if (model.hasErrors()) {
-            return;
-        }
-
-        for (GenerationStrategy strategy : generationStrategies) {
-            strategy.generate(source, model);
-        }
-
-        TypeSpec.Builder builder = TypeSpec.classBuilder(model.getClassName());
-        for (Modifier modifier : model.getModifiers()) {
-            builder.addModifiers(modifier);
-        }
-        for (TypeName superinterface : model.getSuperinterfaces()) {
-            builder.addSuperinterface(superinterface);
-        }
-        if (model.getSuperclass() != null) {
-            builder.superclass(model.getSuperclass());
-        }
-        for (FieldSpec field : model.getFields()) {
-            builder.addField(field);
-        }
-        for (MethodSpec method : model.getMethods()) {
-            builder.addMethod(method);
-        }
-        TypeSpec typeSpec = builder.build();
-
-        ClassName sourceClass = ClassName.get(source);
-        JavaFile javaFile =
-                JavaFile.builder(sourceClass.packageName(), typeSpec).build();
-        javaFile.writeTo(filer);
+    public void generate(TypeElement source) {
+        pipeline.run(source);
     }
 }
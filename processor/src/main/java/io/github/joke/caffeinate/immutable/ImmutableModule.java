@@ -6,12 +6,14 @@ import dagger.multibindings.IntoSet;
 import dagger.multibindings.Multibinds;
 import io.github.joke.caffeinate.phase.AnalysisPhase;
 import io.github.joke.caffeinate.phase.GenerationPhase;
+import io.github.joke.caffeinate.strategy.AccessorStrategy;
 import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
 import io.github.joke.caffeinate.strategy.ConstructorStrategy;
 import io.github.joke.caffeinate.strategy.FieldStrategy;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.GetterStrategy;
 import io.github.joke.caffeinate.strategy.PropertyDiscoveryStrategy;
+import io.github.joke.caffeinate.strategy.ToStringStrategy;
 import java.util.Set;
 
 @Module
@@ -45,4 +47,49 @@ public interface ImmutableModule {
     @IntoSet
     @GenerationPhase
     GenerationStrategy constructor(ConstructorStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy equalsHashCode(EqualsHashCodeStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy toStringMethod(ToStringStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy builder(BuilderStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy wither(WitherStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy intern(InternStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy lazy(LazyStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy codec(CodecStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy orderBy(OrderByStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy accessor(AccessorStrategy impl);
 }
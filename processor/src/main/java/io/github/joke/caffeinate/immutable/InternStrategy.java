@@ -0,0 +1,292 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.NameAllocator;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.customize.Intern;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.ConcurrentAccess;
+import io.github.joke.caffeinate.strategy.ConstructorStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Generates the static {@code of(...)} factory for {@link Intern} types. Candidates are looked up by the generated
+ * {@code equals}/{@code hashCode}, either in a {@link WeakHashMap} whose values are weak references to the key itself,
+ * or in an access-ordered {@link LinkedHashMap} bounded by {@link Intern#maxSize()}. Types whose properties are all
+ * {@code boolean} or non-null enums have few enough distinct values to create them all up front; their factory then
+ * indexes a table by the ordinals and never allocates.
+ */
+public class InternStrategy implements GenerationStrategy {
+
+    static final String FACTORY = "of";
+    private static final String INTERNED = "INTERNED";
+
+    /** The largest number of distinct values that is precomputed in a table. */
+    static final int TABLE_LIMIT = 1024;
+
+    private final TypeHierarchyResolver resolver;
+
+    @Inject
+    InternStrategy(TypeHierarchyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        Intern intern = source.getAnnotation(Intern.class);
+        List<Property> properties = model.getProperties();
+        if (intern == null || properties.isEmpty()) {
+            return;
+        }
+
+        ClassName self = ClassStructureStrategy.className(source, model);
+        List<@Nullable TypeName> enums = enumTypes(source, properties);
+        if (enums != null) {
+            generateTable(self, properties, enums, model);
+            return;
+        }
+        boolean bounded = intern.maxSize() > 0;
+        TypeName value = bounded ? self : ParameterizedTypeName.get(ClassName.get(WeakReference.class), self);
+        TypeName map = ParameterizedTypeName.get(ClassName.get(Map.class), self, value);
+
+        FieldSpec.Builder interned =
+                FieldSpec.builder(map, INTERNED, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL);
+        if (bounded) {
+            TypeSpec evicting = TypeSpec.anonymousClassBuilder("$L, 0.75f, true", intern.maxSize())
+                    .superclass(ParameterizedTypeName.get(ClassName.get(LinkedHashMap.class), self, self))
+                    .addMethod(MethodSpec.methodBuilder("removeEldestEntry")
+                            .addAnnotation(Override.class)
+                            .addModifiers(Modifier.PROTECTED)
+                            .returns(TypeName.BOOLEAN)
+                            .addParameter(
+                                    ParameterizedTypeName.get(ClassName.get(Map.Entry.class), self, self), "eldest")
+                            .addStatement("return size() > $L", intern.maxSize())
+                            .build())
+                    .build();
+            interned.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                            .addMember("value", "$S", "serial")
+                            .build())
+                    .initializer("$L", evicting);
+        } else {
+            interned.initializer("new $T<>()", WeakHashMap.class);
+        }
+        model.getFields().add(interned.build());
+
+        MethodSpec.Builder factory = factory(self, properties);
+        factory.addStatement("$T candidate = new $T($L)", self, self, arguments(properties))
+                .beginControlFlow("synchronized ($N)", INTERNED);
+        if (bounded) {
+            factory.addStatement("$T existing = $N.putIfAbsent(candidate, candidate)", self, INTERNED)
+                    .addStatement("return existing != null ? existing : candidate");
+        } else {
+            factory.addStatement("$T reference = $N.get(candidate)", value, INTERNED)
+                    .addStatement("$T existing = reference != null ? reference.get() : null", self)
+                    .beginControlFlow("if (existing != null)")
+                    .addStatement("return existing")
+                    .endControlFlow()
+                    .addStatement("$N.put(candidate, new $T<>(candidate))", INTERNED, WeakReference.class)
+                    .addStatement("return candidate");
+        }
+        model.getMethods().add(factory.endControlFlow().build());
+    }
+
+    /**
+     * Precomputes every instance in a table laid out like a multidimensional array in row-major order: the first
+     * property varies slowest, and a {@code boolean} counts as an enum with the constants {@code false} and
+     * {@code true}.
+     */
+    private static void generateTable(
+            ClassName self, List<Property> properties, List<@Nullable TypeName> enums, ClassModel model) {
+        NameAllocator names = new NameAllocator();
+        properties.forEach(property -> names.newName(property.getFieldName(), property));
+        String instances = names.newName("instances");
+        String index = names.newName("index");
+
+        List<CodeBlock> sizes = new ArrayList<>(properties.size());
+        List<CodeBlock> loops = new ArrayList<>(properties.size());
+        CodeBlock position = CodeBlock.of("");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            String name = names.get(property);
+            TypeName enumType = enums.get(i);
+            CodeBlock size;
+            CodeBlock ordinal;
+            if (enumType == null) {
+                size = CodeBlock.of("2");
+                ordinal = CodeBlock.of("($N ? 1 : 0)", name);
+                loops.add(CodeBlock.of("for (boolean $N : new boolean[] {false, true})", name));
+            } else {
+                String values = ConcurrentAccess.handleName(property) + "_VALUES";
+                model.getFields()
+                        .add(FieldSpec.builder(
+                                        ArrayTypeName.of(enumType),
+                                        values,
+                                        Modifier.PRIVATE,
+                                        Modifier.STATIC,
+                                        Modifier.FINAL)
+                                .initializer("$T.values()", enumType)
+                                .build());
+                size = CodeBlock.of("$N.length", values);
+                ordinal = CodeBlock.of("$N.ordinal()", name);
+                loops.add(CodeBlock.of("for ($T $N : $N)", enumType, name, values));
+            }
+            sizes.add(size);
+            if (i == 0) {
+                position = ordinal;
+            } else {
+                position = CodeBlock.of(i == 1 ? "$L * $L + $L" : "($L) * $L + $L", position, size, ordinal);
+            }
+        }
+
+        MethodSpec.Builder table = MethodSpec.methodBuilder(names.newName("table"))
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(ArrayTypeName.of(self))
+                .addStatement(
+                        "$T $N = new $T[$L]",
+                        ArrayTypeName.of(self),
+                        instances,
+                        self,
+                        CodeBlock.join(sizes, " * "))
+                .addStatement("int $N = 0", index);
+        loops.forEach(loop -> table.beginControlFlow("$L", loop));
+        table.addStatement("$N[$N++] = new $T($L)", instances, index, self, arguments(properties));
+        loops.forEach(loop -> table.endControlFlow());
+        MethodSpec tableMethod = table.addStatement("return $N", instances).build();
+
+        model.getFields()
+                .add(FieldSpec.builder(
+                                ArrayTypeName.of(self), INTERNED, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("$N()", tableMethod)
+                        .build());
+        model.getMethods().add(tableMethod);
+        model.getMethods()
+                .add(factory(self, properties)
+                        .addStatement("return $N[$L]", INTERNED, position)
+                        .build());
+    }
+
+    /**
+     * The enum type of each property, {@code null} for {@code boolean} properties, or {@code null} if the type does
+     * not qualify for a table.
+     */
+    private @Nullable List<@Nullable TypeName> enumTypes(TypeElement source, List<Property> properties) {
+        Map<String, ExecutableElement> getters = null;
+        List<@Nullable TypeName> enums = new ArrayList<>(properties.size());
+        long cardinality = 1;
+        for (Property property : properties) {
+            TypeName type = property.getType().withoutAnnotations();
+            if (type.equals(TypeName.BOOLEAN)) {
+                enums.add(null);
+                cardinality *= 2;
+            } else if (type.isPrimitive() || property.isNullable() || !(type instanceof ClassName)) {
+                return null;
+            } else {
+                if (getters == null) {
+                    getters = new HashMap<>();
+                    for (ExecutableElement method : resolver.getAllAbstractMethods(source)) {
+                        getters.put(method.getSimpleName().toString(), method);
+                    }
+                }
+                ExecutableElement getter = getters.get(property.getGetterName());
+                int constants = getter != null ? enumConstants(getter.getReturnType()) : 0;
+                if (constants == 0) {
+                    return null;
+                }
+                enums.add(type);
+                cardinality *= constants;
+            }
+            if (cardinality > TABLE_LIMIT) {
+                return null;
+            }
+        }
+        return enums;
+    }
+
+    /** The number of constants if {@code type} is an enum with at least one, otherwise zero. */
+    private static int enumConstants(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return 0;
+        }
+        Element element = ((DeclaredType) type).asElement();
+        if (element.getKind() != ElementKind.ENUM) {
+            return 0;
+        }
+        int constants = 0;
+        for (Element enclosed : element.getEnclosedElements()) {
+            if (enclosed.getKind() == ElementKind.ENUM_CONSTANT) {
+                constants++;
+            }
+        }
+        return constants;
+    }
+
+    private static MethodSpec.Builder factory(ClassName self, List<Property> properties) {
+        MethodSpec.Builder factory = MethodSpec.methodBuilder(FACTORY)
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(self);
+        for (Property property : properties) {
+            ParameterSpec.Builder param = ParameterSpec.builder(property.getType(), property.getFieldName());
+            property.getAnnotations().forEach(param::addAnnotation);
+            factory.addParameter(param.build());
+        }
+        return factory;
+    }
+
+    private static CodeBlock arguments(List<Property> properties) {
+        return CodeBlock.join(
+                properties.stream()
+                        .map(property -> CodeBlock.of("$N", property.getFieldName()))
+                        .collect(Collectors.toList()),
+                ", ");
+    }
+
+    /**
+     * An expression creating an instance from {@code arguments}: the shared instance for types without properties,
+     * through the factory for {@link Intern} types, so that builders and withers also return canonical instances,
+     * otherwise through the constructor.
+     */
+    static CodeBlock newInstance(TypeElement source, ClassName self, CodeBlock arguments) {
+        if (arguments.isEmpty()) {
+            return CodeBlock.of("$T.$N", self, ConstructorStrategy.INSTANCE);
+        }
+        if (source.getAnnotation(Intern.class) != null) {
+            return CodeBlock.of("$T.$N($L)", self, FACTORY, arguments);
+        }
+        return CodeBlock.of("new $T($L)", self, arguments);
+    }
+}
@@ -0,0 +1,206 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.customize.Intern;
+import io.github.joke.caffeinate.customize.Lazy;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import javax.annotation.processing.Messager;
+import javax.inject.Inject;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+
+/**
+ * Overrides every {@link Lazy} method the source type declares or inherits with a memoizing version. Non-null
+ * references are cached in a volatile field that doubles as the initialization marker; primitives and
+ * {@code @Nullable} results are cached in a plain field published by a volatile flag. Initialization locks the
+ * instance, except for {@code @Intern} types: their instances are shared with every caller, so they lock a private
+ * object instead.
+ */
+public class LazyStrategy implements GenerationStrategy {
+
+    private final Messager messager;
+    private final Types types;
+
+    @Inject
+    LazyStrategy(Messager messager, Types types) {
+        this.messager = messager;
+        this.types = types;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (ExecutableElement method : lazyMethods(source)) {
+            if (isValid(method, model)) {
+                methods.add(method);
+            }
+        }
+        if (methods.isEmpty()) {
+            return;
+        }
+
+        Set<String> fieldNames = new HashSet<>(model.getBitWords());
+        model.getProperties().forEach(property -> fieldNames.add(property.getFieldName()));
+        fieldNames.add("hashCode");
+        CodeBlock monitor = CodeBlock.of("this");
+        if (source.getAnnotation(Intern.class) != null) {
+            String lock = uniqueName("lock", fieldNames);
+            model.getFields()
+                    .add(FieldSpec.builder(Object.class, lock, Modifier.PRIVATE, Modifier.FINAL)
+                            .initializer("new $T()", Object.class)
+                            .build());
+            monitor = CodeBlock.of("this.$N", lock);
+        }
+
+        DeclaredType enclosing = (DeclaredType) source.asType();
+        for (ExecutableElement method : methods) {
+            String field = uniqueName(fieldName(method), fieldNames);
+            ExecutableType member = (ExecutableType) types.asMemberOf(enclosing, method);
+            TypeName type = TypeName.get(member.getReturnType());
+            CodeBlock compute = source.getKind() == ElementKind.INTERFACE
+                    ? CodeBlock.of("$T.super.$N()", ClassName.get(source), method.getSimpleName())
+                    : CodeBlock.of("super.$N()", method.getSimpleName());
+
+            MethodSpec.Builder override = MethodSpec.overriding(method, enclosing, types);
+            if (type.isPrimitive() || isNullable(method)) {
+                String flag = uniqueName(field + "$initialized", fieldNames);
+                model.getFields().add(FieldSpec.builder(type, field, Modifier.PRIVATE).build());
+                model.getFields()
+                        .add(FieldSpec.builder(TypeName.BOOLEAN, flag, Modifier.PRIVATE, Modifier.VOLATILE)
+                                .build());
+                override.beginControlFlow("if (!this.$N)", flag)
+                        .beginControlFlow("synchronized ($L)", monitor)
+                        .beginControlFlow("if (!this.$N)", flag)
+                        .addStatement("this.$N = $L", field, compute)
+                        .addStatement("this.$N = true", flag)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addStatement("return this.$N", field);
+            } else {
+                model.getFields().add(FieldSpec.builder(type, field, Modifier.PRIVATE, Modifier.VOLATILE).build());
+                override.addStatement("$T result = this.$N", type, field)
+                        .beginControlFlow("if (result == null)")
+                        .beginControlFlow("synchronized ($L)", monitor)
+                        .addStatement("result = this.$N", field)
+                        .beginControlFlow("if (result == null)")
+                        .addStatement("result = $L", compute)
+                        .addStatement("this.$N = result", field)
+                        .endControlFlow()
+                        .endControlFlow()
+                        .endControlFlow()
+                        .addStatement("return result");
+            }
+            model.getMethods().add(override.build());
+        }
+    }
+
+    /**
+     * The {@code @Lazy} methods of the source and its supertypes, searched from the source upwards. A method only
+     * counts where it is declared closest to the source, so an override without {@code @Lazy} is not memoized.
+     */
+    private List<ExecutableElement> lazyMethods(TypeElement source) {
+        List<ExecutableElement> lazy = new ArrayList<>();
+        Set<String> overridden = new HashSet<>();
+        Set<TypeElement> visited = new HashSet<>();
+        Deque<TypeElement> pending = new ArrayDeque<>();
+        pending.add(source);
+        while (!pending.isEmpty()) {
+            TypeElement type = pending.poll();
+            if (!visited.add(type) || type.getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+                // valid @Lazy methods take no parameters, so their overrides are found by name
+                boolean hidden = method.getParameters().isEmpty()
+                        && !overridden.add(method.getSimpleName().toString());
+                if (!hidden && method.getAnnotation(Lazy.class) != null) {
+                    lazy.add(method);
+                }
+            }
+            addSupertype(type.getSuperclass(), pending);
+            type.getInterfaces().forEach(iface -> addSupertype(iface, pending));
+        }
+        return lazy;
+    }
+
+    private void addSupertype(TypeMirror type, Deque<TypeElement> pending) {
+        if (type.getKind() == TypeKind.DECLARED) {
+            Element element = types.asElement(type);
+            if (element instanceof TypeElement) {
+                pending.add((TypeElement) element);
+            }
+        }
+    }
+
+    private boolean isValid(ExecutableElement method, ClassModel model) {
+        Set<Modifier> modifiers = method.getModifiers();
+        String error = null;
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            error = "@Lazy methods must have an implementation";
+        } else if (modifiers.contains(Modifier.PRIVATE)
+                || modifiers.contains(Modifier.STATIC)
+                || modifiers.contains(Modifier.FINAL)) {
+            error = "@Lazy methods must not be private, static or final";
+        } else if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) {
+            error = "@Lazy methods must have no parameters and no type parameters";
+        } else if (method.getReturnType().getKind() == TypeKind.VOID) {
+            error = "@Lazy methods must not return void";
+        }
+        if (error != null) {
+            messager.printMessage(Diagnostic.Kind.ERROR, error, method);
+            model.setHasErrors(true);
+            return false;
+        }
+        return true;
+    }
+
+    private static String fieldName(ExecutableElement method) {
+        String name = method.getSimpleName().toString();
+        if (name.startsWith("get") && name.length() > 3) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        } else if (name.startsWith("is") && name.length() > 2) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        return name;
+    }
+
+    private static String uniqueName(String name, Set<String> fieldNames) {
+        String unique = name;
+        while (!fieldNames.add(unique)) {
+            unique += "$";
+        }
+        return unique;
+    }
+
+    private static boolean isNullable(ExecutableElement method) {
+        return Stream.concat(
+                        method.getAnnotationMirrors().stream(),
+                        method.getReturnType().getAnnotationMirrors().stream())
+                .map(AnnotationMirror::getAnnotationType)
+                .anyMatch(type -> type.asElement().getSimpleName().contentEquals("Nullable"));
+    }
+}
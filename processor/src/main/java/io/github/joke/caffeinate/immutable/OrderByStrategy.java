@@ -0,0 +1,224 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.customize.OrderBy;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.Messager;
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Makes {@code @OrderBy} types {@code Comparable} and adds a static {@code COMPARATOR}. Both delegate to a private
+ * static {@code compare(left, right)} that compares the listed properties in turn and returns on the first
+ * difference.
+ */
+public class OrderByStrategy implements GenerationStrategy {
+
+    private static final String COMPARABLE = Comparable.class.getCanonicalName();
+
+    private final Messager messager;
+    private final TypeHierarchyResolver resolver;
+    private final Types types;
+
+    @Inject
+    OrderByStrategy(Messager messager, TypeHierarchyResolver resolver, Types types) {
+        this.messager = messager;
+        this.resolver = resolver;
+        this.types = types;
+    }
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        // Comparable follows the source type in the implements clause
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        OrderBy orderBy = source.getAnnotation(OrderBy.class);
+        if (orderBy == null) {
+            return;
+        }
+        List<Property> keys = keys(source, model, orderBy.value());
+        if (keys == null) {
+            model.setHasErrors(true);
+            return;
+        }
+
+        ClassName sourceType = ClassName.get(source);
+        ClassName self = ClassStructureStrategy.className(source, model);
+        model.getSuperinterfaces().add(ParameterizedTypeName.get(ClassName.get(Comparable.class), sourceType));
+        model.getFields()
+                .add(FieldSpec.builder(
+                                ParameterizedTypeName.get(ClassName.get(Comparator.class), sourceType),
+                                "COMPARATOR",
+                                Modifier.PUBLIC,
+                                Modifier.STATIC,
+                                Modifier.FINAL)
+                        .initializer("$T::compare", self)
+                        .build());
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("compareTo")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(int.class)
+                        .addParameter(sourceType, "other")
+                        .addStatement("return compare(this, other)")
+                        .build());
+
+        MethodSpec.Builder compare = MethodSpec.methodBuilder("compare")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(int.class)
+                .addParameter(sourceType, "left")
+                .addParameter(sourceType, "right")
+                .addStatement("int result");
+        for (Property key : keys) {
+            compare.addCode(compareProperty(key, orderBy.nulls()));
+        }
+        model.getMethods().add(compare.addStatement("return 0").build());
+    }
+
+    /**
+     * The properties named by {@code @OrderBy}, or {@code null} after reporting every name that is unknown or not
+     * comparable.
+     */
+    private @Nullable List<Property> keys(TypeElement source, ClassModel model, String[] names) {
+        if (names.length == 0) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "@OrderBy requires at least one property", source);
+            return null;
+        }
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        for (ExecutableElement method : resolver.getAllAbstractMethods(source)) {
+            getters.put(method.getSimpleName().toString(), method);
+        }
+
+        List<Property> keys = new ArrayList<>(names.length);
+        boolean valid = true;
+        for (String name : names) {
+            Property property = model.findProperty(name);
+            if (property == null) {
+                messager.printMessage(Diagnostic.Kind.ERROR, "Unknown @OrderBy property: " + name, source);
+                valid = false;
+                continue;
+            }
+            ExecutableElement getter = getters.get(property.getGetterName());
+            if (!isOrderable(property, getter)) {
+                messager.printMessage(
+                        Diagnostic.Kind.ERROR,
+                        "@OrderBy property is not comparable: " + name + " has type " + property.getType(),
+                        getter != null ? getter : source);
+                valid = false;
+                continue;
+            }
+            keys.add(property);
+        }
+        return valid ? keys : null;
+    }
+
+    private boolean isOrderable(Property property, @Nullable ExecutableElement getter) {
+        TypeName type = property.getType().withoutAnnotations();
+        if (type.isPrimitive() || type.isBoxedPrimitive() || type.equals(ClassName.get(String.class))) {
+            return true;
+        }
+        return getter != null && isComparable(getter.getReturnType());
+    }
+
+    /**
+     * Whether {@code type} implements {@code Comparable} of itself or of a supertype, so that two values can be passed
+     * to {@code compareTo}. A raw {@code Comparable} is accepted like the compiler does.
+     */
+    private boolean isComparable(TypeMirror type) {
+        Deque<TypeMirror> pending = new ArrayDeque<>();
+        pending.push(type);
+        while (!pending.isEmpty()) {
+            TypeMirror current = pending.pop();
+            if (current.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+            DeclaredType declared = (DeclaredType) current;
+            Element element = declared.asElement();
+            if (((TypeElement) element).getQualifiedName().contentEquals(COMPARABLE)) {
+                List<? extends TypeMirror> arguments = declared.getTypeArguments();
+                if (arguments.isEmpty() || types.isAssignable(type, arguments.get(0))) {
+                    return true;
+                }
+                continue;
+            }
+            pending.addAll(types.directSupertypes(current));
+        }
+        return false;
+    }
+
+    private static CodeBlock compareProperty(Property property, OrderBy.Nulls nulls) {
+        String getter = property.getGetterName();
+        if (!property.isNullable() || property.getType().isPrimitive()) {
+            return CodeBlock.builder()
+                    .addStatement(
+                            "result = $L",
+                            compareValues(
+                                    property, CodeBlock.of("left.$N()", getter), CodeBlock.of("right.$N()", getter)))
+                    .beginControlFlow("if (result != 0)")
+                    .addStatement("return result")
+                    .endControlFlow()
+                    .build();
+        }
+
+        String suffix = Character.toUpperCase(property.getFieldName().charAt(0))
+                + property.getFieldName().substring(1);
+        String left = "left" + suffix;
+        String right = "right" + suffix;
+        TypeName type = property.getType().withoutAnnotations();
+        int leftNull = nulls == OrderBy.Nulls.FIRST ? -1 : 1;
+        return CodeBlock.builder()
+                .addStatement("$T $N = left.$N()", type, left, getter)
+                .addStatement("$T $N = right.$N()", type, right, getter)
+                .beginControlFlow("if ($N == null || $N == null)", left, right)
+                .beginControlFlow("if ($N != $N)", left, right)
+                .addStatement("return $N == null ? $L : $L", left, leftNull, -leftNull)
+                .endControlFlow()
+                .nextControlFlow("else")
+                .addStatement(
+                        "result = $L", compareValues(property, CodeBlock.of("$N", left), CodeBlock.of("$N", right)))
+                .beginControlFlow("if (result != 0)")
+                .addStatement("return result")
+                .endControlFlow()
+                .endControlFlow()
+                .build();
+    }
+
+    private static CodeBlock compareValues(Property property, CodeBlock left, CodeBlock right) {
+        TypeName type = property.getType().withoutAnnotations();
+        if (type.isPrimitive()) {
+            return CodeBlock.of("$T.compare($L, $L)", type.box(), left, right);
+        } else if (type.isBoxedPrimitive()) {
+            return CodeBlock.of("$T.compare($L, $L)", type, left, right);
+        }
+        return CodeBlock.of("$L.compareTo($L)", left, right);
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.joke.caffeinate.immutable;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.ConstructorStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyAccess;
+import io.github.joke.caffeinate.strategy.PropertyUtils;
+import io.github.joke.caffeinate.strategy.Storage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates a {@code withX(value)} method per property. It returns {@code this} when the value equals the current one
+ * and otherwise a copy that shares every other property with this instance.
+ */
+public class WitherStrategy implements GenerationStrategy {
+
+    @Inject
+    WitherStrategy() {}
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        ClassName self = ClassStructureStrategy.className(source, model);
+        List<Property> properties = model.getProperties();
+        boolean sharing = ConstructorStrategy.sharesCopies(source, model);
+        for (Property changed : properties) {
+            String name = changed.getFieldName();
+            List<CodeBlock> arguments = new ArrayList<>(properties.size() + 1);
+            for (Property property : properties) {
+                if (property != changed) {
+                    arguments.add(PropertyAccess.read(property, "this"));
+                } else if (sharing) {
+                    arguments.add(PropertyAccess.copy(property, CodeBlock.of("$N", name)));
+                } else {
+                    arguments.add(CodeBlock.of("$N", name));
+                }
+            }
+            // the private constructor stores the copies of the other properties as they are
+            CodeBlock instance = sharing
+                    ? CodeBlock.of("new $T($L, true)", self, CodeBlock.join(arguments, ", "))
+                    : InternStrategy.newInstance(source, self, CodeBlock.join(arguments, ", "));
+
+            ParameterSpec.Builder param = ParameterSpec.builder(changed.getType(), name);
+            changed.getAnnotations().forEach(param::addAnnotation);
+            model.getMethods()
+                    .add(MethodSpec.methodBuilder(PropertyUtils.witherNameForField(name))
+                            .addModifiers(Modifier.PUBLIC)
+                            .returns(self)
+                            .addParameter(param.build())
+                            .beginControlFlow("if ($L)", unchanged(changed))
+                            .addStatement("return this")
+                            .endControlFlow()
+                            .addStatement("return $L", instance)
+                            .build());
+        }
+    }
+
+    /**
+     * Compares the parameter with the current value using the same semantics as the generated {@code equals}.
+     * Unboxed storage is compared against the primitive field, so no value is boxed.
+     */
+    private static CodeBlock unchanged(Property property) {
+        String name = property.getFieldName();
+        TypeName type = property.getType();
+        if (type.isPrimitive() || property.getStorage() == Storage.UNBOXED || property.getStorage() == Storage.PACKED) {
+            CodeBlock current = PropertyAccess.read(property, "this");
+            TypeName primitive = property.getFieldType();
+            if (primitive.equals(TypeName.FLOAT) || primitive.equals(TypeName.DOUBLE)) {
+                return CodeBlock.of("$T.compare($L, $N) == 0", primitive.box(), current, name);
+            }
+            return CodeBlock.of("$L == $N", current, name);
+        }
+        if (type instanceof ArrayTypeName) {
+            return CodeBlock.of("this.$N == $N", name, name);
+        }
+        if (property.getStorage() != Storage.DIRECT || property.isNullable()) {
+            return CodeBlock.of("$T.equals($L, $N)", Objects.class, PropertyAccess.read(property, "this"), name);
+        }
+        return CodeBlock.of("this.$N == $N || this.$N.equals($N)", name, name, name, name);
+    }
+}
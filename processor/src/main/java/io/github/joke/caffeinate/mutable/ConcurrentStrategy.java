@@ -0,0 +1,144 @@
+package io.github.joke.caffeinate.mutable;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.WildcardTypeName;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.ConcurrentAccess;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongUnaryOperator;
+import java.util.function.UnaryOperator;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Adds the {@code VarHandle} of every property of a {@code @Concurrent} type together with {@code compareAndSetX},
+ * {@code getAndUpdateX} and {@code updateX}. The update methods retry a weak compare-and-set until the update
+ * function result is stored, so the function may run more than once under contention.
+ */
+public class ConcurrentStrategy implements GenerationStrategy {
+
+    private static final Map<TypeName, ClassName> PRIMITIVE_OPERATORS = Map.of(
+            TypeName.INT, ClassName.get(IntUnaryOperator.class),
+            TypeName.LONG, ClassName.get(LongUnaryOperator.class),
+            TypeName.DOUBLE, ClassName.get(DoubleUnaryOperator.class));
+    private static final Map<TypeName, String> PRIMITIVE_APPLY = Map.of(
+            TypeName.INT, "applyAsInt",
+            TypeName.LONG, "applyAsLong",
+            TypeName.DOUBLE, "applyAsDouble");
+    private static final String LOOKUP = "varHandle";
+
+    @Inject
+    ConcurrentStrategy() {}
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (model.getConcurrentAccess() == null || model.getProperties().isEmpty()) {
+            return;
+        }
+
+        ClassName self = ClassStructureStrategy.className(source, model);
+        for (Property property : model.getProperties()) {
+            model.getFields()
+                    .add(FieldSpec.builder(
+                                    VarHandle.class,
+                                    ConcurrentAccess.handleName(property),
+                                    Modifier.PRIVATE,
+                                    Modifier.STATIC,
+                                    Modifier.FINAL)
+                            .initializer(
+                                    "$N($S, $T.class)",
+                                    LOOKUP,
+                                    property.getFieldName(),
+                                    ConcurrentAccess.erasure(property.getType()))
+                            .build());
+            model.getMethods().add(compareAndSet(property));
+            model.getMethods().add(update("getAndUpdate", property, "previous"));
+            model.getMethods().add(update("update", property, "next"));
+        }
+        model.getMethods()
+                .add(MethodSpec.methodBuilder(LOOKUP)
+                        .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                        .returns(VarHandle.class)
+                        .addParameter(String.class, "name")
+                        .addParameter(
+                                ParameterizedTypeName.get(
+                                        ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class)),
+                                "type")
+                        .beginControlFlow("try")
+                        .addStatement(
+                                "return $T.lookup().findVarHandle($T.class, name, type)", MethodHandles.class, self)
+                        .nextControlFlow("catch ($T e)", ReflectiveOperationException.class)
+                        .addStatement("throw new $T(e)", ExceptionInInitializerError.class)
+                        .endControlFlow()
+                        .build());
+    }
+
+    private static MethodSpec compareAndSet(Property property) {
+        return MethodSpec.methodBuilder(methodName("compareAndSet", property))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(TypeName.BOOLEAN)
+                .addParameter(parameter(property, "expectedValue"))
+                .addParameter(parameter(property, "newValue"))
+                .addStatement(
+                        "return $N.compareAndSet(this, expectedValue, newValue)",
+                        ConcurrentAccess.handleName(property))
+                .build();
+    }
+
+    private static MethodSpec update(String prefix, Property property, String result) {
+        TypeName type = property.getType();
+        String handle = ConcurrentAccess.handleName(property);
+        MethodSpec.Builder method = MethodSpec.methodBuilder(methodName(prefix, property))
+                .addModifiers(Modifier.PUBLIC)
+                .returns(type)
+                .addParameter(operator(type), "updateFunction");
+        property.getAnnotations().forEach(method::addAnnotation);
+        return method.addStatement("$T previous", type)
+                .addStatement("$T next", type)
+                .beginControlFlow("do")
+                .addStatement("previous = ($T) $N.getVolatile(this)", type.withoutAnnotations(), handle)
+                .addStatement("next = updateFunction.$L(previous)", PRIMITIVE_APPLY.getOrDefault(type, "apply"))
+                .endControlFlow("while (!$N.weakCompareAndSet(this, previous, next))", handle)
+                .addStatement("return $N", result)
+                .build();
+    }
+
+    private static TypeName operator(TypeName type) {
+        ClassName primitive = PRIMITIVE_OPERATORS.get(type);
+        if (primitive != null) {
+            return primitive;
+        }
+        return ParameterizedTypeName.get(ClassName.get(UnaryOperator.class), type.box());
+    }
+
+    private static ParameterSpec parameter(Property property, String name) {
+        ParameterSpec.Builder parameter = ParameterSpec.builder(property.getType(), name);
+        property.getAnnotations().forEach(parameter::addAnnotation);
+        return parameter.build();
+    }
+
+    private static String methodName(String prefix, Property property) {
+        String fieldName = property.getFieldName();
+        return prefix + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+}
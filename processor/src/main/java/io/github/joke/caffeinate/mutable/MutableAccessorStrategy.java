@@ -0,0 +1,84 @@
+package io.github.joke.caffeinate.mutable;
+
+import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.customize.Accessor;
+import io.github.joke.caffeinate.strategy.AccessorStrategy;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyUtils;
+import java.util.List;
+import java.util.Set;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the nested {@code Accessor} of {@link Accessor} types like {@link AccessorStrategy}, with a {@code set}
+ * that casts the value and calls the generated setter. {@code get} takes the source type because every getter is
+ * declared there, while {@code set} takes the generated class because declaring setters in the source is optional.
+ */
+public class MutableAccessorStrategy implements GenerationStrategy {
+
+    @Inject
+    MutableAccessorStrategy() {}
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (source.getAnnotation(Accessor.class) == null) {
+            return;
+        }
+
+        ClassName self = ClassStructureStrategy.className(source, model);
+        List<Property> properties = model.getProperties();
+        MethodSpec.Builder set = MethodSpec.methodBuilder("set")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .addParameter(self, "instance")
+                .addParameter(TypeName.INT, "index")
+                .addParameter(Object.class, "value")
+                .beginControlFlow("switch (index)");
+        boolean unchecked = false;
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            TypeName type = property.getType().withoutAnnotations();
+            unchecked |= !isReifiable(type);
+            set.addCode("case $L:\n$>", i)
+                    .addStatement(
+                            "instance.$N(($T) value)",
+                            PropertyUtils.setterNameForField(property.getFieldName()),
+                            type.box())
+                    .addStatement("break")
+                    .addCode("$<");
+        }
+        set.addCode("default:\n$>")
+                .addStatement(AccessorStrategy.outOfRange())
+                .addCode("$<")
+                .endControlFlow();
+        if (unchecked) {
+            set.addAnnotation(AnnotationSpec.builder(SuppressWarnings.class)
+                    .addMember("value", "$S", "unchecked")
+                    .build());
+        }
+
+        TypeSpec.Builder accessor = AccessorStrategy.accessor(source, model);
+        model.getTypes().add(accessor.addMethod(set.build()).build());
+    }
+
+    private static boolean isReifiable(TypeName type) {
+        if (type instanceof ArrayTypeName) {
+            return isReifiable(((ArrayTypeName) type).componentType());
+        }
+        return type.isPrimitive() || type instanceof ClassName;
+    }
+}
@@ -5,6 +5,7 @@ import com.palantir.javapoet.ParameterSpec;
 import io.github.joke.caffeinate.strategy.ClassModel;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyAccess;
 import javax.inject.Inject;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
@@ -15,6 +16,11 @@ public class MutableConstructorStrategy implements GenerationStrategy {
     @Inject
     MutableConstructorStrategy() {}
 
+    @Override
+    public int order() {
+        return CONSTRUCTORS;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
         MethodSpec.Builder noArgs = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC);
@@ -33,8 +39,8 @@ public class MutableConstructorStrategy implements GenerationStrategy {
                 ParameterSpec.Builder param = ParameterSpec.builder(property.getType(), property.getFieldName());
                 property.getAnnotations().forEach(param::addAnnotation);
                 allArgs.addParameter(param.build());
-                allArgs.addStatement("this.$N = $N", property.getFieldName(), property.getFieldName());
             }
+            allArgs.addCode(PropertyAccess.initialize(model, false));
 
             model.getMethods().add(allArgs.build());
         }
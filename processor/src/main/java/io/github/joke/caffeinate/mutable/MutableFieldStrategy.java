@@ -1,9 +1,12 @@
 package io.github.joke.caffeinate.mutable;
 
 import com.palantir.javapoet.FieldSpec;
+import io.github.joke.caffeinate.customize.Concurrent;
 import io.github.joke.caffeinate.strategy.ClassModel;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyAccess;
+import io.github.joke.caffeinate.strategy.Storage;
 import javax.inject.Inject;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
@@ -13,12 +16,27 @@ public class MutableFieldStrategy implements GenerationStrategy {
     @Inject
     MutableFieldStrategy() {}
 
+    @Override
+    public int order() {
+        return FIELDS;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
         for (Property property : model.getProperties()) {
-            FieldSpec.Builder field = FieldSpec.builder(property.getType(), property.getFieldName(), Modifier.PRIVATE);
-            property.getAnnotations().forEach(field::addAnnotation);
+            if (!property.hasField()) {
+                continue;
+            }
+            FieldSpec.Builder field =
+                    FieldSpec.builder(property.getFieldType(), property.getFieldName(), Modifier.PRIVATE);
+            if (model.getConcurrentAccess() == Concurrent.Access.VOLATILE) {
+                field.addModifiers(Modifier.VOLATILE);
+            }
+            if (property.getStorage() == Storage.DIRECT) {
+                property.getAnnotations().forEach(field::addAnnotation);
+            }
             model.getFields().add(field.build());
         }
+        model.getFields().addAll(PropertyAccess.bitWordFields(model, Modifier.PRIVATE));
     }
 }
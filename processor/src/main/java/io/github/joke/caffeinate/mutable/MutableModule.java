@@ -10,6 +10,7 @@ import io.github.joke.caffeinate.phase.ValidationPhase;
 import io.github.joke.caffeinate.strategy.ClassStructureStrategy;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.GetterStrategy;
+import io.github.joke.caffeinate.strategy.ToStringStrategy;
 import java.util.Set;
 
 @Module
@@ -53,8 +54,23 @@ public interface MutableModule {
     @GenerationPhase
     GenerationStrategy setter(SetterStrategy impl);
 
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy concurrent(ConcurrentStrategy impl);
+
     @Binds
     @IntoSet
     @GenerationPhase
     GenerationStrategy mutableConstructor(MutableConstructorStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy toStringMethod(ToStringStrategy impl);
+
+    @Binds
+    @IntoSet
+    @GenerationPhase
+    GenerationStrategy accessor(MutableAccessorStrategy impl);
 }
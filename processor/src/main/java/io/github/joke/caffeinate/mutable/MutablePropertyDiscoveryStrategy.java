@@ -1,9 +1,13 @@
 package io.github.joke.caffeinate.mutable;
 
+import io.github.joke.caffeinate.customize.Concurrent;
+import io.github.joke.caffeinate.customize.Layout;
 import io.github.joke.caffeinate.strategy.ClassModel;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import io.github.joke.caffeinate.strategy.PropertyLayout;
 import io.github.joke.caffeinate.strategy.PropertyUtils;
 import io.github.joke.caffeinate.strategy.TypeHierarchyResolver;
+import io.github.joke.caffeinate.strategy.TypeNameCache;
 import javax.annotation.processing.Messager;
 import javax.inject.Inject;
 import javax.lang.model.element.ExecutableElement;
@@ -15,24 +19,43 @@ public class MutablePropertyDiscoveryStrategy implements GenerationStrategy {
 
     private final Messager messager;
     private final TypeHierarchyResolver resolver;
+    private final PropertyLayout layout;
+    private final TypeNameCache typeNames;
 
     @Inject
-    MutablePropertyDiscoveryStrategy(Messager messager, TypeHierarchyResolver resolver) {
+    MutablePropertyDiscoveryStrategy(
+            Messager messager, TypeHierarchyResolver resolver, PropertyLayout layout, TypeNameCache typeNames) {
         this.messager = messager;
         this.resolver = resolver;
+        this.layout = layout;
+        this.typeNames = typeNames;
     }
 
     @Override
     public void generate(TypeElement source, ClassModel model) {
         for (ExecutableElement method : resolver.getAllAbstractMethods(source)) {
-            if (PropertyUtils.isGetterMethod(method)) {
-                model.getProperties().add(PropertyUtils.extractProperty(method));
-            } else if (PropertyUtils.isSetterMethod(method)) {
+            String name = method.getSimpleName().toString();
+            if (PropertyUtils.isGetterMethod(method, name)) {
+                model.getProperties()
+                        .add(PropertyUtils.extractProperty(method, name, typeNames.get(method.getReturnType())));
+            } else if (PropertyUtils.isSetterMethod(method, name)) {
                 model.getDeclaredSetters().add(method);
             } else {
                 reportError(method, model);
             }
         }
+        layout.apply(source, model);
+
+        Concurrent concurrent = source.getAnnotation(Concurrent.class);
+        if (concurrent != null) {
+            if (source.getAnnotation(Layout.class) != null) {
+                messager.printMessage(
+                        Diagnostic.Kind.ERROR, "@Concurrent types cannot be combined with @Layout", source);
+                model.setHasErrors(true);
+            } else {
+                model.setConcurrentAccess(concurrent.access());
+            }
+        }
     }
 
     private void reportError(ExecutableElement method, ClassModel model) {
@@ -1,10 +1,14 @@
 package io.github.joke.caffeinate.mutable;
 
+import com.palantir.javapoet.CodeBlock;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
+import io.github.joke.caffeinate.customize.Concurrent;
 import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.ConcurrentAccess;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyAccess;
 import io.github.joke.caffeinate.strategy.PropertyUtils;
 import javax.inject.Inject;
 import javax.lang.model.element.Modifier;
@@ -15,16 +19,26 @@ public class SetterStrategy implements GenerationStrategy {
     @Inject
     SetterStrategy() {}
 
+    @Override
+    public int order() {
+        return ACCESSORS;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
+        Concurrent.Access access = model.getConcurrentAccess();
         for (Property property : model.getProperties()) {
+            CodeBlock value = CodeBlock.of("$N", property.getFieldName());
             ParameterSpec.Builder param = ParameterSpec.builder(property.getType(), property.getFieldName());
             property.getAnnotations().forEach(param::addAnnotation);
             MethodSpec setter = MethodSpec.methodBuilder(PropertyUtils.setterNameForField(property.getFieldName()))
                     .addModifiers(Modifier.PUBLIC)
                     .returns(void.class)
                     .addParameter(param.build())
-                    .addStatement("this.$N = $N", property.getFieldName(), property.getFieldName())
+                    .addCode(
+                            access == null
+                                    ? PropertyAccess.write(property, value)
+                                    : ConcurrentAccess.write(property, access, value))
                     .build();
             model.getMethods().add(setter);
         }
@@ -4,6 +4,8 @@ import com.palantir.javapoet.TypeName;
 import io.github.joke.caffeinate.strategy.ClassModel;
 import io.github.joke.caffeinate.strategy.GenerationStrategy;
 import io.github.joke.caffeinate.strategy.Property;
+import io.github.joke.caffeinate.strategy.PropertyUtils;
+import io.github.joke.caffeinate.strategy.TypeNameCache;
 import javax.annotation.processing.Messager;
 import javax.inject.Inject;
 import javax.lang.model.element.ExecutableElement;
@@ -13,29 +15,23 @@ import javax.tools.Diagnostic;
 public class SetterValidationStrategy implements GenerationStrategy {
 
     private final Messager messager;
+    private final TypeNameCache typeNames;
 
     @Inject
-    SetterValidationStrategy(Messager messager) {
+    SetterValidationStrategy(Messager messager, TypeNameCache typeNames) {
         this.messager = messager;
+        this.typeNames = typeNames;
     }
 
     @Override
     public void generate(TypeElement source, ClassModel model) {
         for (ExecutableElement setter : model.getDeclaredSetters()) {
             String setterName = setter.getSimpleName().toString();
-            String expectedField = Character.toLowerCase(setterName.charAt(3)) + setterName.substring(4);
-            TypeName paramType = TypeName.get(setter.getParameters().get(0).asType());
+            String expectedField = PropertyUtils.fieldNameOfSetter(setterName);
+            Property property = expectedField != null ? model.findProperty(expectedField) : null;
+            TypeName paramType = typeNames.get(setter.getParameters().get(0).asType());
 
-            boolean matched = false;
-            for (Property property : model.getProperties()) {
-                if (property.getFieldName().equals(expectedField)
-                        && property.getType().equals(paramType)) {
-                    matched = true;
-                    break;
-                }
-            }
-
-            if (!matched) {
+            if (property == null || !property.getType().equals(paramType)) {
                 messager.printMessage(
                         Diagnostic.Kind.ERROR,
                         "Setter " + setterName + " does not match any getter-derived property",
@@ -0,0 +1,146 @@
+package io.github.joke.caffeinate.phase;
+
+import io.github.joke.caffeinate.render.SourceRenderer;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import io.github.joke.caffeinate.strategy.GenerationStrategy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Runs the strategies of a generator phase by phase on a fresh {@link ClassModel} and submits the finished model to
+ * the {@link SourceRenderer}. Analysis and validation phases always run, so that every diagnostic is reported; a
+ * generation phase is skipped once any strategy has reported an error.
+ *
+ * <p>Within a phase, a strategy runs after all strategies it declares in {@link GenerationStrategy#runsAfter()}.
+ * Among the strategies whose dependencies have run, the one with the lowest {@link GenerationStrategy#order()} and
+ * then class name runs next. The schedule is computed once per generator and depends neither on the multibinding's
+ * iteration order nor on identity hash codes, so the generated sources are identical across builds and JVMs.
+ */
+public final class GenerationPipeline {
+
+    private static final Comparator<GenerationStrategy> EXECUTION_ORDER =
+            Comparator.comparingInt(GenerationStrategy::order).thenComparing(strategy -> strategy.getClass().getName());
+
+    private final List<Stage> stages;
+    private final List<List<GenerationStrategy>> strategies;
+    private final SourceRenderer renderer;
+    private final ProcessingStatistics statistics;
+
+    private GenerationPipeline(Builder builder) {
+        this.stages = List.copyOf(builder.stages);
+        this.strategies = List.copyOf(builder.strategies);
+        this.renderer = builder.renderer;
+        this.statistics = builder.statistics;
+    }
+
+    public static Builder builder(SourceRenderer renderer, ProcessingStatistics statistics) {
+        return new Builder(renderer, statistics);
+    }
+
+    public void run(TypeElement source) {
+        ClassModel model = new ClassModel();
+        for (int phase = 0; phase < stages.size(); phase++) {
+            Stage stage = stages.get(phase);
+            if (stage == Stage.GENERATION) {
+                if (model.hasErrors()) {
+                    return;
+                }
+                model.presize();
+            }
+            for (GenerationStrategy strategy : strategies.get(phase)) {
+                long start = statistics.start();
+                strategy.generate(source, model);
+                statistics.record(stage, strategy, start);
+            }
+        }
+        if (!model.hasErrors()) {
+            renderer.submit(source, model);
+        }
+    }
+
+    static List<GenerationStrategy> schedule(Collection<GenerationStrategy> phaseStrategies) {
+        Map<Class<?>, GenerationStrategy> byClass = new HashMap<>();
+        for (GenerationStrategy strategy : phaseStrategies) {
+            byClass.put(strategy.getClass(), strategy);
+        }
+        Map<GenerationStrategy, Integer> pending = new HashMap<>();
+        Map<GenerationStrategy, List<GenerationStrategy>> dependents = new HashMap<>();
+        PriorityQueue<GenerationStrategy> ready = new PriorityQueue<>(EXECUTION_ORDER);
+        for (GenerationStrategy strategy : phaseStrategies) {
+            int count = 0;
+            for (Class<? extends GenerationStrategy> dependency : strategy.runsAfter()) {
+                GenerationStrategy before = byClass.get(dependency);
+                if (before != null && before != strategy) {
+                    dependents.computeIfAbsent(before, key -> new ArrayList<>()).add(strategy);
+                    count++;
+                }
+            }
+            pending.put(strategy, count);
+            if (count == 0) {
+                ready.add(strategy);
+            }
+        }
+
+        List<GenerationStrategy> scheduled = new ArrayList<>(phaseStrategies.size());
+        while (!ready.isEmpty()) {
+            GenerationStrategy next = ready.poll();
+            scheduled.add(next);
+            for (GenerationStrategy dependent : dependents.getOrDefault(next, List.of())) {
+                int count = pending.merge(dependent, -1, Integer::sum);
+                if (count == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (scheduled.size() != pending.size()) {
+            List<String> cycle = new ArrayList<>();
+            pending.forEach((strategy, count) -> {
+                if (count > 0) {
+                    cycle.add(strategy.getClass().getSimpleName());
+                }
+            });
+            Collections.sort(cycle);
+            throw new IllegalStateException("Strategies with cyclic runsAfter dependencies: " + cycle);
+        }
+        return List.copyOf(scheduled);
+    }
+
+    public static final class Builder {
+
+        private final SourceRenderer renderer;
+        private final ProcessingStatistics statistics;
+        private final List<Stage> stages = new ArrayList<>();
+        private final List<List<GenerationStrategy>> strategies = new ArrayList<>();
+
+        private Builder(SourceRenderer renderer, ProcessingStatistics statistics) {
+            this.renderer = renderer;
+            this.statistics = statistics;
+        }
+
+        /**
+         * Appends a phase. {@code stage} must be {@link Stage#ANALYSIS}, {@link Stage#VALIDATION} or
+         * {@link Stage#GENERATION}.
+         */
+        public Builder phase(Stage stage, Collection<GenerationStrategy> phaseStrategies) {
+            if (stage != Stage.ANALYSIS && stage != Stage.VALIDATION && stage != Stage.GENERATION) {
+                throw new IllegalArgumentException("Not a strategy stage: " + stage);
+            }
+            stages.add(stage);
+            strategies.add(schedule(phaseStrategies));
+            return this;
+        }
+
+        public GenerationPipeline build() {
+            return new GenerationPipeline(this);
+        }
+    }
+}
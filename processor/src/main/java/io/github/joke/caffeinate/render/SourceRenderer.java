@@ -0,0 +1,256 @@
+package io.github.joke.caffeinate.render;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.JavaFile;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.stats.ProcessingStatistics;
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage;
+import io.github.joke.caffeinate.strategy.ClassModel;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Turns finished {@link ClassModel}s into source files. Assembling the JavaPoet {@link TypeSpec} and rendering it to
+ * text only touch the model, never the javac element API, so it runs on a bounded pool of worker threads
+ * ({@code -Acaffeinate.threads=<n>}, {@code 1} renders inline). Writing through the {@link Filer} and reporting
+ * failures through the {@link Messager} stay on the javac thread in {@link #flush()}, in submission order, so output
+ * and diagnostics do not depend on scheduling.
+ *
+ * <p>With {@code -Acaffeinate.fingerprints=<dir>}, each rendered file is also fingerprinted with SHA-256, and the
+ * fingerprint is written through the {@link Filer} to the class output as {@code <dir>/<type>.sha256}, with the same
+ * originating element as the source file. Tools can compare it with the previous build's to detect a no-op
+ * regeneration, and build tools delete it together with the source file when the annotated type goes away.
+ */
+public class SourceRenderer {
+
+    public static final String THREADS_OPTION = "caffeinate.threads";
+    public static final String FINGERPRINTS_OPTION = "caffeinate.fingerprints";
+
+    private static final int DEFAULT_MAX_THREADS = 8;
+
+    private final Filer filer;
+    private final Messager messager;
+    private final ProcessingStatistics statistics;
+    private final int threads;
+    private final @Nullable String fingerprintDirectory;
+    private final List<Pending> pending = new ArrayList<>();
+    private final Map<String, String> fingerprints = new TreeMap<>();
+    private @Nullable ExecutorService executor;
+
+    public SourceRenderer(Filer filer, Messager messager, ProcessingStatistics statistics, int threads) {
+        this(filer, messager, statistics, threads, null);
+    }
+
+    public SourceRenderer(
+            Filer filer,
+            Messager messager,
+            ProcessingStatistics statistics,
+            int threads,
+            @Nullable String fingerprintDirectory) {
+        this.filer = filer;
+        this.messager = messager;
+        this.statistics = statistics;
+        this.threads = Math.max(1, threads);
+        this.fingerprintDirectory = fingerprintDirectory;
+    }
+
+    public static int threads(Map<String, String> options) {
+        String value = options.get(THREADS_OPTION);
+        if (value == null) {
+            return Math.min(Runtime.getRuntime().availableProcessors(), DEFAULT_MAX_THREADS);
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+
+    /**
+     * Schedules rendering of the model. The model must not be modified afterwards.
+     */
+    public void submit(TypeElement source, ClassModel model) {
+        String packageName = ClassName.get(source).packageName();
+        String qualifiedName =
+                packageName.isEmpty() ? model.getClassName() : packageName + "." + model.getClassName();
+        Callable<Rendered> task = () -> render(source, packageName, model);
+        Future<Rendered> rendered;
+        if (threads == 1) {
+            FutureTask<Rendered> inline = new FutureTask<>(task);
+            inline.run();
+            rendered = inline;
+        } else {
+            rendered = executor().submit(task);
+        }
+        pending.add(new Pending(source, qualifiedName, rendered));
+    }
+
+    /**
+     * Writes every submitted file, in submission order.
+     */
+    public void flush() {
+        for (Pending file : pending) {
+            try {
+                Rendered rendered = file.rendered.get();
+                long writeStart = statistics.start();
+                try (Writer writer =
+                        filer.createSourceFile(file.qualifiedName, file.source).openWriter()) {
+                    writer.write(rendered.text);
+                }
+                statistics.record(Stage.WRITE, "Filer", writeStart);
+                String fingerprint = rendered.fingerprint;
+                if (fingerprintDirectory != null && fingerprint != null) {
+                    writeFingerprint(file, fingerprintDirectory, fingerprint);
+                }
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                error(file, String.valueOf(cause.getMessage()));
+            } catch (IOException e) {
+                error(file, e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                error(file, "interrupted");
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * The SHA-256 fingerprint of every file written so far, by qualified type name. Empty without
+     * {@code -Acaffeinate.fingerprints}.
+     */
+    public Map<String, String> getFingerprints() {
+        return Collections.unmodifiableMap(fingerprints);
+    }
+
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    private Rendered render(TypeElement source, String packageName, ClassModel model) {
+        long start = statistics.start();
+        TypeSpec.Builder builder = TypeSpec.classBuilder(model.getClassName()).addOriginatingElement(source);
+        for (Modifier modifier : model.getModifiers()) {
+            builder.addModifiers(modifier);
+        }
+        for (TypeName superinterface : model.getSuperinterfaces()) {
+            builder.addSuperinterface(superinterface);
+        }
+        TypeName superclass = model.getSuperclass();
+        if (superclass != null) {
+            builder.superclass(superclass);
+        }
+        for (FieldSpec field : model.getFields()) {
+            builder.addField(field);
+        }
+        for (MethodSpec method : model.getMethods()) {
+            builder.addMethod(method);
+        }
+        for (TypeSpec type : model.getTypes()) {
+            builder.addType(type);
+        }
+        String text = JavaFile.builder(packageName, builder.build()).build().toString();
+        statistics.record(Stage.ASSEMBLY, "JavaPoet", start);
+        return new Rendered(text, fingerprintDirectory != null ? fingerprint(text) : null);
+    }
+
+    private void writeFingerprint(Pending file, String directory, String fingerprint) {
+        String name = (directory.endsWith("/") ? directory : directory + "/") + file.qualifiedName + ".sha256";
+        try (Writer writer = filer.createResource(StandardLocation.CLASS_OUTPUT, "", name, file.source)
+                .openWriter()) {
+            writer.write(fingerprint);
+            writer.write('\n');
+        } catch (IOException e) {
+            messager.printMessage(
+                    Diagnostic.Kind.WARNING,
+                    "Failed to write generated source fingerprint: " + e.getMessage(),
+                    file.source);
+            return;
+        }
+        fingerprints.put(file.qualifiedName, fingerprint);
+    }
+
+    static String fingerprint(String text) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void error(Pending file, @Nullable String message) {
+        messager.printMessage(
+                Diagnostic.Kind.ERROR, "Failed to generate implementation: " + message, file.source);
+    }
+
+    private ExecutorService executor() {
+        ExecutorService current = executor;
+        if (current == null) {
+            AtomicInteger count = new AtomicInteger();
+            current = Executors.newFixedThreadPool(threads, runnable -> {
+                Thread thread = new Thread(runnable, "caffeinate-render-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor = current;
+        }
+        return current;
+    }
+
+    private static final class Pending {
+
+        private final TypeElement source;
+        private final String qualifiedName;
+        private final Future<Rendered> rendered;
+
+        Pending(TypeElement source, String qualifiedName, Future<Rendered> rendered) {
+            this.source = source;
+            this.qualifiedName = qualifiedName;
+            this.rendered = rendered;
+        }
+    }
+
+    private static final class Rendered {
+
+        private final String text;
+        private final @Nullable String fingerprint;
+
+        Rendered(String text, @Nullable String fingerprint) {
+            this.text = text;
+            this.fingerprint = fingerprint;
+        }
+    }
+}
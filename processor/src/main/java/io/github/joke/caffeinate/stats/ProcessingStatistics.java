@@ -0,0 +1,131 @@
+package io.github.joke.caffeinate.stats;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Collects per-strategy timings and element counts when enabled with {@code -Acaffeinate.stats=true}. The summary
+ * is printed as a NOTE at the end of processing; {@code -Acaffeinate.stats.report=<file>} additionally writes it as
+ * tab-separated values. When disabled, recording is a no-op.
+ */
+public class ProcessingStatistics {
+
+    public static final String STATS_OPTION = "caffeinate.stats";
+    public static final String REPORT_OPTION = "caffeinate.stats.report";
+
+    public enum Stage {
+        ANALYSIS,
+        VALIDATION,
+        GENERATION,
+        ASSEMBLY,
+        WRITE,
+        ROUND
+    }
+
+    private final boolean enabled;
+    private final @Nullable String reportFile;
+    private final Map<String, Integer> elements = new LinkedHashMap<>();
+    private final Map<String, Timing> timings = new LinkedHashMap<>();
+
+    public ProcessingStatistics(Map<String, String> options) {
+        this.reportFile = options.get(REPORT_OPTION);
+        this.enabled = Boolean.parseBoolean(options.get(STATS_OPTION)) || reportFile != null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void record(Stage stage, Object subject, long start) {
+        if (!enabled) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String name = subject instanceof String ? (String) subject : subject.getClass().getSimpleName();
+        // rendering records from worker threads
+        synchronized (timings) {
+            timings.computeIfAbsent(stage + "\t" + name, key -> new Timing(stage, name))
+                    .add(elapsed);
+        }
+    }
+
+    public void countElement(String annotation) {
+        if (enabled) {
+            elements.merge(annotation, 1, Integer::sum);
+        }
+    }
+
+    public void report(Messager messager) {
+        if (!enabled) {
+            return;
+        }
+        messager.printMessage(Diagnostic.Kind.NOTE, summary());
+        if (reportFile != null) {
+            try {
+                Files.write(Paths.get(reportFile), reportLines(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                messager.printMessage(
+                        Diagnostic.Kind.WARNING, "Failed to write processing statistics report: " + e.getMessage());
+            }
+        }
+    }
+
+    String summary() {
+        StringBuilder summary = new StringBuilder("Caffeinate processing statistics\n");
+        elements.forEach((annotation, count) -> summary.append(
+                        String.format(Locale.ROOT, "  %-40s %8d elements%n", annotation, count)));
+        for (Timing timing : timings.values()) {
+            summary.append(String.format(
+                    Locale.ROOT,
+                    "  %-10s %-29s %8d calls %12.3f ms%n",
+                    timing.stage.name().toLowerCase(Locale.ROOT),
+                    timing.name,
+                    timing.calls,
+                    timing.nanos / 1_000_000.0));
+        }
+        return summary.toString();
+    }
+
+    List<String> reportLines() {
+        List<String> lines = new ArrayList<>(elements.size() + timings.size() + 1);
+        lines.add("kind\tstage\tname\tcount\tnanos");
+        elements.forEach((annotation, count) -> lines.add("elements\t\t" + annotation + "\t" + count + "\t0"));
+        for (Timing timing : timings.values()) {
+            lines.add("timing\t" + timing.stage.name().toLowerCase(Locale.ROOT) + "\t" + timing.name + "\t"
+                    + timing.calls + "\t" + timing.nanos);
+        }
+        return lines;
+    }
+
+    private static final class Timing {
+
+        private final Stage stage;
+        private final String name;
+        private long calls;
+        private long nanos;
+
+        Timing(Stage stage, String name) {
+            this.stage = stage;
+            this.name = name;
+        }
+
+        void add(long elapsed) {
+            calls++;
+            nanos += elapsed;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.customize.Accessor;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the nested {@code Accessor} of {@link Accessor} types: the property names, a name to index lookup and a
+ * {@code get} that dispatches on the index with a {@code switch}. {@code MutableAccessorStrategy} adds {@code set}.
+ */
+public class AccessorStrategy implements GenerationStrategy {
+
+    private static final String NAMES = "NAMES";
+
+    @Inject
+    AccessorStrategy() {}
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (source.getAnnotation(Accessor.class) != null) {
+            model.getTypes().add(accessor(source, model).build());
+        }
+    }
+
+    /**
+     * The {@code Accessor} with everything but {@code set}, for the caller to complete and add to the model.
+     */
+    public static TypeSpec.Builder accessor(TypeElement source, ClassModel model) {
+        ClassName sourceType = ClassName.get(source);
+        ClassName self = ClassStructureStrategy.className(source, model);
+        List<Property> properties = model.getProperties();
+        TypeName strings = ArrayTypeName.of(String.class);
+
+        MethodSpec.Builder indexOf = MethodSpec.methodBuilder("indexOf")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(TypeName.INT)
+                .addParameter(String.class, "name")
+                .beginControlFlow("switch (name)");
+        MethodSpec.Builder get = MethodSpec.methodBuilder("get")
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                .returns(Object.class)
+                .addParameter(sourceType, "instance")
+                .addParameter(TypeName.INT, "index")
+                .beginControlFlow("switch (index)");
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            indexOf.addCode("case $S:\n$>", property.getFieldName())
+                    .addStatement("return $L", i)
+                    .addCode("$<");
+            get.addCode("case $L:\n$>", i)
+                    .addStatement("return instance.$N()", property.getGetterName())
+                    .addCode("$<");
+        }
+        indexOf.addCode("default:\n$>").addStatement("return -1").addCode("$<").endControlFlow();
+        get.addCode("default:\n$>").addStatement(outOfRange()).addCode("$<").endControlFlow();
+
+        return TypeSpec.classBuilder(self.nestedClass(Accessor.class.getSimpleName()))
+                .addModifiers(Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                .addField(FieldSpec.builder(strings, NAMES, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+                        .initializer(
+                                "{$L}",
+                                CodeBlock.join(
+                                        properties.stream()
+                                                .map(property -> CodeBlock.of("$S", property.getFieldName()))
+                                                .collect(Collectors.toList()),
+                                        ", "))
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder()
+                        .addModifiers(Modifier.PRIVATE)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("size")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(TypeName.INT)
+                        .addStatement("return $L", properties.size())
+                        .build())
+                // a public array could be modified by any caller
+                .addMethod(MethodSpec.methodBuilder("names")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(strings)
+                        .addStatement("return $N.clone()", NAMES)
+                        .build())
+                .addMethod(MethodSpec.methodBuilder("name")
+                        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+                        .returns(String.class)
+                        .addParameter(TypeName.INT, "index")
+                        .addStatement("return $N[index]", NAMES)
+                        .build())
+                .addMethod(indexOf.build())
+                .addMethod(get.build());
+    }
+
+    /** The statement rejecting an unknown {@code index} in the default branch of a {@code switch}. */
+    public static CodeBlock outOfRange() {
+        return CodeBlock.of("throw new $T($S + index)", IndexOutOfBoundsException.class, "No property at index ");
+    }
+}
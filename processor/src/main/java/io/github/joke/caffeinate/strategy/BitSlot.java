@@ -0,0 +1,43 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.TypeName;
+
+/**
+ * A single bit in one of the {@code int} or {@code long} bit words of a generated class.
+ */
+public class BitSlot {
+
+    private final String word;
+    private final TypeName wordType;
+    private final int bit;
+
+    public BitSlot(String word, TypeName wordType, int bit) {
+        this.word = word;
+        this.wordType = wordType;
+        this.bit = bit;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public TypeName getWordType() {
+        return wordType;
+    }
+
+    public int getBit() {
+        return bit;
+    }
+
+    public CodeBlock mask() {
+        if (wordType.equals(TypeName.LONG)) {
+            return CodeBlock.of("0x$LL", Long.toHexString(1L << bit));
+        }
+        return CodeBlock.of("0x$L", Integer.toHexString(1 << bit));
+    }
+
+    public CodeBlock isSet(String target) {
+        return CodeBlock.of("($L.$N & $L) != 0", target, word, mask());
+    }
+}
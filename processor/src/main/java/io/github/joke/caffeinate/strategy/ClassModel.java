@@ -3,8 +3,12 @@ package io.github.joke.caffeinate.strategy;
 import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeSpec;
+import io.github.joke.caffeinate.customize.Concurrent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
 import org.jspecify.annotations.Nullable;
@@ -16,10 +20,16 @@ public class ClassModel {
     private final List<Modifier> modifiers = new ArrayList<>();
     private final List<TypeName> superinterfaces = new ArrayList<>();
     private @Nullable TypeName superclass = null;
-    private final List<Property> properties = new ArrayList<>();
-    private final List<FieldSpec> fields = new ArrayList<>();
-    private final List<MethodSpec> methods = new ArrayList<>();
+    private final PropertyList properties = new PropertyList();
+    private final Map<String, Integer> propertyIndex = new HashMap<>();
+    private int indexedModifications = -1;
+    private final ArrayList<FieldSpec> fields = new ArrayList<>();
+    private final ArrayList<MethodSpec> methods = new ArrayList<>();
+    private final List<TypeSpec> types = new ArrayList<>();
     private final List<ExecutableElement> declaredSetters = new ArrayList<>();
+    private final List<String> bitWords = new ArrayList<>();
+    private TypeName bitWordType = TypeName.INT;
+    private Concurrent.@Nullable Access concurrentAccess = null;
 
     public String getClassName() {
         return className;
@@ -57,6 +67,32 @@ public class ClassModel {
         return properties;
     }
 
+    /**
+     * The property with the given field name, or {@code null} if there is none. The name index is rebuilt when the
+     * property list was changed in any way since the last lookup.
+     */
+    public @Nullable Property findProperty(String fieldName) {
+        if (indexedModifications != properties.modifications()) {
+            propertyIndex.clear();
+            for (int i = 0; i < properties.size(); i++) {
+                propertyIndex.putIfAbsent(properties.get(i).getFieldName(), i);
+            }
+            indexedModifications = properties.modifications();
+        }
+        Integer index = propertyIndex.get(fieldName);
+        return index == null ? null : properties.get(index);
+    }
+
+    /**
+     * Grows the member lists for the discovered properties before generation, which adds about one field and two
+     * methods per property.
+     */
+    public void presize() {
+        int count = properties.size();
+        fields.ensureCapacity(count + 4);
+        methods.ensureCapacity(2 * count + 8);
+    }
+
     public List<FieldSpec> getFields() {
         return fields;
     }
@@ -65,7 +101,51 @@ public class ClassModel {
         return methods;
     }
 
+    public List<TypeSpec> getTypes() {
+        return types;
+    }
+
     public List<ExecutableElement> getDeclaredSetters() {
         return declaredSetters;
     }
+
+    public List<String> getBitWords() {
+        return bitWords;
+    }
+
+    public TypeName getBitWordType() {
+        return bitWordType;
+    }
+
+    public void setBitWordType(TypeName bitWordType) {
+        this.bitWordType = bitWordType;
+    }
+
+    /**
+     * The memory ordering of field accesses when the type is {@code @Concurrent}, otherwise {@code null} for plain
+     * field access.
+     */
+    public Concurrent.@Nullable Access getConcurrentAccess() {
+        return concurrentAccess;
+    }
+
+    public void setConcurrentAccess(Concurrent.Access concurrentAccess) {
+        this.concurrentAccess = concurrentAccess;
+    }
+
+    /** A property list that counts every change, including replacing an element, to invalidate the name index. */
+    private static final class PropertyList extends ArrayList<Property> {
+
+        private static final long serialVersionUID = 1L;
+
+        int modifications() {
+            return modCount;
+        }
+
+        @Override
+        public Property set(int index, Property element) {
+            modCount++;
+            return super.set(index, element);
+        }
+    }
 }
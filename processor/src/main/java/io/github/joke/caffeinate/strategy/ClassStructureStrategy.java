@@ -11,6 +11,11 @@ public class ClassStructureStrategy implements GenerationStrategy {
     @Inject
     ClassStructureStrategy() {}
 
+    @Override
+    public int order() {
+        return STRUCTURE;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
         model.setClassName(source.getSimpleName() + "Impl");
@@ -21,4 +26,12 @@ public class ClassStructureStrategy implements GenerationStrategy {
             model.setSuperclass(ClassName.get(source));
         }
     }
+
+    /**
+     * The generated class as named in the model. Strategies that call this must declare {@link #runsAfter()} on
+     * {@code ClassStructureStrategy} so that the name has been set.
+     */
+    public static ClassName className(TypeElement source, ClassModel model) {
+        return ClassName.get(ClassName.get(source).packageName(), model.getClassName());
+    }
 }
@@ -0,0 +1,77 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
+import io.github.joke.caffeinate.customize.Concurrent;
+
+/**
+ * Emits the {@code VarHandle} operations used for the fields of {@code @Concurrent} types. Each property has a
+ * {@code static final VarHandle} named after its field in upper snake case.
+ */
+public final class ConcurrentAccess {
+
+    private ConcurrentAccess() {}
+
+    public static String handleName(Property property) {
+        return PropertyUtils.constantNameForField(property.getFieldName());
+    }
+
+    /**
+     * An expression of the declared type reading the property of {@code this} with the given ordering.
+     */
+    public static CodeBlock read(Property property, Concurrent.Access access) {
+        return CodeBlock.of(
+                "($T) $N.$L(this)", property.getType().withoutAnnotations(), handleName(property), getter(access));
+    }
+
+    /**
+     * The statement storing {@code value} into the property of {@code this} with the given ordering.
+     */
+    public static CodeBlock write(Property property, Concurrent.Access access, CodeBlock value) {
+        return CodeBlock.builder()
+                .addStatement("$N.$L(this, $L)", handleName(property), setter(access), value)
+                .build();
+    }
+
+    /**
+     * The erasure of the field type, as required by {@code findVarHandle}.
+     */
+    public static TypeName erasure(TypeName type) {
+        TypeName plain = type.withoutAnnotations();
+        if (plain instanceof ParameterizedTypeName) {
+            return ((ParameterizedTypeName) plain).rawType();
+        } else if (plain instanceof ArrayTypeName) {
+            return ArrayTypeName.of(erasure(((ArrayTypeName) plain).componentType()));
+        } else if (plain instanceof TypeVariableName) {
+            TypeVariableName variable = (TypeVariableName) plain;
+            return variable.bounds().isEmpty() ? ClassName.OBJECT : erasure(variable.bounds().get(0));
+        }
+        return plain;
+    }
+
+    private static String getter(Concurrent.Access access) {
+        switch (access) {
+            case ACQUIRE_RELEASE:
+                return "getAcquire";
+            case OPAQUE:
+                return "getOpaque";
+            default:
+                return "getVolatile";
+        }
+    }
+
+    private static String setter(Concurrent.Access access) {
+        switch (access) {
+            case ACQUIRE_RELEASE:
+                return "setRelease";
+            case OPAQUE:
+                return "setOpaque";
+            default:
+                return "setVolatile";
+        }
+    }
+}
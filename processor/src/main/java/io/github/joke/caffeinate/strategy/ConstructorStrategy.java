@@ -1,36 +1,119 @@
 package io.github.joke.caffeinate.strategy;
 
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
 import com.palantir.javapoet.MethodSpec;
 import com.palantir.javapoet.ParameterSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.customize.Intern;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import javax.inject.Inject;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 
+/**
+ * Generates the all-args constructor. Types without properties get a no-args constructor and a shared
+ * {@code INSTANCE}, the preferred way to obtain one since all their instances are equal. The constructor stays public
+ * for existing callers and is private for {@code @Intern} types.
+ *
+ * <p>The constructor stores copies of collection and array arguments, but keeps collections that cannot change, see
+ * {@link PropertyAccess#addCopyMethods}. Unless instances are interned, it then delegates to a private constructor
+ * with a trailing {@code boolean} that stores its arguments as they are, so that withers can share the copies of the
+ * unchanged properties.
+ */
 public class ConstructorStrategy implements GenerationStrategy {
 
+    public static final String INSTANCE = "INSTANCE";
+
     @Inject
     ConstructorStrategy() {}
 
+    @Override
+    public int order() {
+        return CONSTRUCTORS;
+    }
+
+    @Override
+    public Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of(ClassStructureStrategy.class);
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
         if (model.getProperties().isEmpty()) {
+            generateSingleton(source, model);
             return;
         }
 
-        MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(Modifier.PUBLIC);
+        // interned instances are only created through the generated factory
+        Modifier visibility = source.getAnnotation(Intern.class) != null ? Modifier.PRIVATE : Modifier.PUBLIC;
+        MethodSpec.Builder constructor = constructor(model).addModifiers(visibility);
+        if (sharesCopies(source, model)) {
+            generateSharing(source, model, constructor);
+        } else {
+            if (source.getKind() != ElementKind.INTERFACE) {
+                constructor.addStatement("super()");
+            }
+            model.getMethods().add(constructor.addCode(PropertyAccess.initialize(model, true)).build());
+        }
+        PropertyAccess.addCopyMethods(model);
+    }
+
+    private static void generateSharing(TypeElement source, ClassModel model, MethodSpec.Builder constructor) {
+        List<CodeBlock> copies = new ArrayList<>(model.getProperties().size());
+        for (Property property : model.getProperties()) {
+            copies.add(PropertyAccess.copy(property, CodeBlock.of("$N", property.getFieldName())));
+        }
+        model.getMethods().add(constructor.addStatement("this($L, true)", CodeBlock.join(copies, ", ")).build());
 
+        MethodSpec.Builder sharing = constructor(model)
+                .addModifiers(Modifier.PRIVATE)
+                .addParameter(TypeName.BOOLEAN, "copied");
         if (source.getKind() != ElementKind.INTERFACE) {
-            constructor.addStatement("super()");
+            sharing.addStatement("super()");
         }
+        model.getMethods().add(sharing.addCode(PropertyAccess.initialize(model, false)).build());
+    }
 
+    /**
+     * Whether the private constructor that stores already copied arguments exists. It is called with the arguments
+     * followed by {@code true}.
+     */
+    public static boolean sharesCopies(TypeElement source, ClassModel model) {
+        return source.getAnnotation(Intern.class) == null
+                && model.getProperties().stream().anyMatch(PropertyAccess::isCopied);
+    }
+
+    private static MethodSpec.Builder constructor(ClassModel model) {
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder();
         for (Property property : model.getProperties()) {
             ParameterSpec.Builder param = ParameterSpec.builder(property.getType(), property.getFieldName());
             property.getAnnotations().forEach(param::addAnnotation);
             constructor.addParameter(param.build());
-            constructor.addStatement("this.$N = $N", property.getFieldName(), property.getFieldName());
         }
+        return constructor;
+    }
 
+    private static void generateSingleton(TypeElement source, ClassModel model) {
+        Modifier visibility = source.getAnnotation(Intern.class) != null ? Modifier.PRIVATE : Modifier.PUBLIC;
+        MethodSpec.Builder constructor = MethodSpec.constructorBuilder().addModifiers(visibility);
+        if (visibility == Modifier.PUBLIC) {
+            // kept for callers written before INSTANCE existed; not deprecated, which would fail -Werror builds
+            constructor.addJavadoc("Prefer {@link #$N}, all instances are equal.\n", INSTANCE);
+        }
+        if (source.getKind() != ElementKind.INTERFACE) {
+            constructor.addStatement("super()");
+        }
         model.getMethods().add(constructor.build());
+
+        ClassName self = ClassStructureStrategy.className(source, model);
+        model.getFields()
+                .add(FieldSpec.builder(self, INSTANCE, Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("new $T()", self)
+                        .build());
     }
 }
@@ -10,13 +10,24 @@ public class FieldStrategy implements GenerationStrategy {
     @Inject
     FieldStrategy() {}
 
+    @Override
+    public int order() {
+        return FIELDS;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
         for (Property property : model.getProperties()) {
-            FieldSpec.Builder field =
-                    FieldSpec.builder(property.getType(), property.getFieldName(), Modifier.PRIVATE, Modifier.FINAL);
-            property.getAnnotations().forEach(field::addAnnotation);
+            if (!property.hasField()) {
+                continue;
+            }
+            FieldSpec.Builder field = FieldSpec.builder(
+                    property.getFieldType(), property.getFieldName(), Modifier.PRIVATE, Modifier.FINAL);
+            if (property.getStorage() == Storage.DIRECT) {
+                property.getAnnotations().forEach(field::addAnnotation);
+            }
             model.getFields().add(field.build());
         }
+        model.getFields().addAll(PropertyAccess.bitWordFields(model, Modifier.PRIVATE, Modifier.FINAL));
     }
 }
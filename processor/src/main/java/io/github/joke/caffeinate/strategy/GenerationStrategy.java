@@ -1,7 +1,41 @@
 package io.github.joke.caffeinate.strategy;
 
+import java.util.Set;
 import javax.lang.model.element.TypeElement;
 
 public interface GenerationStrategy {
+
+    /** The {@link #order()} of strategies that name the class and set its supertypes. */
+    int STRUCTURE = -500;
+
+    /** The {@link #order()} of strategies that declare the property fields. */
+    int FIELDS = -400;
+
+    /** The {@link #order()} of strategies that generate constructors. */
+    int CONSTRUCTORS = -300;
+
+    /** The {@link #order()} of strategies that generate getters and setters. */
+    int ACCESSORS = -200;
+
+    /** The {@link #order()} of strategies that generate {@code equals}, {@code hashCode} and {@code toString}. */
+    int OBJECT_METHODS = -100;
+
     void generate(TypeElement source, ClassModel model);
+
+    /**
+     * The position of this strategy within its phase. Lower values run first; strategies with equal values run in
+     * the order of their class names. Members appear in the generated source in the order they are added, so the
+     * strategies that lay out the class use the constants above and all others run after them.
+     */
+    default int order() {
+        return 0;
+    }
+
+    /**
+     * Strategies of the same phase that must run before this one regardless of {@link #order()}, because this
+     * strategy builds on what they put into the model. Strategies that are not part of the phase are ignored.
+     */
+    default Set<Class<? extends GenerationStrategy>> runsAfter() {
+        return Set.of();
+    }
 }
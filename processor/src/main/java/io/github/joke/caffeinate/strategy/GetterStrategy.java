@@ -1,6 +1,7 @@
 package io.github.joke.caffeinate.strategy;
 
 import com.palantir.javapoet.MethodSpec;
+import io.github.joke.caffeinate.customize.Concurrent;
 import javax.inject.Inject;
 import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
@@ -10,14 +11,24 @@ public class GetterStrategy implements GenerationStrategy {
     @Inject
     GetterStrategy() {}
 
+    @Override
+    public int order() {
+        return ACCESSORS;
+    }
+
     @Override
     public void generate(TypeElement source, ClassModel model) {
+        Concurrent.Access access = model.getConcurrentAccess();
         for (Property property : model.getProperties()) {
             MethodSpec.Builder getter = MethodSpec.methodBuilder(property.getGetterName())
                     .addAnnotation(Override.class)
                     .addModifiers(Modifier.PUBLIC)
                     .returns(property.getType())
-                    .addStatement("return this.$N", property.getFieldName());
+                    .addStatement(
+                            "return $L",
+                            access == null
+                                    ? PropertyAccess.read(property, "this")
+                                    : ConcurrentAccess.read(property, access));
             property.getAnnotations().forEach(getter::addAnnotation);
             model.getMethods().add(getter.build());
         }
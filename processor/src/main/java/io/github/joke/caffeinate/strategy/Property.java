@@ -1,8 +1,10 @@
 package io.github.joke.caffeinate.strategy;
 
 import com.palantir.javapoet.AnnotationSpec;
+import com.palantir.javapoet.ClassName;
 import com.palantir.javapoet.TypeName;
 import java.util.List;
+import org.jspecify.annotations.Nullable;
 
 public class Property {
 
@@ -10,12 +12,36 @@ public class Property {
     private final TypeName type;
     private final String getterName;
     private final List<AnnotationSpec> annotations;
+    private final Storage storage;
+    private final TypeName fieldType;
+    private final @Nullable BitSlot bitSlot;
+    private final boolean nullable;
 
     public Property(String fieldName, TypeName type, String getterName, List<AnnotationSpec> annotations) {
+        this(fieldName, type, getterName, annotations, Storage.DIRECT, type, null);
+    }
+
+    private Property(
+            String fieldName,
+            TypeName type,
+            String getterName,
+            List<AnnotationSpec> annotations,
+            Storage storage,
+            TypeName fieldType,
+            @Nullable BitSlot bitSlot) {
         this.fieldName = fieldName;
         this.type = type;
         this.getterName = getterName;
         this.annotations = List.copyOf(annotations);
+        this.storage = storage;
+        this.fieldType = fieldType;
+        this.bitSlot = bitSlot;
+        this.nullable = this.annotations.stream().anyMatch(annotation -> annotation.type() instanceof ClassName
+                && ((ClassName) annotation.type()).simpleName().equals("Nullable"));
+    }
+
+    public Property withStorage(Storage storage, TypeName fieldType, @Nullable BitSlot bitSlot) {
+        return new Property(fieldName, type, getterName, annotations, storage, fieldType, bitSlot);
     }
 
     public String getFieldName() {
@@ -33,4 +59,24 @@ public class Property {
     public List<AnnotationSpec> getAnnotations() {
         return annotations;
     }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public TypeName getFieldType() {
+        return fieldType;
+    }
+
+    public @Nullable BitSlot getBitSlot() {
+        return bitSlot;
+    }
+
+    public boolean hasField() {
+        return storage != Storage.PACKED;
+    }
+
+    public boolean isNullable() {
+        return nullable;
+    }
 }
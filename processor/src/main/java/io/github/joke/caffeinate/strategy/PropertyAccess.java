@@ -0,0 +1,287 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.FieldSpec;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import com.palantir.javapoet.TypeVariableName;
+import com.palantir.javapoet.WildcardTypeName;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.lang.model.element.Modifier;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Emits the code that converts between the declared type of a {@link Property} and its {@link Storage}. Strategies
+ * that read or write properties go through these helpers instead of accessing the field directly.
+ */
+public final class PropertyAccess {
+
+    private PropertyAccess() {}
+
+    /**
+     * An expression of the declared type reading the property from {@code target}. Conditional reads are
+     * parenthesized, so the expression can be embedded as an operand.
+     */
+    public static CodeBlock read(Property property, String target) {
+        CodeBlock field = CodeBlock.of("$L.$N", target, property.getFieldName());
+        switch (property.getStorage()) {
+            case NULLABLE_UNBOXED:
+                return CodeBlock.of(
+                        "($L ? $T.valueOf($L) : null)",
+                        requireSlot(property).isSet(target),
+                        property.getType().withoutAnnotations(),
+                        field);
+            case OPTIONAL:
+                TypeName optional = property.getType().withoutAnnotations();
+                ClassName raw = optional instanceof ParameterizedTypeName
+                        ? ((ParameterizedTypeName) optional).rawType()
+                        : (ClassName) optional;
+                return CodeBlock.of(
+                        "($L ? $T.of($L) : $T.empty())", requireSlot(property).isSet(target), raw, field, raw);
+            case PACKED:
+                return CodeBlock.of("($L)", requireSlot(property).isSet(target));
+            default:
+                return field;
+        }
+    }
+
+    /**
+     * Statements storing the declared-type {@code value} into the property of {@code this}, for use in setters.
+     */
+    public static CodeBlock write(Property property, CodeBlock value) {
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (property.hasField()) {
+            code.addStatement("this.$N = $L", property.getFieldName(), fieldValue(property, value));
+        }
+        BitSlot slot = property.getBitSlot();
+        if (slot != null) {
+            code.addStatement(
+                    "this.$1N = $2L ? this.$1N | $3L : this.$1N & ~$3L",
+                    slot.getWord(),
+                    bitValue(property, value),
+                    slot.mask());
+        }
+        return code.build();
+    }
+
+    /**
+     * Statements initializing every property of {@code this} from the constructor parameters of the same name. Each
+     * bit word is assigned exactly once, so the fields may be {@code final}. With {@code defensiveCopies}, collection
+     * and array parameters are stored as copies, see {@link #copy}.
+     */
+    public static CodeBlock initialize(ClassModel model, boolean defensiveCopies) {
+        CodeBlock.Builder code = CodeBlock.builder();
+        Map<String, List<CodeBlock>> words = new LinkedHashMap<>();
+        for (Property property : model.getProperties()) {
+            CodeBlock value = CodeBlock.of("$N", property.getFieldName());
+            if (defensiveCopies) {
+                value = copy(property, value);
+            }
+            if (property.hasField()) {
+                code.addStatement("this.$N = $L", property.getFieldName(), fieldValue(property, value));
+            }
+            BitSlot slot = property.getBitSlot();
+            if (slot != null) {
+                words.computeIfAbsent(slot.getWord(), word -> new ArrayList<>())
+                        .add(CodeBlock.of(
+                                "($L ? $L : $L)", bitValue(property, value), slot.mask(), zero(slot.getWordType())));
+            }
+        }
+        words.forEach((word, bits) -> code.addStatement("this.$N = $L", word, CodeBlock.join(bits, "$W| ")));
+        return code.build();
+    }
+
+    /**
+     * An expression copying {@code value} if the property is a {@code List}, {@code Set}, {@code Map} or an array, and
+     * {@code value} itself otherwise. Collections go through the methods added by {@link #addCopyMethods}, arrays are
+     * cloned.
+     */
+    public static CodeBlock copy(Property property, CodeBlock value) {
+        TypeName type = property.getType().withoutAnnotations();
+        CodeBlock copy;
+        if (type instanceof ArrayTypeName) {
+            copy = CodeBlock.of("$L.clone()", value);
+        } else {
+            CollectionKind kind = CollectionKind.of(type);
+            if (kind == null) {
+                return value;
+            }
+            copy = CodeBlock.of("$N($L)", kind.method, value);
+        }
+        return property.isNullable() ? CodeBlock.of("$L != null ? $L : null", value, copy) : copy;
+    }
+
+    /**
+     * Whether {@link #copy} copies values of the property.
+     */
+    public static boolean isCopied(Property property) {
+        TypeName type = property.getType().withoutAnnotations();
+        return type instanceof ArrayTypeName || CollectionKind.of(type) != null;
+    }
+
+    /**
+     * Adds a static copy method for each kind of collection property, which {@link #copy} calls. A copy is an
+     * {@code ArrayList}, {@code LinkedHashSet} or {@code LinkedHashMap} behind an unmodifiable view, which keeps the
+     * caller's iteration order and {@code null} elements. Arguments that cannot change are returned as they are:
+     * {@code List.of}, {@code Set.of} and {@code Map.of} results, empty collections, and unmodifiable views of the
+     * copy's class, which is what getters of generated instances return.
+     */
+    public static void addCopyMethods(ClassModel model) {
+        Set<CollectionKind> kinds = EnumSet.noneOf(CollectionKind.class);
+        for (Property property : model.getProperties()) {
+            CollectionKind kind = CollectionKind.of(property.getType().withoutAnnotations());
+            if (kind != null) {
+                kinds.add(kind);
+            }
+        }
+        for (CollectionKind kind : kinds) {
+            model.getFields()
+                    .add(FieldSpec.builder(
+                                    ArrayTypeName.of(ParameterizedTypeName.get(
+                                            ClassName.get(Class.class), WildcardTypeName.subtypeOf(Object.class))),
+                                    kind.shared,
+                                    Modifier.PRIVATE,
+                                    Modifier.STATIC,
+                                    Modifier.FINAL)
+                            .initializer("{$L}", kind.sharedClasses())
+                            .build());
+            model.getMethods().add(kind.copyMethod());
+        }
+    }
+    /**
+     * The bit word fields of the model, if any.
+     */
+    public static List<FieldSpec> bitWordFields(ClassModel model, Modifier... modifiers) {
+        List<FieldSpec> fields = new ArrayList<>(model.getBitWords().size());
+        for (String word : model.getBitWords()) {
+            fields.add(FieldSpec.builder(model.getBitWordType(), word, modifiers).build());
+        }
+        return fields;
+    }
+
+    private static CodeBlock fieldValue(Property property, CodeBlock value) {
+        switch (property.getStorage()) {
+            case NULLABLE_UNBOXED:
+                return CodeBlock.of("$L != null ? $L : $L", value, value, zero(property.getFieldType()));
+            case OPTIONAL:
+                return CodeBlock.of("$L.orElse($L)", value, zero(property.getFieldType()));
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * Whether the bit of the property is set for {@code value}: presence for nullable values and optionals, the value
+     * itself for packed booleans.
+     */
+    private static CodeBlock bitValue(Property property, CodeBlock value) {
+        switch (property.getStorage()) {
+            case OPTIONAL:
+                return CodeBlock.of("$L.isPresent()", value);
+            case PACKED:
+                return value;
+            default:
+                return CodeBlock.of("$L != null", value);
+        }
+    }
+
+    /** The collection types that {@link #copy} copies, with the names of their generated members. */
+    private enum CollectionKind {
+        LIST(List.class, ArrayList.class, "unmodifiableList", "copyList", "SHARED_LISTS"),
+        SET(Set.class, LinkedHashSet.class, "unmodifiableSet", "copySet", "SHARED_SETS"),
+        MAP(Map.class, LinkedHashMap.class, "unmodifiableMap", "copyMap", "SHARED_MAPS");
+
+        final Class<?> type;
+        final Class<?> copyType;
+        final String wrapper;
+        final String method;
+        final String shared;
+
+        CollectionKind(Class<?> type, Class<?> copyType, String wrapper, String method, String shared) {
+            this.type = type;
+            this.copyType = copyType;
+            this.wrapper = wrapper;
+            this.method = method;
+            this.shared = shared;
+        }
+
+        static @Nullable CollectionKind of(TypeName type) {
+            if (type instanceof ParameterizedTypeName) {
+                ClassName raw = ((ParameterizedTypeName) type).rawType();
+                for (CollectionKind kind : values()) {
+                    if (ClassName.get(kind.type).equals(raw)) {
+                        return kind;
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * The class of the copy's view, of the empty collection, and of the {@code of} collections, which use one
+         * class for no elements and another for few elements.
+         */
+        CodeBlock sharedClasses() {
+            return CodeBlock.join(
+                    List.of(
+                            CodeBlock.of("$T.$N(new $T<>()).getClass()", Collections.class, wrapper, copyType),
+                            CodeBlock.of("$T.$N().getClass()", Collections.class, "empty" + type.getSimpleName()),
+                            CodeBlock.of("$T.of().getClass()", type),
+                            CodeBlock.of("$T.of($L).getClass()", type, this == MAP ? "0, 0" : "0")),
+                    ",$W");
+        }
+
+        MethodSpec copyMethod() {
+            List<TypeVariableName> variables = this == MAP
+                    ? List.of(TypeVariableName.get("K"), TypeVariableName.get("V"))
+                    : List.of(TypeVariableName.get("E"));
+            TypeName collection = ParameterizedTypeName.get(ClassName.get(type), variables.toArray(new TypeName[0]));
+            return MethodSpec.methodBuilder(method)
+                    .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                    .addTypeVariables(variables)
+                    .returns(collection)
+                    .addParameter(collection, "value")
+                    .addStatement("$T<?> type = value.getClass()", Class.class)
+                    .beginControlFlow("for ($T<?> shared : $N)", Class.class, shared)
+                    .beginControlFlow("if (type == shared)")
+                    .addStatement("return value")
+                    .endControlFlow()
+                    .endControlFlow()
+                    .addStatement("return $T.$N(new $T<>(value))", Collections.class, wrapper, copyType)
+                    .build();
+        }
+    }
+
+    private static BitSlot requireSlot(Property property) {
+        BitSlot slot = property.getBitSlot();
+        if (slot == null) {
+            throw new IllegalStateException("No presence bit assigned to " + property.getFieldName());
+        }
+        return slot;
+    }
+
+    private static CodeBlock zero(TypeName primitive) {
+        if (primitive.equals(TypeName.BOOLEAN)) {
+            return CodeBlock.of("false");
+        } else if (primitive.equals(TypeName.LONG)) {
+            return CodeBlock.of("0L");
+        } else if (primitive.equals(TypeName.FLOAT)) {
+            return CodeBlock.of("0.0f");
+        } else if (primitive.equals(TypeName.DOUBLE)) {
+            return CodeBlock.of("0.0d");
+        } else if (primitive.equals(TypeName.INT)) {
+            return CodeBlock.of("0");
+        }
+        return CodeBlock.of("($T) 0", primitive);
+    }
+}
@@ -11,22 +11,30 @@ public class PropertyDiscoveryStrategy implements GenerationStrategy {
 
     private final Messager messager;
     private final TypeHierarchyResolver resolver;
+    private final PropertyLayout layout;
+    private final TypeNameCache typeNames;
 
     @Inject
-    PropertyDiscoveryStrategy(Messager messager, TypeHierarchyResolver resolver) {
+    PropertyDiscoveryStrategy(
+            Messager messager, TypeHierarchyResolver resolver, PropertyLayout layout, TypeNameCache typeNames) {
         this.messager = messager;
         this.resolver = resolver;
+        this.layout = layout;
+        this.typeNames = typeNames;
     }
 
     @Override
     public void generate(TypeElement source, ClassModel model) {
         for (ExecutableElement method : resolver.getAllAbstractMethods(source)) {
-            if (PropertyUtils.isGetterMethod(method)) {
-                model.getProperties().add(PropertyUtils.extractProperty(method));
+            String name = method.getSimpleName().toString();
+            if (PropertyUtils.isGetterMethod(method, name)) {
+                model.getProperties()
+                        .add(PropertyUtils.extractProperty(method, name, typeNames.get(method.getReturnType())));
             } else {
                 reportError(method, model);
             }
         }
+        layout.apply(source, model);
     }
 
     private void reportError(ExecutableElement method, ClassModel model) {
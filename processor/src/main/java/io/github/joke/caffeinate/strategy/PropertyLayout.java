@@ -0,0 +1,114 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.ParameterizedTypeName;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.customize.Layout;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.inject.Inject;
+import javax.lang.model.element.TypeElement;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Assigns the {@link Storage} of every discovered property according to {@link Layout}. Presence bits and packed
+ * booleans are numbered in declaration order; the bits are held in a single {@code int} when they fit, otherwise in
+ * {@code long} words.
+ */
+public class PropertyLayout {
+
+    private static final Map<TypeName, TypeName> PRIMITIVE_OPTIONALS = Map.of(
+            ClassName.get(OptionalInt.class), TypeName.INT,
+            ClassName.get(OptionalLong.class), TypeName.LONG,
+            ClassName.get(OptionalDouble.class), TypeName.DOUBLE);
+    private static final ClassName OPTIONAL = ClassName.get(Optional.class);
+
+    @Inject
+    PropertyLayout() {}
+
+    public void apply(TypeElement source, ClassModel model) {
+        Layout layout = source.getAnnotation(Layout.class);
+        if (layout == null || !(layout.unboxed() || layout.packBooleans())) {
+            return;
+        }
+
+        List<Property> properties = model.getProperties();
+        Storage[] storages = new Storage[properties.size()];
+        TypeName[] fieldTypes = new TypeName[properties.size()];
+        int bits = 0;
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            TypeName type = property.getType().withoutAnnotations();
+            TypeName primitive = layout.unboxed() ? unboxedOptional(type) : null;
+            if (layout.packBooleans() && isPackable(layout, type, property)) {
+                storages[i] = Storage.PACKED;
+                fieldTypes[i] = TypeName.BOOLEAN;
+                bits++;
+            } else if (primitive != null && !property.isNullable()) {
+                storages[i] = Storage.OPTIONAL;
+                fieldTypes[i] = primitive;
+                bits++;
+            } else if (layout.unboxed() && type.isBoxedPrimitive()) {
+                storages[i] = property.isNullable() ? Storage.NULLABLE_UNBOXED : Storage.UNBOXED;
+                fieldTypes[i] = type.unbox();
+                bits += property.isNullable() ? 1 : 0;
+            } else {
+                storages[i] = Storage.DIRECT;
+                fieldTypes[i] = property.getType();
+            }
+        }
+
+        TypeName wordType = bits <= Integer.SIZE ? TypeName.INT : TypeName.LONG;
+        int wordSize = bits <= Integer.SIZE ? Integer.SIZE : Long.SIZE;
+        Set<String> fieldNames = properties.stream().map(Property::getFieldName).collect(Collectors.toSet());
+        model.setBitWordType(wordType);
+
+        int bit = 0;
+        for (int i = 0; i < properties.size(); i++) {
+            BitSlot slot = null;
+            if (storages[i] != Storage.DIRECT && storages[i] != Storage.UNBOXED) {
+                int index = bit / wordSize;
+                if (index == model.getBitWords().size()) {
+                    model.getBitWords().add(wordName(fieldNames, index));
+                }
+                slot = new BitSlot(model.getBitWords().get(index), wordType, bit % wordSize);
+                bit++;
+            }
+            properties.set(i, properties.get(i).withStorage(storages[i], fieldTypes[i], slot));
+        }
+    }
+
+    private static boolean isPackable(Layout layout, TypeName type, Property property) {
+        return type.equals(TypeName.BOOLEAN)
+                || (layout.unboxed() && type.equals(TypeName.BOOLEAN.box()) && !property.isNullable());
+    }
+
+    private static @Nullable TypeName unboxedOptional(TypeName type) {
+        TypeName primitive = PRIMITIVE_OPTIONALS.get(type);
+        if (primitive != null) {
+            return primitive;
+        }
+        if (type instanceof ParameterizedTypeName) {
+            ParameterizedTypeName parameterized = (ParameterizedTypeName) type;
+            TypeName argument = parameterized.typeArguments().get(0).withoutAnnotations();
+            if (parameterized.rawType().equals(OPTIONAL) && argument.isBoxedPrimitive()) {
+                return argument.unbox();
+            }
+        }
+        return null;
+    }
+
+    private static String wordName(Set<String> fieldNames, int index) {
+        String name = "bits" + index;
+        while (fieldNames.contains(name)) {
+            name += "$";
+        }
+        return name;
+    }
+}
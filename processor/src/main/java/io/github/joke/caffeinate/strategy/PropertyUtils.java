@@ -2,57 +2,116 @@ package io.github.joke.caffeinate.strategy;
 
 import com.palantir.javapoet.AnnotationSpec;
 import com.palantir.javapoet.TypeName;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.type.TypeKind;
+import org.jspecify.annotations.Nullable;
 
 public final class PropertyUtils {
 
     private PropertyUtils() {}
 
     public static boolean isGetterMethod(ExecutableElement method) {
-        if (!method.getParameters().isEmpty()) {
-            return false;
-        }
-        if (method.getReturnType().getKind() == TypeKind.VOID) {
-            return false;
-        }
-        String name = method.getSimpleName().toString();
-        return (name.startsWith("get") && name.length() > 3) || (name.startsWith("is") && name.length() > 2);
+        return isGetterMethod(method, method.getSimpleName().toString());
+    }
+
+    /**
+     * Same as {@link #isGetterMethod(ExecutableElement)} for a caller that already holds the simple name.
+     */
+    public static boolean isGetterMethod(ExecutableElement method, String name) {
+        return method.getParameters().isEmpty()
+                && method.getReturnType().getKind() != TypeKind.VOID
+                && fieldNameOfGetter(name) != null;
     }
 
     public static boolean isSetterMethod(ExecutableElement method) {
-        String name = method.getSimpleName().toString();
+        return isSetterMethod(method, method.getSimpleName().toString());
+    }
+
+    /**
+     * Same as {@link #isSetterMethod(ExecutableElement)} for a caller that already holds the simple name.
+     */
+    public static boolean isSetterMethod(ExecutableElement method, String name) {
         return method.getParameters().size() == 1
                 && method.getReturnType().getKind() == TypeKind.VOID
-                && name.startsWith("set")
-                && name.length() > 3;
+                && fieldNameOfSetter(name) != null;
     }
 
     public static Property extractProperty(ExecutableElement method) {
-        String methodName = method.getSimpleName().toString();
-        String fieldName;
+        return extractProperty(method, method.getSimpleName().toString(), TypeName.get(method.getReturnType()));
+    }
 
-        if (methodName.startsWith("get") && methodName.length() > 3) {
-            fieldName = Character.toLowerCase(methodName.charAt(3)) + methodName.substring(4);
-        } else if (methodName.startsWith("is") && methodName.length() > 2) {
-            fieldName = Character.toLowerCase(methodName.charAt(2)) + methodName.substring(3);
-        } else {
+    /**
+     * Same as {@link #extractProperty(ExecutableElement)} for a caller that already holds the simple name and the
+     * converted return type.
+     */
+    public static Property extractProperty(ExecutableElement method, String methodName, TypeName type) {
+        String fieldName = fieldNameOfGetter(methodName);
+        if (fieldName == null) {
             throw new IllegalArgumentException("Not a getter method: " + methodName);
         }
+        return new Property(fieldName, type, methodName, nullableAnnotations(method));
+    }
 
-        TypeName type = TypeName.get(method.getReturnType());
-
-        List<AnnotationSpec> annotations = method.getAnnotationMirrors().stream()
-                .filter(m -> m.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable"))
-                .map(AnnotationSpec::get)
-                .collect(Collectors.toList());
+    /**
+     * The field name of a {@code get*}/{@code is*} method name, or {@code null} if the name has no such prefix.
+     */
+    public static @Nullable String fieldNameOfGetter(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return decapitalize(methodName, 3);
+        } else if (methodName.startsWith("is") && methodName.length() > 2) {
+            return decapitalize(methodName, 2);
+        }
+        return null;
+    }
 
-        return new Property(fieldName, type, methodName, annotations);
+    /**
+     * The field name of a {@code set*} method name, or {@code null} if the name has no such prefix.
+     */
+    public static @Nullable String fieldNameOfSetter(String methodName) {
+        return methodName.startsWith("set") && methodName.length() > 3 ? decapitalize(methodName, 3) : null;
     }
 
     public static String setterNameForField(String fieldName) {
         return "set" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
     }
+
+    public static String witherNameForField(String fieldName) {
+        return "with" + Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+    }
+
+    /**
+     * The field name in upper snake case, as used for constants, e.g. {@code REQUEST_COUNT} for {@code requestCount}.
+     */
+    public static String constantNameForField(String fieldName) {
+        StringBuilder name = new StringBuilder(fieldName.length() + 4);
+        for (int i = 0; i < fieldName.length(); i++) {
+            char c = fieldName.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                name.append('_');
+            }
+            name.append(Character.toUpperCase(c));
+        }
+        return name.toString();
+    }
+
+    private static String decapitalize(String name, int prefix) {
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    private static List<AnnotationSpec> nullableAnnotations(ExecutableElement method) {
+        List<? extends AnnotationMirror> mirrors = method.getAnnotationMirrors();
+        if (mirrors.isEmpty()) {
+            return List.of();
+        }
+        List<AnnotationSpec> annotations = new ArrayList<>(1);
+        for (AnnotationMirror mirror : mirrors) {
+            if (mirror.getAnnotationType().asElement().getSimpleName().contentEquals("Nullable")) {
+                annotations.add(AnnotationSpec.get(mirror));
+            }
+        }
+        return annotations;
+    }
 }
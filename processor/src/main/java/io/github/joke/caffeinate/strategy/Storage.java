@@ -0,0 +1,17 @@
+package io.github.joke.caffeinate.strategy;
+
+/**
+ * How a {@link Property} is represented in the fields of the generated class.
+ */
+public enum Storage {
+    /** A field of the declared type. */
+    DIRECT,
+    /** A non-null boxed primitive held in a primitive field. */
+    UNBOXED,
+    /** A nullable boxed primitive held in a primitive field plus a presence bit. */
+    NULLABLE_UNBOXED,
+    /** A primitive optional held in a primitive field plus a presence bit. */
+    OPTIONAL,
+    /** A boolean held only as a bit, without a field of its own. */
+    PACKED
+}
@@ -0,0 +1,158 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.ArrayTypeName;
+import com.palantir.javapoet.ClassName;
+import com.palantir.javapoet.CodeBlock;
+import com.palantir.javapoet.MethodSpec;
+import com.palantir.javapoet.TypeName;
+import io.github.joke.caffeinate.customize.ToString;
+import java.util.Arrays;
+import java.util.List;
+import java.util.StringJoiner;
+import javax.inject.Inject;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+
+public class ToStringStrategy implements GenerationStrategy {
+
+    private static final ClassName TO_STRING_BUILDER =
+            ClassName.get("org.apache.commons.lang3.builder", "ToStringBuilder");
+    private static final TypeName STRING = ClassName.get(String.class);
+
+    private final TypeHierarchyResolver resolver;
+
+    @Inject
+    ToStringStrategy(TypeHierarchyResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    public int order() {
+        return OBJECT_METHODS;
+    }
+
+    @Override
+    public void generate(TypeElement source, ClassModel model) {
+        if (resolver.hasConcreteMethod(source, "toString", 0)) {
+            return;
+        }
+
+        ToString annotation = source.getAnnotation(ToString.class);
+        ToString.Style style = annotation == null ? ToString.Style.STRING_JOINER : annotation.style();
+        String typeName = source.getSimpleName().toString();
+
+        CodeBlock body;
+        switch (style) {
+            case TO_STRING_BUILDER:
+                body = toStringBuilder(model.getProperties());
+                break;
+            case STRING_BUILDER:
+                body = stringBuilder(typeName, model.getProperties());
+                break;
+            default:
+                body = stringJoiner(typeName, model.getProperties());
+                break;
+        }
+
+        model.getMethods()
+                .add(MethodSpec.methodBuilder("toString")
+                        .addAnnotation(Override.class)
+                        .addModifiers(Modifier.PUBLIC)
+                        .returns(String.class)
+                        .addCode(body)
+                        .build());
+    }
+
+    private static CodeBlock stringJoiner(String typeName, List<Property> properties) {
+        CodeBlock.Builder body = CodeBlock.builder()
+                .add("return new $T($S, $S, $S)$>$>", StringJoiner.class, ", ", typeName + "[", "]");
+        for (Property property : properties) {
+            if (isString(property)) {
+                body.add("\n.add($S + $L + '\\'')", property.getFieldName() + "='", value(property));
+            } else {
+                body.add("\n.add($S + $L)", property.getFieldName() + "=", value(property));
+            }
+        }
+        return body.add("\n.toString();\n$<$<").build();
+    }
+
+    private static CodeBlock toStringBuilder(List<Property> properties) {
+        CodeBlock.Builder body = CodeBlock.builder().add("return new $T(this)$>$>", TO_STRING_BUILDER);
+        for (Property property : properties) {
+            body.add("\n.append($S, $L)", property.getFieldName(), PropertyAccess.read(property, "this"));
+        }
+        return body.add("\n.toString();\n$<$<").build();
+    }
+
+    /**
+     * Emits one {@code append} per value and one per run of constant text, into a builder whose capacity is estimated
+     * at processing time so that typical instances never trigger a resize.
+     */
+    private static CodeBlock stringBuilder(String typeName, List<Property> properties) {
+        CodeBlock.Builder appends = CodeBlock.builder();
+        StringBuilder literal = new StringBuilder(typeName).append('[');
+        int capacity = 0;
+        for (int i = 0; i < properties.size(); i++) {
+            Property property = properties.get(i);
+            String quote = isString(property) ? "'" : "";
+            if (i > 0) {
+                literal.append(", ");
+            }
+            literal.append(property.getFieldName()).append('=').append(quote);
+            appends.add("\n.append($L).append($L)", literal(literal), value(property));
+            capacity += literal.length() + estimatedLength(property.getType());
+            literal = new StringBuilder(quote);
+        }
+        literal.append(']');
+        appends.add("\n.append($L)", literal(literal));
+        capacity += literal.length();
+
+        return CodeBlock.builder()
+                .add("return new $T($L)$>$>", StringBuilder.class, capacity)
+                .add(appends.build())
+                .add("\n.toString();\n$<$<")
+                .build();
+    }
+
+    private static CodeBlock literal(CharSequence text) {
+        if (text.length() == 1 && text.charAt(0) != '\'' && text.charAt(0) != '\\') {
+            return CodeBlock.of("'$L'", text);
+        }
+        return CodeBlock.of("$S", text.toString());
+    }
+
+    private static CodeBlock value(Property property) {
+        if (property.getType() instanceof ArrayTypeName) {
+            return CodeBlock.of("$T.toString(this.$N)", Arrays.class, property.getFieldName());
+        }
+        return PropertyAccess.read(property, "this");
+    }
+
+    private static boolean isString(Property property) {
+        return property.getType().equals(STRING);
+    }
+
+    private static int estimatedLength(TypeName type) {
+        TypeName unboxed = type.isBoxedPrimitive() ? type.unbox() : type;
+        if (unboxed.equals(TypeName.BOOLEAN)) {
+            return 5;
+        } else if (unboxed.equals(TypeName.BYTE)) {
+            return 4;
+        } else if (unboxed.equals(TypeName.SHORT)) {
+            return 6;
+        } else if (unboxed.equals(TypeName.CHAR)) {
+            return 1;
+        } else if (unboxed.equals(TypeName.INT)) {
+            return 11;
+        } else if (unboxed.equals(TypeName.LONG)) {
+            return 20;
+        } else if (unboxed.equals(TypeName.FLOAT)) {
+            return 15;
+        } else if (unboxed.equals(TypeName.DOUBLE)) {
+            return 24;
+        } else if (unboxed.equals(STRING)) {
+            return 16;
+        }
+        return 32;
+    }
+}
@@ -1,22 +1,36 @@
 package io.github.joke.caffeinate.strategy;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Types;
+import org.jspecify.annotations.Nullable;
 
+/**
+ * Resolved hierarchies are memoized per {@link TypeElement} and composed from the memoized supertypes. Elements are
+ * only valid within a single processing round, so {@link #clear()} must be called at the end of every round.
+ */
+@Singleton
 public class TypeHierarchyResolver {
 
     private final Types types;
+    private final Map<TypeElement, Map<MethodSignature, ExecutableElement>> resolved = new HashMap<>();
 
     @Inject
     TypeHierarchyResolver(Types types) {
@@ -24,16 +38,43 @@ public class TypeHierarchyResolver {
     }
 
     public List<ExecutableElement> getAllAbstractMethods(TypeElement element) {
-        List<ExecutableElement> result = new ArrayList<>();
-        collectAbstractMethods(element, result, new HashSet<>());
-        return result;
+        return new ArrayList<>(resolve(element).values());
     }
 
-    private void collectAbstractMethods(TypeElement element, List<ExecutableElement> result, Set<String> seen) {
+    public boolean hasConcreteMethod(TypeElement element, String name, int parameterCount) {
+        TypeElement current = element;
+        while (!current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (!method.getModifiers().contains(Modifier.ABSTRACT)
+                        && method.getSimpleName().contentEquals(name)
+                        && method.getParameters().size() == parameterCount) {
+                    return true;
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            if (superclass.getKind() != TypeKind.DECLARED) {
+                return false;
+            }
+            current = (TypeElement) ((DeclaredType) superclass).asElement();
+        }
+        return false;
+    }
+
+    public void clear() {
+        resolved.clear();
+    }
+
+    private Map<MethodSignature, ExecutableElement> resolve(TypeElement element) {
+        Map<MethodSignature, ExecutableElement> cached = resolved.get(element);
+        if (cached != null) {
+            return cached;
+        }
+
+        Map<MethodSignature, ExecutableElement> methods = new LinkedHashMap<>();
         for (TypeMirror iface : element.getInterfaces()) {
             Element ifaceElement = types.asElement(iface);
             if (ifaceElement instanceof TypeElement) {
-                collectAbstractMethods((TypeElement) ifaceElement, result, seen);
+                resolve((TypeElement) ifaceElement).forEach(methods::putIfAbsent);
             }
         }
 
@@ -43,23 +84,74 @@ public class TypeHierarchyResolver {
             if (superElement != null
                     && !superElement.getQualifiedName().contentEquals("java.lang.Object")
                     && superElement.getModifiers().contains(Modifier.ABSTRACT)) {
-                collectAbstractMethods(superElement, result, seen);
+                resolve(superElement).forEach(methods::putIfAbsent);
             }
         }
 
         for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
             if (method.getModifiers().contains(Modifier.ABSTRACT)) {
-                if (seen.add(methodKey(method))) {
-                    result.add(method);
-                }
+                methods.putIfAbsent(signature(method), method);
+            } else if (!method.getModifiers().contains(Modifier.STATIC)) {
+                // a concrete or default method implements any inherited abstract one (e.g. a @Lazy getter)
+                methods.remove(signature(method));
             }
         }
+
+        resolved.put(element, methods);
+        return methods;
+    }
+
+    private MethodSignature signature(ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        List<Object> parameterTypes = new ArrayList<>(parameters.size());
+        for (VariableElement parameter : parameters) {
+            parameterTypes.add(erasedTypeKey(parameter.asType()));
+        }
+        return new MethodSignature(method.getSimpleName(), parameterTypes);
     }
 
-    private String methodKey(ExecutableElement method) {
-        StringBuilder key = new StringBuilder(method.getSimpleName().toString()).append("::");
-        method.getParameters()
-                .forEach(p -> key.append(types.erasure(p.asType())).append(","));
-        return key.toString();
+    private Object erasedTypeKey(TypeMirror type) {
+        TypeMirror erased = types.erasure(type);
+        TypeKind kind = erased.getKind();
+        if (kind.isPrimitive()) {
+            return kind;
+        }
+        if (kind == TypeKind.DECLARED) {
+            return types.asElement(erased);
+        }
+        if (kind == TypeKind.ARRAY) {
+            return List.of(kind, erasedTypeKey(((ArrayType) erased).getComponentType()));
+        }
+        return erased.toString();
+    }
+
+    private static final class MethodSignature {
+
+        private final Name name;
+        private final List<Object> parameterTypes;
+        private final int hashCode;
+
+        MethodSignature(Name name, List<Object> parameterTypes) {
+            this.name = name;
+            this.parameterTypes = parameterTypes;
+            this.hashCode = Objects.hash(name, parameterTypes);
+        }
+
+        @Override
+        public boolean equals(@Nullable Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof MethodSignature)) {
+                return false;
+            }
+            MethodSignature that = (MethodSignature) other;
+            return hashCode == that.hashCode && name.equals(that.name) && parameterTypes.equals(that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
     }
 }
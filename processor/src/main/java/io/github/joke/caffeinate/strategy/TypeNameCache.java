@@ -0,0 +1,36 @@
+package io.github.joke.caffeinate.strategy;
+
+import com.palantir.javapoet.TypeName;
+import java.util.HashMap;
+import java.util.Map;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * Memoizes {@link TypeName#get(TypeMirror)}. The compiler shares one {@link TypeMirror} for every use of a
+ * non-generic type such as {@code String} or {@code int}, so a wide type converts each distinct return type once.
+ * Mirrors are only valid within a single processing round, so {@link #clear()} must be called at the end of every
+ * round.
+ */
+@Singleton
+public class TypeNameCache {
+
+    private final Map<TypeMirror, TypeName> names = new HashMap<>();
+
+    @Inject
+    TypeNameCache() {}
+
+    public TypeName get(TypeMirror type) {
+        TypeName name = names.get(type);
+        if (name == null) {
+            name = TypeName.get(type);
+            names.put(type, name);
+        }
+        return name;
+    }
+
+    public void clear() {
+        names.clear();
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.joke.caffeinate
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import spock.lang.Specification
+
+import javax.tools.JavaFileObject
+import java.util.function.Consumer
+
+import static com.google.testing.compile.Compiler.javac
+
+class ColumnsProcessorSpec extends Specification {
+
+    def 'generates a columns container next to the immutable implementation'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Trade', '''\
+            package test;
+            import io.github.joke.caffeinate.Columns;
+            import io.github.joke.caffeinate.Immutable;
+            import java.util.List;
+            @Immutable
+            @Columns
+            public interface Trade {
+                long getId();
+                double getPrice();
+                boolean isBuy();
+                String getSymbol();
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.TradeImpl').present
+
+        and:
+        def generated = compilation.generatedSourceFile('test.TradeColumns')
+            .get().getCharContent(true).toString()
+        generated.contains('public final class TradeColumns {')
+        generated.contains('private double[] priceColumn;')
+        generated.contains('private Object[] tagsColumn;')
+        generated.contains('public final class Cursor implements Trade {')
+        generated.contains('return TradeColumns.this.priceColumn[this.index];')
+
+        when:
+        def impl = loadGenerated(compilation, 'test.TradeImpl')
+        def columns = impl.classLoader.loadClass('test.TradeColumns').getConstructor(int).newInstance(0)
+        def records = 1_000
+        (0..<records).each { i ->
+            columns.add(impl.getConstructor(long, double, boolean, String, List)
+                .newInstance(i as long, i / 4d, i % 2 == 0, "S${i % 10}".toString(), ["t${i}".toString()]))
+        }
+
+        then:
+        columns.size() == records
+        columns.getPrice(40) == 10d
+        columns.getTags(7) == ['t7']
+
+        when:
+        def cursor = columns.get(123)
+
+        then:
+        cursor.id == 123
+        cursor.symbol == 'S3'
+        !cursor.buy
+        columns.get(124).is(cursor)
+        cursor.id == 124
+
+        when:
+        def total = 0d
+        def buys = 0
+        columns.forEach({ trade ->
+            total += trade.price
+            buys += trade.buy ? 1 : 0
+        } as Consumer)
+
+        then:
+        total == (0..<records).sum() / 4d
+        buys == records / 2
+
+        when:
+        columns.get(records)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+
+        when:
+        columns.clear()
+
+        then:
+        columns.size() == 0
+
+        when:
+        columns.getSymbol(0)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def 'extends abstract classes'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Point', '''\
+            package test;
+            import io.github.joke.caffeinate.Columns;
+            @Columns
+            public abstract class Point {
+                public abstract int getX();
+                public abstract int getY();
+                public int sum() {
+                    return getX() + getY();
+                }
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.PointColumns').get().getCharContent(true).toString()
+            .contains('public final class Cursor extends Point {')
+        !compilation.generatedSourceFile('test.PointImpl').present
+    }
+
+    def 'reports invalid methods'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Trade', '''\
+            package test;
+            import io.github.joke.caffeinate.Columns;
+            @Columns
+            public interface Trade {
+                long id();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any { it.getMessage(null).contains('must follow get*/is* naming convention') }
+    }
+
+    private static Class<?> loadGenerated(Compilation compilation, String className) {
+        def classes = compilation.generatedFiles()
+            .findAll { it.kind == JavaFileObject.Kind.CLASS }
+            .collectEntries { [(it.toUri().path.replaceFirst('^/CLASS_OUTPUT/', '').replace('/', '.') - '.class'): it.openInputStream().bytes] }
+        def loader = new ClassLoader(ColumnsProcessorSpec.classLoader) {
+            @Override
+            protected Class<?> findClass(String name) {
+                byte[] bytes = classes[name]
+                bytes == null ? super.findClass(name) : defineClass(name, bytes, 0, bytes.length)
+            }
+        }
+        loader.loadClass(className)
+    }
+}
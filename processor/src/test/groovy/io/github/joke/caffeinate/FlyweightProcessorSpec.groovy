@@ -0,0 +1,150 @@
+package io.github.joke.caffeinate
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import spock.lang.Specification
+
+import javax.tools.JavaFileObject
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+
+import static com.google.testing.compile.Compiler.javac
+
+class FlyweightProcessorSpec extends Specification {
+
+    def 'generates a flyweight reading properties from fixed offsets'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Trade', '''\
+            package test;
+            import io.github.joke.caffeinate.Flyweight;
+            @Flyweight
+            public interface Trade {
+                long getId();
+                double getPrice();
+                int getQuantity();
+                boolean isBuy();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.TradeFlyweight')
+            .get().getCharContent(true).toString()
+        generated.contains('public final class TradeFlyweight implements Trade')
+        generated.contains('public static final int BYTES = 21;')
+        generated.contains('public static final int QUANTITY_OFFSET = 16;')
+        generated.contains('return this.buffer.getDouble(this.offset + PRICE_OFFSET);')
+        generated.contains('public TradeFlyweight wrap(ByteBuffer buffer, int offset)')
+        !compilation.generatedSourceFile('test.TradeImpl').present
+
+        when:
+        def type = loadGenerated(compilation, 'test.TradeFlyweight')
+        def records = 1_000
+        def buffer = ByteBuffer.allocateDirect(records * type.BYTES).order(byteOrder)
+        (0..<records).each { i ->
+            def bytes = ByteBuffer.allocate(type.BYTES).order(byteOrder)
+            bytes.putLong(i).putDouble(i / 4d).putInt(i * 3).put((byte) (i % 2))
+            buffer.put(i * type.BYTES, bytes.array())
+        }
+        def trade = type.getConstructor().newInstance()
+        def quantities = 0L
+        def buys = 0
+        (0..<records).each { i ->
+            trade.wrap(buffer, i * type.BYTES)
+            assert trade.id == i
+            assert trade.price == i / 4d
+            quantities += trade.quantity
+            buys += trade.buy ? 1 : 0
+        }
+
+        then:
+        quantities == 3L * (0..<records).sum()
+        buys == records / 2
+
+        when:
+        def copy = ByteBuffer.allocate(type.BYTES).order(byteOrder)
+        type.put(copy, 0, trade.wrap(buffer, 7 * type.BYTES))
+
+        then:
+        type.getConstructor(ByteBuffer, int).newInstance(copy, 0).quantity == 21
+
+        when:
+        trade.wrap(buffer, records * type.BYTES - 1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+
+        where:
+        byteOrder << [ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN]
+    }
+
+    def 'generates flyweight and immutable implementations side by side'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Point', '''\
+            package test;
+            import io.github.joke.caffeinate.Flyweight;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            @Flyweight
+            public interface Point {
+                int getX();
+                int getY();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.PointImpl').present
+        compilation.generatedSourceFile('test.PointFlyweight').present
+    }
+
+    def 'fails for properties without a fixed width'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Trade', '''\
+            package test;
+            import io.github.joke.caffeinate.Flyweight;
+            @Flyweight
+            public interface Trade {
+                long getId();
+                String getSymbol();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any {
+            it.getMessage(null).contains('Properties of @Flyweight types must be primitives: getSymbol() returns java.lang.String')
+        }
+    }
+
+    private static Class<?> loadGenerated(Compilation compilation, String className) {
+        def classes = compilation.generatedFiles()
+            .findAll { it.kind == JavaFileObject.Kind.CLASS }
+            .collectEntries { [(it.toUri().path.replaceFirst('^/CLASS_OUTPUT/', '').replace('/', '.') - '.class'): it.openInputStream().bytes] }
+        def loader = new ClassLoader(FlyweightProcessorSpec.classLoader) {
+            @Override
+            protected Class<?> findClass(String name) {
+                byte[] bytes = classes[name]
+                bytes == null ? super.findClass(name) : defineClass(name, bytes, 0, bytes.length)
+            }
+        }
+        loader.loadClass(className)
+    }
+}
@@ -2,8 +2,11 @@ package io.github.joke.caffeinate
 
 import com.google.testing.compile.Compilation
 import com.google.testing.compile.JavaFileObjects
+import org.openjdk.jol.info.ClassLayout
 import spock.lang.Specification
 
+import javax.tools.JavaFileObject
+
 import static com.google.testing.compile.Compiler.javac
 
 class ImmutableProcessorSpec extends Specification {
@@ -302,6 +305,46 @@ class ImmutableProcessorSpec extends Specification {
         generated.contains('PersonImpl(String id, String name, int age)')
     }
 
+    def 'resolves a supertype shared by several annotated types in the same round'() {
+        given:
+        def named = JavaFileObjects.forSourceString('test.Named', '''\
+            package test;
+            interface Named { String getName(); }
+        ''')
+        def person = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Person extends Named {
+                int getAge();
+            }
+        ''')
+        def company = JavaFileObjects.forSourceString('test.Company', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Company extends Named {
+                String getCity();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(named, person, company)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+            .contains('PersonImpl(String name, int age)')
+        compilation.generatedSourceFile('test.CompanyImpl')
+            .get().getCharContent(true).toString()
+            .contains('CompanyImpl(String name, String city)')
+    }
+
     def 'generates implementation extending abstract class'() {
         given:
         def source = JavaFileObjects.forSourceString('test.AbstractEntity', '''\
@@ -417,7 +460,7 @@ class ImmutableProcessorSpec extends Specification {
         and:
         def generated = compilation.generatedSourceFile('test.PersonImpl')
             .get().getCharContent(true).toString()
-        generated.count('@Nullable') == 3       // field + getter method + constructor param
+        generated.count('@Nullable') == 5       // field + getter method + constructor param + builder setter + wither param
         generated.contains('@Nullable String name')   // constructor param
         generated =~ /(?s)@Nullable\s+public String getName\(\)/   // getter method annotation
         !generated.contains('@Nullable int age')      // non-nullable property unaffected
@@ -453,9 +496,966 @@ class ImmutableProcessorSpec extends Specification {
         and:
         def generated = compilation.generatedSourceFile('test.PersonImpl')
             .get().getCharContent(true).toString()
-        generated.count('@Nullable') == 3       // field + getter method + constructor param
+        generated.count('@Nullable') == 5       // field + getter method + constructor param + builder setter + wither param
         generated.contains('@Nullable String name')
         generated =~ /(?s)@Nullable\s+public String getName\(\)/   // getter method annotation
         !generated.contains('@Nullable int age')
     }
+
+    def 'generates value-based equals and hashCode'() {
+        given:
+        def nullable = JavaFileObjects.forSourceString('test.Nullable', '''\
+            package test;
+            public @interface Nullable {}
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Person {
+                String getName();
+                @Nullable String getNickname();
+                int getAge();
+                double getScore();
+                int[] getCodes();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(nullable, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and: 'the cached hash code follows the property fields'
+        def fields = compilation.generatedSourceFile('test.PersonImpl').get().getCharContent(true).toString()
+            .readLines()*.trim().findAll { it.startsWith('private ') && it.endsWith(';') }
+        fields.take(6) == ['private final String name;', 'private final String nickname;', 'private final int age;',
+            'private final double score;', 'private final int[] codes;', 'private transient int hashCode;']
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def person = type.newInstance('Ada', null, 36, 1.5d, [1, 2] as int[])
+        def same = type.newInstance(new String('Ada'), null, 36, 1.5d, [1, 2] as int[])
+        def other = type.newInstance('Ada', 'A', 36, 1.5d, [1, 2] as int[])
+
+        then:
+        person == same
+        person.hashCode() == same.hashCode()
+        person.hashCode() == person.hashCode()
+        person != other
+        !person.equals(null)
+        [person, same, other].toSet().size() == 2
+    }
+
+    def 'renders toString identically in the StringJoiner and StringBuilder styles'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', """\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.ToString;
+            @Immutable
+            @ToString(style = ToString.Style.${style})
+            public interface Person {
+                String getName();
+                int getAge();
+                boolean isActive();
+                char getInitial();
+                long[] getCodes();
+            }
+        """)
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def person = type.newInstance('Ada', 36, true, 'A' as char, [1L, 2L] as long[])
+
+        then:
+        person.toString() == "Person[name='Ada', age=36, active=true, initial=A, codes=[1, 2]]"
+
+        where:
+        style << ['STRING_JOINER', 'STRING_BUILDER']
+    }
+
+    def 'stores boxed and optional primitives unboxed with @Layout(unboxed = true)'() {
+        given:
+        def nullable = JavaFileObjects.forSourceString('test.Nullable', '''\
+            package test;
+            public @interface Nullable {}
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Metrics', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Layout;
+            import java.util.Optional;
+            import java.util.OptionalLong;
+            @Immutable
+            @Layout(unboxed = true)
+            public interface Metrics {
+                Integer getCount();
+                @Nullable Double getAverage();
+                OptionalLong getTimeout();
+                Optional<Boolean> getEnabled();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(nullable, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.MetricsImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private final int count;')
+        generated.contains('private final double average;')
+        generated.contains('private final long timeout;')
+        generated.contains('private final boolean enabled;')
+        generated.contains('private final int bits0;')
+
+        when:
+        def type = loadGenerated(compilation, 'test.MetricsImpl')
+        def present = type.newInstance(3, 1.5d, OptionalLong.of(250L), Optional.of(true))
+        def absent = type.newInstance(0, null, OptionalLong.empty(), Optional.empty())
+        def zero = type.newInstance(0, 0.0d, OptionalLong.of(0L), Optional.of(false))
+
+        then:
+        present.count == 3
+        present.average == 1.5d
+        present.timeout == OptionalLong.of(250L)
+        present.enabled == Optional.of(true)
+
+        and: 'absent values are told apart from zero values by their presence bits'
+        absent.average == null
+        absent.timeout == OptionalLong.empty()
+        absent.enabled == Optional.empty()
+        zero.average == 0.0d
+        zero.timeout == OptionalLong.of(0L)
+        absent != zero
+        absent == type.newInstance(0, null, OptionalLong.empty(), Optional.empty())
+        absent.toString() == 'Metrics[count=0, average=null, timeout=OptionalLong.empty, enabled=Optional.empty]'
+    }
+
+    def 'packs boolean flags into bit words with @Layout(packBooleans = true)'() {
+        given:
+        def flags = (0..<40).collect { "boolean isFlag$it();" }.join('\n')
+        def packed = JavaFileObjects.forSourceString('test.Packed', """\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Layout;
+            @Immutable
+            @Layout(packBooleans = true)
+            public interface Packed {
+                String getName();
+                ${flags}
+            }
+        """)
+        def plain = JavaFileObjects.forSourceString('test.Plain', """\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Plain {
+                String getName();
+                ${flags}
+            }
+        """)
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(packed, plain)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.PackedImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private final long bits0;')
+        !generated.contains('private final boolean flag0;')
+        generated.contains('return ((this.bits0 & 0x8000000000L) != 0);')
+
+        when:
+        def type = loadGenerated(compilation, 'test.PackedImpl')
+        def values = (0..<40).collect { it % 3 == 0 }
+        def instance = type.newInstance('flags', *values)
+        def other = type.newInstance('flags', *values.collect { !it })
+
+        then:
+        (0..<40).every { instance."isFlag$it"() == values[it] }
+        instance == type.newInstance('flags', *values)
+        instance.hashCode() == type.newInstance('flags', *values).hashCode()
+        instance != other
+        instance.toString().startsWith("Packed[name='flags', flag0=true, flag1=false")
+
+        and: 'one long word replaces 40 boolean fields'
+        def packedSize = ClassLayout.parseClass(type).instanceSize()
+        def plainSize = ClassLayout.parseClass(loadGenerated(compilation, 'test.PlainImpl')).instanceSize()
+        packedSize < plainSize
+        plainSize - packedSize >= 40 - Long.BYTES - 7   // 40 flag bytes minus the word, modulo 8-byte alignment
+    }
+
+    def 'builds instances through a reusable builder'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import java.util.Optional;
+            @Immutable
+            public interface Person {
+                String getName();
+                int getAge();
+                Optional<String> getEmail();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def builder = type.builder()
+        def ada = builder.name('Ada').age(36).build()
+        def older = builder.from(ada).age(37).build()
+        def blank = builder.reset().name('Bob').build()
+
+        then:
+        ada == type.newInstance('Ada', 36, Optional.empty())
+        older == type.newInstance('Ada', 37, Optional.empty())
+        blank == type.newInstance('Bob', 0, Optional.empty())
+        ada.age == 36
+    }
+
+    def 'derives copies with wither methods that return this when nothing changes'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Config', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import java.util.List;
+            @Immutable
+            public interface Config {
+                String getHost();
+                int getPort();
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        when:
+        def type = loadGenerated(compilation, 'test.ConfigImpl')
+        def tags = ['a', 'b']
+        def config = type.newInstance('localhost', 8080, tags)
+        def moved = config.withPort(9090)
+
+        then:
+        config.withPort(8080).is(config)
+        config.withHost(new String('localhost')).is(config)
+        moved == type.newInstance('localhost', 9090, tags)
+        moved.tags.is(config.tags)
+        config.port == 8080
+    }
+
+    def 'copies mutable collection and array arguments'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Order', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import java.util.List;
+            import java.util.Map;
+            import java.util.Set;
+            @Immutable
+            public interface Order {
+                List<String> getItems();
+                Set<Integer> getCodes();
+                Map<String, Integer> getCounts();
+                byte[] getPayload();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        when:
+        def type = loadGenerated(compilation, 'test.OrderImpl')
+        def items = new ArrayList(['a', 'b'])
+        def codes = new HashSet([1, 2])
+        def counts = new HashMap([a: 1])
+        def payload = [1, 2, 3] as byte[]
+        def order = type.newInstance(items, codes, counts, payload)
+        items << 'c'
+        codes << 3
+        counts.b = 2
+        payload[0] = 9
+
+        then:
+        order.items == ['a', 'b']
+        order.codes == [1, 2] as Set
+        order.counts == [a: 1]
+        order.payload == [1, 2, 3] as byte[]
+
+        when:
+        order.items.add('d')
+
+        then:
+        thrown(UnsupportedOperationException)
+
+        when:
+        def ordered = new LinkedHashSet([30, 10, null, 20])
+        def sorted = new TreeMap([c: 3, a: 1, b: null])
+        def copy = type.newInstance(['x', null], ordered, sorted, order.payload)
+
+        then:
+        copy.items == ['x', null]
+        copy.codes as List == [30, 10, null, 20]
+        copy.counts.keySet() as List == ['a', 'b', 'c']
+        copy.toString() == 'Order[items=[x, null], codes=[30, 10, null, 20], counts={a=1, b=null, c=3}, payload=[1, 2, 3]]'
+
+        when: 'the arguments cannot change'
+        def immutableItems = List.of('x')
+        def immutableCodes = Set.of(1)
+        def shared = type.newInstance(immutableItems, immutableCodes, order.counts, payload)
+
+        then: 'they are stored without a copy'
+        shared.items.is(immutableItems)
+        shared.codes.is(immutableCodes)
+        shared.counts.is(order.counts)
+    }
+
+    def 'renders identical sources regardless of the number of render threads'() {
+        given:
+        def sources = (0..<24).collect { index ->
+            JavaFileObjects.forSourceString("test.Type$index", """\
+                package test;
+                import io.github.joke.caffeinate.Immutable;
+                @Immutable
+                public interface Type$index {
+                    String getName();
+                    int getValue$index();
+                }
+            """)
+        }
+
+        when:
+        def render = { int threads ->
+            def compilation = javac()
+                .withProcessors(new CaffeinateProcessor())
+                .withOptions("-Acaffeinate.threads=$threads")
+                .compile(sources)
+            assert compilation.status() == Compilation.Status.SUCCESS
+            compilation.generatedSourceFiles().collectEntries { [(it.name): it.getCharContent(true).toString()] }
+        }
+        def serial = render(1)
+        def parallel = render(4)
+
+        then:
+        serial.size() == 24
+        parallel == serial
+    }
+
+    def 'records a fingerprint of every generated source in the class output'() {
+        given:
+        def sources = ['Alpha', 'Beta'].collect { name ->
+            JavaFileObjects.forSourceString("test.$name", """\
+                package test;
+                import io.github.joke.caffeinate.Immutable;
+                @Immutable
+                public interface $name {
+                    String getName();
+                }
+            """)
+        }
+        def compile = { List<JavaFileObject> compiled ->
+            def compilation = javac()
+                .withProcessors(new CaffeinateProcessor())
+                .withOptions('-Acaffeinate.fingerprints=META-INF/fingerprints')
+                .compile(compiled)
+            assert compilation.status() == Compilation.Status.SUCCESS
+            compilation.generatedFiles()
+                .findAll { it.name.endsWith('.sha256') }
+                .collectEntries { [(it.name.replaceFirst(/.*\/META-INF\/fingerprints\//, '')): it.getCharContent(true).toString()] }
+        }
+
+        when:
+        def first = compile(sources)
+        def second = compile(sources)
+
+        then:
+        first.keySet().sort() == ['test.AlphaImpl.sha256', 'test.BetaImpl.sha256']
+        first.values().every { it ==~ /[0-9a-f]{64}\n/ }
+        second == first
+
+        when: 'a type is removed'
+        def remaining = compile([sources[1]])
+
+        then:
+        remaining == ['test.BetaImpl.sha256': first['test.BetaImpl.sha256']]
+    }
+
+    def 'deduplicates equal instances with @Intern'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Tag', """\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Intern;
+            @Immutable
+            @Intern${attributes}
+            public interface Tag {
+                String getName();
+                int getWeight();
+            }
+        """)
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.TagImpl').get().getCharContent(true).toString()
+            .contains('private TagImpl(String name, int weight)')
+
+        when:
+        def type = loadGenerated(compilation, 'test.TagImpl')
+        def tag = type.of('red', 1)
+
+        then:
+        type.of(new String('red'), 1).is(tag)
+        !type.of('red', 2).is(tag)
+        type.builder().name('red').weight(1).build().is(tag)
+        type.of('red', 2).withWeight(1).is(tag)
+
+        where:
+        attributes << ['', '(maxSize = 16)']
+    }
+
+    def 'returns precomputed instances for @Intern types with boolean and enum properties'() {
+        given:
+        def color = JavaFileObjects.forSourceString('test.Color', '''\
+            package test;
+            public enum Color { RED, GREEN, BLUE }
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Flag', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Intern;
+            @Immutable
+            @Intern
+            public interface Flag {
+                Color getColor();
+                boolean isActive();
+                Color getBackground();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(color, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.FlagImpl').get().getCharContent(true).toString()
+            .contains('return INTERNED[(color.ordinal() * 2 + (active ? 1 : 0)) * BACKGROUND_VALUES.length + background.ordinal()];')
+
+        when:
+        def type = loadGenerated(compilation, 'test.FlagImpl')
+        def colors = type.classLoader.loadClass('test.Color').enumConstants as List
+        def combinations = [colors, [false, true], colors].combinations()
+        def flags = combinations.collect { c, a, b -> type.of(c, a, b) }
+
+        then:
+        flags.collect { [it.color, it.active, it.background] } == combinations
+        flags.toSet().size() == 18
+        combinations.every { c, a, b -> type.of(c, a, b).is(flags[combinations.indexOf([c, a, b])]) }
+        type.builder().color(colors[0]).active(false).background(colors[0]).build().is(flags[0])
+        type.of(colors[0], false, colors[0]).withActive(true).is(type.of(colors[0], true, colors[0]))
+    }
+
+    def 'shares a single instance of types without properties'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Marker', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Marker {
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        def generated = compilation.generatedSourceFile('test.MarkerImpl').get().getCharContent(true).toString()
+        generated.contains('public MarkerImpl()')
+        !generated.contains('@Deprecated')
+
+        when:
+        def type = loadGenerated(compilation, 'test.MarkerImpl')
+
+        then:
+        type.INSTANCE.is(type.INSTANCE)
+        type.INSTANCE == type.INSTANCE
+    }
+
+    def 'memoizes @Lazy methods once per instance'() {
+        given:
+        def nullable = JavaFileObjects.forSourceString('test.Nullable', '''\
+            package test;
+            public @interface Nullable {}
+        ''')
+        def named = JavaFileObjects.forSourceString('test.Named', '''\
+            package test;
+            public interface Named {
+                String getFullName();
+            }
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Lazy;
+            import java.util.concurrent.atomic.AtomicInteger;
+            @Immutable
+            public abstract class Person implements Named {
+                public static final AtomicInteger CALLS = new AtomicInteger();
+                public abstract String getFirstName();
+                public abstract String getLastName();
+                @Lazy
+                @Override
+                public String getFullName() {
+                    CALLS.incrementAndGet();
+                    return getFirstName() + " " + getLastName();
+                }
+                @Lazy
+                public int getLength() {
+                    CALLS.incrementAndGet();
+                    return getFullName().length();
+                }
+                @Lazy
+                @Nullable
+                public String getMiddleName() {
+                    CALLS.incrementAndGet();
+                    return null;
+                }
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(nullable, named, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private volatile String fullName;')
+        generated.contains('private int length;')
+        generated.contains('private volatile boolean length$initialized;')
+        generated.contains('synchronized (this) {')
+        !generated.contains('lock')                  // no lock object per instance
+        !generated.contains('String fullName)')      // not a property
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def person = type.newInstance('Ada', 'Lovelace')
+        def results = (1..3).collect { [person.fullName, person.length, person.middleName] }
+
+        then:
+        results.every { it == ['Ada Lovelace', 12, null] }
+        type.classLoader.loadClass('test.Person').CALLS.get() == 3
+        person == type.newInstance('Ada', 'Lovelace')
+    }
+
+    def 'memoizes @Lazy default methods of interfaces'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Lazy;
+            @Immutable
+            public interface Person {
+                String getFirstName();
+                @Lazy
+                default String getGreeting() {
+                    return "Hello " + getFirstName();
+                }
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.PersonImpl').get().getCharContent(true).toString()
+            .contains('result = Person.super.getGreeting();')
+
+        when:
+        def person = loadGenerated(compilation, 'test.PersonImpl').newInstance('Ada')
+
+        then:
+        person.greeting == 'Hello Ada'
+        person.greeting.is(person.greeting)
+    }
+
+    def 'memoizes @Lazy methods inherited from supertypes under a private lock'() {
+        given:
+        def named = JavaFileObjects.forSourceString('test.Named', '''\
+            package test;
+            import io.github.joke.caffeinate.customize.Lazy;
+            public interface Named<T> {
+                String getFirstName();
+                @Lazy
+                default T getTag() {
+                    return tag(getFirstName());
+                }
+                T tag(String name);
+            }
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Intern;
+            @Immutable
+            @Intern
+            public interface Person extends Named<StringBuilder> {
+                default StringBuilder tag(String name) {
+                    return new StringBuilder(name);
+                }
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(named, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        def generated = compilation.generatedSourceFile('test.PersonImpl').get().getCharContent(true).toString()
+        generated.contains('public StringBuilder getTag() {')
+        generated.contains('synchronized (this.lock) {')
+        !generated.contains('synchronized (this)')
+
+        when:
+        def person = loadGenerated(compilation, 'test.PersonImpl').of('Ada')
+
+        then:
+        person.tag.toString() == 'Ada'
+        person.tag.is(person.tag)
+    }
+
+    def 'round-trips @Codec types through DataOutput and ByteBuffer'() {
+        given:
+        def nullable = JavaFileObjects.forSourceString('test.Nullable', '''\
+            package test;
+            public @interface Nullable {}
+        ''')
+        def color = JavaFileObjects.forSourceString('test.Color', '''\
+            package test;
+            public enum Color { RED, GREEN }
+        ''')
+        def address = JavaFileObjects.forSourceString('test.Address', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Codec;
+            @Immutable
+            @Codec
+            public interface Address {
+                String getStreet();
+                int getZip();
+            }
+        ''')
+        def person = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Codec;
+            @Immutable
+            @Codec
+            public interface Person {
+                String getName();
+                int getAge();
+                @Nullable String getNickname();
+                Integer getScore();
+                @Nullable Long getId();
+                boolean isActive();
+                double getRatio();
+                char getInitial();
+                byte[] getAvatar();
+                Color getColor();
+                @Nullable Color getFavorite();
+                Address getHome();
+                @Nullable Address getWork();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(nullable, color, address, person)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('public static final class Codec')
+        generated.contains('public static void encode(Person instance, DataOutput out) throws IOException')
+        generated.contains('public static PersonImpl decode(ByteBuffer buffer)')
+        generated.contains('AddressImpl.Codec.encode(instance.getHome(), out);')
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def codec = type.classLoader.loadClass('test.PersonImpl$Codec')
+        def colors = type.classLoader.loadClass('test.Color').enumConstants
+        def home = type.classLoader.loadClass('test.AddressImpl').newInstance('Main St. \u00e9', 12345)
+        def full = type.newInstance('Ada', 36, 'Countess', 7, 42L, true, 0.5d, 'A' as char,
+                [1, 2, 3] as byte[], colors[1], colors[0], home, home)
+        def sparse = type.newInstance('Bob', 1, null, 0, null, false, -1.0d, 'B' as char,
+                new byte[0], colors[0], null, home, null)
+
+        then:
+        [full, sparse].every { value ->
+            def buffer = java.nio.ByteBuffer.allocate(256)
+            codec.encode(value, buffer)
+            buffer.flip()
+            def fromBuffer = codec.decode(buffer)
+
+            def bytes = new ByteArrayOutputStream()
+            codec.encode(value, new DataOutputStream(bytes))
+            def fromStream = codec.decode(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))
+
+            fromBuffer == value && fromStream == value && !buffer.hasRemaining() && bytes.size() == buffer.limit()
+        }
+    }
+
+    def 'fails for @Codec properties without a wire representation'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Codec;
+            import java.util.List;
+            @Immutable
+            @Codec
+            public interface Person {
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any { it.getMessage(null).contains('Unsupported @Codec property type: java.util.List<java.lang.String>') }
+    }
+
+    def 'orders instances by the @OrderBy properties'() {
+        given:
+        def nullable = JavaFileObjects.forSourceString('test.Nullable', '''\
+            package test;
+            public @interface Nullable {}
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.OrderBy;
+                        @Immutable
+            @OrderBy(value = {"lastName", "age", "nickname"}, nulls = OrderBy.Nulls.LAST)
+            public interface Person {
+                String getFirstName();
+                String getLastName();
+                int getAge();
+                @Nullable String getNickname();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(nullable, source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.generatedSourceFile('test.PersonImpl').get().getCharContent(true)
+            .contains('public class PersonImpl implements Person, Comparable<Person>')
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def people = [
+            type.newInstance('Ada', 'Lovelace', 36, null),
+            type.newInstance('Alan', 'Turing', 41, 'Prof'),
+            type.newInstance('Ada', 'Lovelace', 36, 'Countess'),
+            type.newInstance('Grace', 'Hopper', 85, null),
+            type.newInstance('Ada', 'Lovelace', 27, null)]
+        def sorted = new ArrayList(people)
+        sorted.sort(type.COMPARATOR)
+
+        then:
+        sorted.collect { "${it.lastName} ${it.age} ${it.nickname}".toString() } == [
+            'Hopper 85 null', 'Lovelace 27 null', 'Lovelace 36 Countess', 'Lovelace 36 null', 'Turing 41 Prof']
+        people[0] instanceof Comparable
+        people[0].compareTo(people[2]) > 0
+        people[0].compareTo(type.newInstance('Augusta', 'Lovelace', 36, null)) == 0
+    }
+
+    def 'fails for @OrderBy properties that are not comparable'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.OrderBy;
+            import java.util.List;
+            @Immutable
+            @OrderBy({"tags", "missing"})
+            public interface Person {
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()*.getMessage(null).containsAll([
+            '@OrderBy property is not comparable: tags has type java.util.List<java.lang.String>',
+            'Unknown @OrderBy property: missing'])
+    }
+
+    def 'fails for @OrderBy properties that are comparable to another type only'() {
+        given:
+        def bar = JavaFileObjects.forSourceString('test.Bar', '''\
+            package test;
+            public class Bar {}
+        ''')
+        def foo = JavaFileObjects.forSourceString('test.Foo', '''\
+            package test;
+            public class Foo implements Comparable<Bar> {
+                public int compareTo(Bar other) { return 0; }
+            }
+        ''')
+        def source = JavaFileObjects.forSourceString('test.Event', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.OrderBy;
+            import java.time.LocalDate;
+            @Immutable
+            @OrderBy({"date", "foo"})
+            public interface Event {
+                LocalDate getDate();
+                Foo getFoo();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(bar, foo, source)
+
+        then: 'LocalDate is comparable through ChronoLocalDate, Foo only to Bar'
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors()*.getMessage(null) == ['@OrderBy property is not comparable: foo has type test.Foo']
+    }
+
+    def 'reads properties by index and name through the generated Accessor'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            import io.github.joke.caffeinate.customize.Accessor;
+            @Immutable
+            @Accessor
+            public interface Person {
+                String getName();
+                boolean isActive();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        !compilation.generatedSourceFile('test.PersonImpl').get().getCharContent(true).toString()
+            .contains('void set(')
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def accessor = type.classLoader.loadClass('test.PersonImpl$Accessor')
+        def person = type.newInstance('Ada', true)
+
+        then:
+        accessor.size() == 2
+        accessor.name(1) == 'active'
+        accessor.indexOf('name') == 0
+        accessor.indexOf('missing') == -1
+        accessor.get(person, accessor.indexOf('name')) == 'Ada'
+        accessor.get(person, 1) == true
+
+        when:
+        accessor.get(person, -1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    private static Class<?> loadGenerated(Compilation compilation, String className) {
+        def classes = compilation.generatedFiles()
+            .findAll { it.kind == JavaFileObject.Kind.CLASS }
+            .collectEntries { [(it.toUri().path.replaceFirst('^/CLASS_OUTPUT/', '').replace('/', '.') - '.class'): it.openInputStream().bytes] }
+        def loader = new ClassLoader(ImmutableProcessorSpec.classLoader) {
+            @Override
+            protected Class<?> findClass(String name) {
+                byte[] bytes = classes[name]
+                bytes == null ? super.findClass(name) : defineClass(name, bytes, 0, bytes.length)
+            }
+        }
+        loader.loadClass(className)
+    }
 }
@@ -0,0 +1,200 @@
+package io.github.joke.caffeinate
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import javax.annotation.processing.Filer
+import javax.annotation.processing.ProcessingEnvironment
+import javax.lang.model.element.Element
+import javax.lang.model.element.TypeElement
+import javax.tools.JavaFileObject
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static com.google.testing.compile.Compiler.javac
+
+class IncrementalProcessingSpec extends Specification {
+
+    @TempDir
+    Path classOutput
+
+    final person = JavaFileObjects.forSourceString('test.Person', '''\
+        package test;
+        import io.github.joke.caffeinate.Immutable;
+        @Immutable
+        public interface Person extends Named {
+            int getAge();
+        }
+    ''')
+    final named = JavaFileObjects.forSourceString('test.Named', '''\
+        package test;
+        public interface Named { String getName(); }
+    ''')
+    final address = JavaFileObjects.forSourceString('test.Address', '''\
+        package test;
+        import io.github.joke.caffeinate.Mutable;
+        @Mutable
+        public interface Address {
+            String getStreet();
+        }
+    ''')
+
+    def 'registers the processor as isolating for Gradle'() {
+        given:
+        final resource = CaffeinateProcessor.getResource('/META-INF/gradle/incremental.annotation.processors')
+
+        expect:
+        resource != null
+        resource.text.readLines() == ["${CaffeinateProcessor.name},isolating"]
+    }
+
+    def 'registers exactly the annotated type as originating element of each generated implementation'() {
+        given:
+        final processor = new RecordingProcessor()
+
+        when:
+        final compilation = javac()
+            .withProcessors(processor)
+            .compile(named, person, address)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        processor.originatingElements.keySet() == ['test.PersonImpl', 'test.AddressImpl'] as Set
+        processor.originatingElements['test.PersonImpl'] == ['test.Person']
+        processor.originatingElements['test.AddressImpl'] == ['test.Address']
+    }
+
+    def 'regenerates only the implementation of the recompiled type'() {
+        given:
+        final initial = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(named, person, address)
+        writeClassFiles(initial)
+
+        and:
+        final changedPerson = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Person extends Named {
+                int getAge();
+                String getEmail();
+            }
+        ''')
+        final processor = new RecordingProcessor()
+
+        when:
+        final compilation = javac()
+            .withProcessors(processor)
+            .withClasspath(classpathWithPreviousOutput())
+            .compile(changedPerson)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        processor.originatingElements.keySet() == ['test.PersonImpl'] as Set
+        !compilation.generatedSourceFile('test.AddressImpl').isPresent()
+
+        and:
+        final generated = compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('PersonImpl(String name, int age, String email)')
+    }
+
+    def 'regenerates the implementation when only an inherited supertype changed'() {
+        given:
+        final initial = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(named, person, address)
+        writeClassFiles(initial)
+
+        and:
+        final changedNamed = JavaFileObjects.forSourceString('test.Named', '''\
+            package test;
+            public interface Named { String getName(); String getNickname(); }
+        ''')
+        final processor = new RecordingProcessor()
+
+        when: 'the build tool recompiles the changed supertype together with its dependents'
+        final compilation = javac()
+            .withProcessors(processor)
+            .withClasspath(classpathWithPreviousOutput())
+            .compile(changedNamed, person)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        processor.originatingElements == ['test.PersonImpl': ['test.Person']]
+
+        and:
+        final generated = compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('PersonImpl(String name, String nickname, int age)')
+    }
+
+    // --- helpers ---
+
+    private void writeClassFiles(Compilation compilation) {
+        compilation.generatedFiles()
+            .findAll { it.kind == JavaFileObject.Kind.CLASS }
+            .each { JavaFileObject file ->
+                final relative = file.toUri().path.replaceFirst('^/CLASS_OUTPUT/', '')
+                final target = classOutput.resolve(relative)
+                Files.createDirectories(target.parent)
+                Files.write(target, file.openInputStream().bytes)
+            }
+    }
+
+    private List<File> classpathWithPreviousOutput() {
+        [classOutput.toFile()] + System.getProperty('java.class.path')
+            .split(File.pathSeparator)
+            .collect { new File(it) }
+    }
+
+    static class RecordingProcessor extends CaffeinateProcessor {
+
+        final Map<String, List<String>> originatingElements = [:]
+
+        @Override
+        synchronized void init(ProcessingEnvironment processingEnv) {
+            super.init(new RecordingEnvironment(processingEnv, new RecordingFiler(processingEnv.filer, originatingElements)))
+        }
+    }
+
+    static class RecordingEnvironment implements ProcessingEnvironment {
+
+        @Delegate
+        final ProcessingEnvironment delegate
+        final Filer filer
+
+        RecordingEnvironment(ProcessingEnvironment delegate, Filer filer) {
+            this.delegate = delegate
+            this.filer = filer
+        }
+
+        @Override
+        Filer getFiler() {
+            filer
+        }
+    }
+
+    static class RecordingFiler implements Filer {
+
+        @Delegate
+        final Filer delegate
+        final Map<String, List<String>> originatingElements
+
+        RecordingFiler(Filer delegate, Map<String, List<String>> originatingElements) {
+            this.delegate = delegate
+            this.originatingElements = originatingElements
+        }
+
+        @Override
+        JavaFileObject createSourceFile(CharSequence name, Element... elements) {
+            originatingElements[name.toString()] = elements.collect { ((TypeElement) it).qualifiedName.toString() }
+            delegate.createSourceFile(name, elements)
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.google.testing.compile.Compilation
 import com.google.testing.compile.JavaFileObjects
 import spock.lang.Specification
 
+import javax.tools.JavaFileObject
+
 import static com.google.testing.compile.Compiler.javac
 
 class MutableProcessorSpec extends Specification {
@@ -365,4 +367,275 @@ class MutableProcessorSpec extends Specification {
         !generated.contains('@Nullable int age')      // non-nullable property unaffected
         generated =~ /(?s)@Nullable\s+public String getName\(\)/   // getter method annotation
     }
+
+    def 'generates toString honoring @ToString style'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.ToString;
+            @Mutable
+            @ToString(style = ToString.Style.STRING_BUILDER)
+            public interface Person {
+                String getFirstName();
+                int getAge();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.PersonImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('public String toString()')
+        generated.contains('return new StringBuilder(53)')
+        generated.contains('.append("Person[firstName=\'").append(this.firstName)')
+        generated.contains('.append("\', age=").append(this.age)')
+    }
+
+    def 'tracks presence bits in setters with @Layout(unboxed = true)'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Counter', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Layout;
+            import java.util.OptionalInt;
+            @Mutable
+            @Layout(unboxed = true)
+            public interface Counter {
+                Long getTotal();
+                OptionalInt getLimit();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.CounterImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private long total;')
+        generated.contains('private int limit;')
+        generated.contains('private int bits0;')
+        generated.contains('this.limit = limit.orElse(0);')
+        generated.contains('this.bits0 = limit.isPresent() ? this.bits0 | 0x1 : this.bits0 & ~0x1;')
+        generated.contains('return ((this.bits0 & 0x1) != 0 ? OptionalInt.of(this.limit) : OptionalInt.empty());')
+    }
+
+    def 'sets and clears packed booleans with @Layout(packBooleans = true)'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Toggles', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Layout;
+            @Mutable
+            @Layout(packBooleans = true)
+            public interface Toggles {
+                boolean isActive();
+                boolean isVisible();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.TogglesImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private int bits0;')
+        !generated.contains('private boolean active;')
+        generated.contains('this.bits0 = visible ? this.bits0 | 0x2 : this.bits0 & ~0x2;')
+        generated.contains('this.bits0 = (active ? 0x1 : 0) | (visible ? 0x2 : 0);')
+    }
+
+    def 'generates lock-free accessors and updates with @Concurrent'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Counter', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Concurrent;
+            import java.util.List;
+            @Mutable
+            @Concurrent
+            public interface Counter {
+                int getHits();
+                String getState();
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.CounterImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private volatile int hits;')
+        generated.contains('private static final VarHandle TAGS = varHandle("tags", List.class);')
+        generated.contains('return (int) HITS.getVolatile(this);')
+        generated.contains('HITS.setVolatile(this, hits);')
+        generated.contains('public boolean compareAndSetState(String expectedValue, String newValue)')
+        generated.contains('public int updateHits(IntUnaryOperator updateFunction)')
+        generated.contains('public List<String> getAndUpdateTags(UnaryOperator<List<String>> updateFunction)')
+
+        when:
+        def counter = loadGenerated(compilation, 'test.CounterImpl').newInstance()
+        def pool = java.util.concurrent.Executors.newFixedThreadPool(4)
+        def tasks = (1..4).collect { { -> 10_000.times { counter.updateHits({ int i -> i + 1 } as java.util.function.IntUnaryOperator) } } as java.util.concurrent.Callable }
+        pool.invokeAll(tasks)*.get()
+        pool.shutdown()
+
+        then:
+        counter.hits == 40_000
+        counter.getAndUpdateHits({ int i -> i * 2 } as java.util.function.IntUnaryOperator) == 40_000
+        counter.hits == 80_000
+
+        when:
+        counter.state = 'idle'
+
+        then:
+        counter.compareAndSetState(counter.state, 'busy')
+        !counter.compareAndSetState('idle', 'done')
+        counter.state == 'busy'
+    }
+
+    def 'selects VarHandle access modes with @Concurrent(access)'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Counter', """\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Concurrent;
+            @Mutable
+            @Concurrent(access = Concurrent.Access.${access})
+            public interface Counter {
+                long getHits();
+            }
+        """)
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+
+        and:
+        def generated = compilation.generatedSourceFile('test.CounterImpl')
+            .get().getCharContent(true).toString()
+        generated.contains('private long hits;')
+        generated.contains("return (long) HITS.${get}(this);")
+        generated.contains("HITS.${set}(this, hits);")
+
+        where:
+        access            || get          | set
+        'ACQUIRE_RELEASE' || 'getAcquire' | 'setRelease'
+        'OPAQUE'          || 'getOpaque'  | 'setOpaque'
+    }
+
+    def 'fails when @Concurrent is combined with @Layout'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Counter', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Concurrent;
+            import io.github.joke.caffeinate.customize.Layout;
+            @Mutable
+            @Concurrent
+            @Layout(unboxed = true)
+            public interface Counter {
+                Integer getHits();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.FAILURE
+        compilation.errors().any { it.getMessage(null).contains('@Concurrent types cannot be combined with @Layout') }
+    }
+
+    def 'reads and writes properties by index through the generated Accessor'() {
+        given:
+        def source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Mutable;
+            import io.github.joke.caffeinate.customize.Accessor;
+            import java.util.List;
+            @Mutable
+            @Accessor
+            public interface Person {
+                String getName();
+                int getAge();
+                List<String> getTags();
+            }
+        ''')
+
+        when:
+        def compilation = javac()
+            .withOptions('-Xlint:unchecked')
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.warnings().empty
+
+        when:
+        def type = loadGenerated(compilation, 'test.PersonImpl')
+        def accessor = type.classLoader.loadClass('test.PersonImpl$Accessor')
+        def person = type.newInstance()
+        accessor.names().each { name -> accessor.set(person, accessor.indexOf(name), [name: 'Ada', age: 36, tags: ['x']][name]) }
+
+        then:
+        accessor.names() == ['name', 'age', 'tags'] as String[]
+        person.name == 'Ada'
+        person.age == 36
+        person.tags == ['x']
+        (0..<accessor.size()).collect { accessor.get(person, it) } == ['Ada', 36, ['x']]
+
+        when:
+        accessor.set(person, 3, 'x')
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    private static Class<?> loadGenerated(Compilation compilation, String className) {
+        def classes = compilation.generatedFiles()
+            .findAll { it.kind == JavaFileObject.Kind.CLASS }
+            .collectEntries { [(it.toUri().path.replaceFirst('^/CLASS_OUTPUT/', '').replace('/', '.') - '.class'): it.openInputStream().bytes] }
+        def loader = new ClassLoader(MutableProcessorSpec.classLoader) {
+            @Override
+            protected Class<?> findClass(String name) {
+                byte[] bytes = classes[name]
+                bytes == null ? super.findClass(name) : defineClass(name, bytes, 0, bytes.length)
+            }
+        }
+        loader.loadClass(className)
+    }
 }
@@ -0,0 +1,109 @@
+package io.github.joke.caffeinate.columns
+
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(ColumnStorageStrategy)
+class ColumnStorageStrategySpec extends Specification {
+
+    final strategy = new ColumnStorageStrategy()
+
+    def 'stores each property in an array of its type'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+        model.properties.add(new Property('symbol', ClassName.get(String), 'getSymbol', []))
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.fields.collectEntries { [(it.name()): it.type().toString()] } == [
+                capacity    : 'int',
+                priceColumn : 'double[]',
+                symbolColumn: 'java.lang.String[]',
+                tagsColumn  : 'java.lang.Object[]']
+        model.methods.findAll { it.constructor }*.parameters()*.size() == [0, 1]
+    }
+
+    def 'appends the getter values of an element'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+        model.properties.add(new Property('buy', TypeName.BOOLEAN, 'isBuy', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final add = model.methods.find { it.name() == 'add' }
+        add.parameters()[0].type().toString() == 'test.Sample'
+        add.toString().contains('this.priceColumn[this.size] = value.getPrice();')
+        add.toString().contains('this.buyColumn[this.size] = value.isBuy();')
+        add.toString().contains('this.size++;')
+        model.methods.find { it.name() == 'grow' }.toString()
+                .contains('this.priceColumn = java.util.Arrays.copyOf(this.priceColumn, this.capacity);')
+    }
+
+    def 'clears only reference columns'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+        model.properties.add(new Property('symbol', ClassName.get(String), 'getSymbol', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final clear = model.methods.find { it.name() == 'clear' }.toString()
+        clear.contains('java.util.Arrays.fill(this.symbolColumn, 0, this.size, null);')
+        !clear.contains('priceColumn')
+    }
+
+    def 'reads a column by index'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final price = model.methods.find { it.name() == 'getPrice' }
+        price.parameters()*.name() == ['index']
+        price.toString().contains('java.util.Objects.checkIndex(index, this.size);')
+        price.toString().contains('return this.priceColumn[index];')
+
+        final tags = model.methods.find { it.name() == 'getTags' }
+        tags.annotations()*.toString() == ['@java.lang.SuppressWarnings("unchecked")']
+        tags.toString().contains('return (java.util.List<java.lang.String>) this.tagsColumn[index];')
+    }
+
+    private TypeElement mockTypeElement() {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Sample'
+        element.simpleName >> name
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.joke.caffeinate.columns
+
+import io.github.joke.caffeinate.strategy.ClassModel
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(ColumnsStructureStrategy)
+class ColumnsStructureStrategySpec extends Specification {
+
+    final strategy = new ColumnsStructureStrategy()
+
+    def 'declares a final columns class with a shared cursor'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.className == 'SampleColumns'
+        model.modifiers == [Modifier.PUBLIC, Modifier.FINAL]
+        model.superinterfaces.empty
+        model.fields*.name() == ['size', 'cursor']
+        model.fields[1].type().toString() == 'test.SampleColumns.Cursor'
+        model.methods*.name() == ['size', 'get', 'forEach']
+    }
+
+    def 'checks the index when positioning the shared cursor'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final get = model.methods.find { it.name() == 'get' }
+        get.returnType().toString() == 'test.SampleColumns.Cursor'
+        get.toString().contains('this.cursor.index = java.util.Objects.checkIndex(index, this.size);')
+    }
+
+    def 'iterates with a cursor of its own'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final forEach = model.methods.find { it.name() == 'forEach' }
+        forEach.parameters()[0].type().toString() == 'java.util.function.Consumer<? super test.Sample>'
+        forEach.toString().contains('test.SampleColumns.Cursor each = new test.SampleColumns.Cursor();')
+        forEach.toString().contains('action.accept(each);')
+    }
+
+    private TypeElement mockTypeElement() {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Sample'
+        element.simpleName >> name
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
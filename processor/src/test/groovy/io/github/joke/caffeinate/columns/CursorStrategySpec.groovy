@@ -0,0 +1,84 @@
+package io.github.joke.caffeinate.columns
+
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(CursorStrategy)
+class CursorStrategySpec extends Specification {
+
+    final strategy = new CursorStrategy()
+
+    def 'nests a cursor implementing the interface'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.INTERFACE), model)
+
+        then:
+        model.types.size() == 1
+        final cursor = model.types[0]
+        cursor.name() == 'Cursor'
+        cursor.modifiers() == [Modifier.PUBLIC, Modifier.FINAL] as Set
+        cursor.superinterfaces()*.toString() == ['test.Sample']
+        cursor.fieldSpecs()*.name() == ['index']
+        cursor.methodSpecs().find { it.constructor }.modifiers() == [Modifier.PRIVATE] as Set
+    }
+
+    def 'extends abstract classes'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.CLASS), model)
+
+        then:
+        model.types[0].superclass().toString() == 'test.Sample'
+        model.types[0].superinterfaces().empty
+    }
+
+    def 'reads getters from the columns of the container'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('price', TypeName.DOUBLE, 'getPrice', []))
+        model.properties.add(new Property('symbol', ClassName.get(String), 'getSymbol', []))
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.INTERFACE), model)
+
+        then:
+        final getters = model.types[0].methodSpecs().findAll { !it.constructor }
+        getters*.name() == ['getPrice', 'getSymbol']
+        getters[0].toString().contains('return test.SampleColumns.this.priceColumn[this.index];')
+        getters[1].returnType().toString() == 'java.lang.String'
+        getters[1].annotations()*.toString() == ['@java.lang.Override']
+    }
+
+    private TypeElement mockTypeElement(ElementKind kind) {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Sample'
+        element.simpleName >> name
+        element.kind >> kind
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
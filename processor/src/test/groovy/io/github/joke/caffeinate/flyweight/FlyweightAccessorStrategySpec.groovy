@@ -0,0 +1,79 @@
+package io.github.joke.caffeinate.flyweight
+
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(FlyweightAccessorStrategy)
+class FlyweightAccessorStrategySpec extends Specification {
+
+    final strategy = new FlyweightAccessorStrategy()
+
+    def 'packs properties in declaration order'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('active', TypeName.BOOLEAN, 'isActive', []))
+        model.properties.add(new Property('requestCount', TypeName.INT, 'getRequestCount', []))
+        model.properties.add(new Property('total', TypeName.LONG, 'getTotal', []))
+        model.properties.add(new Property('grade', TypeName.CHAR, 'getGrade', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.fields.collectEntries { [(it.name()): it.initializer().toString() as int] } == [
+                BYTES               : 15,
+                ACTIVE_OFFSET       : 0,
+                ACTIVE_BYTES        : 1,
+                REQUEST_COUNT_OFFSET: 1,
+                REQUEST_COUNT_BYTES : 4,
+                TOTAL_OFFSET        : 5,
+                TOTAL_BYTES         : 8,
+                GRADE_OFFSET        : 13,
+                GRADE_BYTES         : 2]
+    }
+
+    def 'reads each getter at its offset'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('value', type, 'getValue', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.methods.find { it.name() == 'getValue' }.toString().contains("return ${read};")
+        model.methods.find { it.name() == 'put' }.toString().contains("${write};")
+
+        where:
+        type             || read                                                | write
+        TypeName.BOOLEAN || 'this.buffer.get(this.offset + VALUE_OFFSET) != 0'  | 'buffer.put(offset + VALUE_OFFSET, (byte) (value.getValue() ? 1 : 0))'
+        TypeName.BYTE    || 'this.buffer.get(this.offset + VALUE_OFFSET)'       | 'buffer.put(offset + VALUE_OFFSET, value.getValue())'
+        TypeName.DOUBLE  || 'this.buffer.getDouble(this.offset + VALUE_OFFSET)' | 'buffer.putDouble(offset + VALUE_OFFSET, value.getValue())'
+    }
+
+    private TypeElement mockTypeElement() {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Sample'
+        element.simpleName >> name
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.joke.caffeinate.flyweight
+
+import io.github.joke.caffeinate.strategy.ClassModel
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(FlyweightStructureStrategy)
+class FlyweightStructureStrategySpec extends Specification {
+
+    final strategy = new FlyweightStructureStrategy()
+
+    def 'declares a final flyweight class implementing the interface'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.INTERFACE), model)
+
+        then:
+        model.className == 'SampleFlyweight'
+        model.modifiers == [Modifier.PUBLIC, Modifier.FINAL]
+        model.superinterfaces*.toString() == ['test.Sample']
+        model.superclass == null
+        model.fields*.name() == ['buffer', 'offset']
+    }
+
+    def 'extends abstract classes'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.CLASS), model)
+
+        then:
+        model.superclass.toString() == 'test.Sample'
+        model.superinterfaces.empty
+    }
+
+    def 'checks bounds when wrapping'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(mockTypeElement(ElementKind.INTERFACE), model)
+
+        then:
+        final wrap = model.methods.find { it.name() == 'wrap' }.toString()
+        wrap.contains('java.util.Objects.checkFromIndexSize(offset, BYTES, buffer.limit());')
+        wrap.contains('return this;')
+        model.methods.findAll { it.constructor }*.parameters()*.size() == [0, 2]
+    }
+
+    private TypeElement mockTypeElement(ElementKind kind) {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Sample'
+        element.simpleName >> name
+        element.kind >> kind
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
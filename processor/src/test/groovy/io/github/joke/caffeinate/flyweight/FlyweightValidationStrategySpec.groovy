@@ -0,0 +1,55 @@
+package io.github.joke.caffeinate.flyweight
+
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Messager
+import javax.lang.model.element.TypeElement
+import javax.tools.Diagnostic
+
+@Subject(FlyweightValidationStrategy)
+class FlyweightValidationStrategySpec extends Specification {
+
+    Messager messager = Mock()
+    TypeElement source = Stub()
+    final strategy = new FlyweightValidationStrategy(messager)
+
+    def 'accepts primitive properties'() {
+        final model = new ClassModel()
+        [TypeName.BOOLEAN, TypeName.BYTE, TypeName.SHORT, TypeName.CHAR, TypeName.INT, TypeName.FLOAT, TypeName.LONG, TypeName.DOUBLE]
+                .eachWithIndex { type, i -> model.properties.add(new Property("value$i", type, "getValue$i", [])) }
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+
+        expect:
+        !model.hasErrors()
+    }
+
+    def 'rejects properties without a fixed width'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('id', TypeName.LONG, 'getId', []))
+        model.properties.add(new Property('name', type, 'getName', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR,
+                "Properties of @Flyweight types must be primitives: getName() returns ${type}", source)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+
+        where:
+        type << [ClassName.get(String), TypeName.INT.box(), TypeName.get(int[])]
+    }
+}
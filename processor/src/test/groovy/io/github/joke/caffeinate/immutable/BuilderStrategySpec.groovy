@@ -0,0 +1,122 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Intern
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+import java.util.OptionalLong
+
+@Subject(BuilderStrategy)
+class BuilderStrategySpec extends Specification {
+
+    final strategy = new BuilderStrategy()
+    final nullable = AnnotationSpec.builder(ClassName.get('test', 'Nullable')).build()
+
+    def 'generates a nested builder and a static factory'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', [nullable]),
+                new Property('age', TypeName.INT, 'getAge', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.methods*.name == ['builder']
+        model.methods[0].toString().contains('public static test.PersonImpl.Builder builder()')
+
+        and:
+        final builder = model.types[0].toString()
+        builder.contains('public static final class Builder')
+        builder.contains('private java.lang.String name;')
+        builder.contains('public test.PersonImpl.Builder name(@test.Nullable java.lang.String name)')
+        builder.contains('return new test.PersonImpl(this.name, this.age);')
+    }
+
+    def 'loads from an instance and resets to defaults'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('active', TypeName.BOOLEAN, 'isActive', []),
+                new Property('score', TypeName.DOUBLE, 'getScore', []),
+                new Property('timeout', ClassName.get(OptionalLong), 'getTimeout', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        final builder = model.types[0]
+        final from = builder.methodSpecs().find { it.name == 'from' }.toString()
+        from.contains('from(test.Person instance)')
+        from.contains('this.active = instance.isActive();')
+        from.contains('this.timeout = instance.getTimeout();')
+
+        and:
+        final reset = builder.methodSpecs().find { it.name == 'reset' }.toString()
+        reset.contains('this.name = null;')
+        reset.contains('this.active = false;')
+        reset.contains('this.score = 0;')
+        reset.contains('this.timeout = java.util.OptionalLong.empty();')
+
+        and: 'optionals start out empty'
+        builder.fieldSpecs().find { it.name == 'timeout' }.toString() ==
+                'private java.util.OptionalLong timeout = java.util.OptionalLong.empty();\n'
+    }
+
+    def 'generates no builder for types without properties'() {
+        final model = new ClassModel()
+        model.className = 'MarkerImpl'
+
+        when:
+        strategy.generate(typeElement('Marker'), model)
+
+        then:
+        model.types.empty
+        model.methods.empty
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.enclosingElement >> null
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.getAnnotation(Intern) >> null
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Codec
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Messager
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.type.TypeMirror
+import javax.lang.model.util.Types
+import javax.tools.Diagnostic
+
+@Subject(CodecStrategy)
+class CodecStrategySpec extends Specification {
+
+    Messager messager = Mock()
+    Types types = Stub() {
+        erasure(_) >> Stub(TypeMirror)
+    }
+    final strategy = new CodecStrategy(messager, new TypeHierarchyResolver(types))
+
+    def 'generates nothing without @Codec'() {
+        final source = Stub(TypeElement)
+        source.getAnnotation(Codec) >> null
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+        model.types.empty
+    }
+
+    def 'reports properties without a wire representation'() {
+        final getter = mockGetter('getTags', returnKind == TypeKind.DECLARED ? declared(ElementKind.INTERFACE) : mirror(returnKind))
+        final source = mockSource([getter])
+        final model = new ClassModel()
+        model.properties.add(new Property('tags', type, 'getTags', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, "Unsupported @Codec property type: ${type}", getter)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+        model.types.empty
+
+        where:
+        type                                                                  | returnKind
+        ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)) | TypeKind.DECLARED
+        TypeName.get(int[])                                                   | TypeKind.ARRAY
+    }
+
+    // --- helpers ---
+
+    private TypeElement mockSource(List<ExecutableElement> methods) {
+        final source = Stub(TypeElement)
+        source.getAnnotation(Codec) >> Stub(Codec)
+        source.interfaces >> []
+        source.superclass >> mirror(TypeKind.NONE)
+        source.enclosedElements >> methods
+        return source
+    }
+
+    private ExecutableElement mockGetter(String simpleName, TypeMirror returnType) {
+        final name = Stub(Name)
+        name.toString() >> simpleName
+        final method = Stub(ExecutableElement)
+        method.simpleName >> name
+        method.parameters >> []
+        method.kind >> ElementKind.METHOD
+        method.modifiers >> EnumSet.of(Modifier.ABSTRACT, Modifier.PUBLIC)
+        method.returnType >> returnType
+        return method
+    }
+
+    private TypeMirror mirror(TypeKind kind) {
+        final mirror = Stub(TypeMirror)
+        mirror.kind >> kind
+        return mirror
+    }
+
+    private DeclaredType declared(ElementKind kind) {
+        final element = Stub(TypeElement)
+        element.kind >> kind
+        element.getAnnotation(_) >> null
+        final mirror = Stub(DeclaredType)
+        mirror.kind >> TypeKind.DECLARED
+        mirror.asElement() >> element
+        return mirror
+    }
+}
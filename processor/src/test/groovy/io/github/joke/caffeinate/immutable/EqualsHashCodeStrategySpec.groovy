@@ -0,0 +1,180 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ArrayTypeName
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.NoType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.util.Types
+
+@Subject(EqualsHashCodeStrategy)
+class EqualsHashCodeStrategySpec extends Specification {
+
+    final strategy = new EqualsHashCodeStrategy(new TypeHierarchyResolver(Stub(Types)))
+    final nullable = AnnotationSpec.builder(ClassName.get('test', 'Nullable')).build()
+
+    def 'compares primitives before references and elides null checks for non-nullable properties'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []),
+                new Property('nickname', TypeName.get(String), 'getNickname', [nullable]))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        final equals = method(model, 'equals')
+        equals.contains('if (!(other instanceof test.PersonImpl)) return false;')
+        equals.contains('this.age == that.age')
+        equals.contains('this.name.equals(that.name)')
+        equals.contains('java.util.Objects.equals(this.nickname, that.nickname)')
+        equals.indexOf('this.age') < equals.indexOf('this.name')
+    }
+
+    def 'compares floating point and array properties by value'() {
+        final model = modelWith(
+                new Property('ratio', TypeName.DOUBLE, 'getRatio', []),
+                new Property('weight', TypeName.FLOAT, 'getWeight', []),
+                new Property('data', ArrayTypeName.of(TypeName.BYTE), 'getData', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        final equals = method(model, 'equals')
+        equals.contains('java.lang.Double.compare(this.ratio, that.ratio) == 0')
+        equals.contains('java.lang.Float.compare(this.weight, that.weight) == 0')
+        equals.contains('java.util.Arrays.equals(this.data, that.data)')
+
+        and:
+        final hashCode = method(model, 'hashCode')
+        hashCode.contains('java.lang.Double.hashCode(this.ratio)')
+        hashCode.contains('java.util.Arrays.hashCode(this.data)')
+    }
+
+    def 'caches the hash code in a transient field with a racy single-check'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('nickname', TypeName.get(String), 'getNickname', [nullable]))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.fields.size() == 1
+        model.fields[0].toString() == 'private transient int hashCode;\n'
+
+        and:
+        final hashCode = method(model, 'hashCode')
+        hashCode.contains('int result = this.hashCode;')
+        hashCode.contains('if (result == 0)')
+        hashCode.contains('result = 31 * result + this.name.hashCode();')
+        hashCode.contains('result = 31 * result + java.util.Objects.hashCode(this.nickname);')
+        hashCode.contains('this.hashCode = result;')
+
+        and: 'equals rejects instances whose cached hashes differ'
+        method(model, 'equals').contains(
+                'if (this.hashCode != 0 && that.hashCode != 0 && this.hashCode != that.hashCode) return false;')
+    }
+
+    def 'avoids a clash between the cache field and a property named hashCode'() {
+        final model = modelWith(new Property('hashCode', TypeName.LONG, 'getHashCode', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.fields[0].toString() == 'private transient int hashCode$;\n'
+        method(model, 'hashCode').contains('result = 31 * result + java.lang.Long.hashCode(this.hashCode);')
+    }
+
+    def 'generates constant equality for types without properties'() {
+        final model = modelWith()
+        model.className = 'MarkerImpl'
+
+        when:
+        strategy.generate(typeElement('Marker'), model)
+
+        then:
+        model.fields.empty
+        method(model, 'equals').contains('return this == other || other instanceof test.MarkerImpl;')
+        method(model, 'hashCode').contains('return 1;')
+    }
+
+    def 'keeps equals and hashCode declared by an abstract class'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        final hashCode = Stub(ExecutableElement)
+        hashCode.simpleName >> name('hashCode')
+        hashCode.parameters >> []
+        hashCode.modifiers >> ([Modifier.PUBLIC] as Set)
+        hashCode.kind >> ElementKind.METHOD
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', [hashCode]), model)
+
+        then:
+        model.methods.empty
+        model.fields.empty
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private static String method(ClassModel model, String name) {
+        model.methods.find { it.name == name }.toString()
+    }
+
+    private TypeElement typeElement(String simpleName, List enclosed = []) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.enclosingElement >> null
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final superclass = Stub(NoType)
+        superclass.kind >> TypeKind.NONE
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.enclosedElements >> enclosed
+        element.superclass >> superclass
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -1,11 +1,14 @@
 package io.github.joke.caffeinate.immutable
 
+import io.github.joke.caffeinate.render.SourceRenderer
+import io.github.joke.caffeinate.stats.ProcessingStatistics
 import io.github.joke.caffeinate.strategy.ClassModel
 import io.github.joke.caffeinate.strategy.GenerationStrategy
 import spock.lang.Specification
 import spock.lang.Subject
 
 import javax.annotation.processing.Filer
+import javax.annotation.processing.Messager
 import javax.lang.model.element.ElementKind
 import javax.lang.model.element.ElementVisitor
 import javax.lang.model.element.Modifier
@@ -17,14 +20,22 @@ import javax.tools.JavaFileObject
 @Subject(ImmutableGenerator)
 class ImmutableGeneratorSpec extends Specification {
 
-    GenerationStrategy analysisStrategy = Mock()
-    GenerationStrategy generationStrategy = Mock()
+    GenerationStrategy analysisStrategy = Mock() {
+        runsAfter() >> ([] as Set)
+    }
+    GenerationStrategy generationStrategy = Mock() {
+        runsAfter() >> ([] as Set)
+    }
     Filer filer = Mock()
+    Messager messager = Mock()
+    final statistics = new ProcessingStatistics([:])
+    final renderer = new SourceRenderer(filer, messager, statistics, 1)
 
     final generator = new ImmutableGenerator(
             [analysisStrategy] as Set,
             [generationStrategy] as Set,
-            filer
+            renderer,
+            statistics
     )
 
     def 'runs analysis strategies before generation strategies'() {
@@ -33,6 +44,7 @@ class ImmutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -53,6 +65,7 @@ class ImmutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -68,6 +81,7 @@ class ImmutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -79,6 +93,22 @@ class ImmutableGeneratorSpec extends Specification {
         0 * _
     }
 
+    def 'registers the source element as the only originating element'() {
+        final source = mockTypeElement('Person')
+
+        when:
+        generator.generate(source)
+        renderer.flush()
+
+        then:
+        1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
+            m.className = 'PersonImpl'
+        }
+        1 * generationStrategy.generate(source, _)
+        1 * filer.createSourceFile('test.PersonImpl', source) >> mockJavaFileObject()
+        0 * _
+    }
+
     private TypeElement mockTypeElement(String simpleName) {
         final packageElement = Stub(PackageElement)
         final packageName = Stub(Name)
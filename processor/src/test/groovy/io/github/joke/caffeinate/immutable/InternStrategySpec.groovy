@@ -0,0 +1,211 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.CodeBlock
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Intern
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.Element
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.type.TypeMirror
+import javax.lang.model.util.Types
+
+@Subject(InternStrategy)
+class InternStrategySpec extends Specification {
+
+    final strategy = new InternStrategy(new TypeHierarchyResolver(Stub(Types)))
+
+    def 'does nothing without @Intern'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'TagImpl'
+
+        when:
+        strategy.generate(typeElement('Tag', null), model)
+
+        then:
+        model.methods.empty
+        model.fields.empty
+    }
+
+    def 'interns through a weak map by default'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('weight', TypeName.INT, 'getWeight', []))
+        model.className = 'TagImpl'
+
+        when:
+        strategy.generate(typeElement('Tag', 0), model)
+
+        then:
+        model.fields[0].toString() == 'private static final java.util.Map<test.TagImpl, java.lang.ref.WeakReference<test.TagImpl>> INTERNED = new java.util.WeakHashMap<>();\n'
+
+        and:
+        final factory = model.methods[0].toString()
+        factory.contains('public static test.TagImpl of(java.lang.String name, int weight)')
+        factory.contains('test.TagImpl candidate = new test.TagImpl(name, weight);')
+        factory.contains('synchronized (INTERNED)')
+        factory.contains('INTERNED.put(candidate, new java.lang.ref.WeakReference<>(candidate));')
+    }
+
+    def 'interns through a bounded access-ordered map with maxSize'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'TagImpl'
+
+        when:
+        strategy.generate(typeElement('Tag', 128), model)
+
+        then:
+        final field = model.fields[0].toString()
+        field.startsWith('@java.lang.SuppressWarnings("serial")')
+        field.contains('INTERNED = new java.util.LinkedHashMap<test.TagImpl, test.TagImpl>(128, 0.75f, true)')
+        field.contains('return size() > 128;')
+        model.methods[0].toString().contains('test.TagImpl existing = INTERNED.putIfAbsent(candidate, candidate);')
+    }
+
+    def 'precomputes a table for boolean and enum properties'() {
+        final model = modelWith(
+                new Property('color', ClassName.get('test', 'Color'), 'getColor', []),
+                new Property('active', TypeName.BOOLEAN, 'isActive', []))
+        final source = typeElement('Flag', 0, [getter('getColor', enumType(3)), getter('isActive', primitiveBoolean())])
+        model.className = 'FlagImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.fields*.toString() == [
+                'private static final test.Color[] COLOR_VALUES = test.Color.values();\n',
+                'private static final test.FlagImpl[] INTERNED = table();\n']
+
+        and:
+        final table = model.methods[0].toString()
+        table.contains('test.FlagImpl[] instances = new test.FlagImpl[COLOR_VALUES.length * 2];')
+        table.contains('for (test.Color color : COLOR_VALUES)')
+        table.contains('for (boolean active : new boolean[] {false, true})')
+        table.contains('instances[index++] = new test.FlagImpl(color, active);')
+
+        and:
+        final factory = model.methods[1].toString()
+        factory.contains('public static test.FlagImpl of(test.Color color, boolean active)')
+        factory.contains('return INTERNED[color.ordinal() * 2 + (active ? 1 : 0)];')
+    }
+
+    def 'falls back to a map when the table would exceed the limit'() {
+        final properties = (0..10).collect { new Property("flag$it", TypeName.BOOLEAN, "isFlag$it", []) }
+        final model = modelWith(properties as Property[])
+        model.className = 'FlagsImpl'
+
+        when:
+        strategy.generate(typeElement('Flags', 0), model)
+
+        then:
+        model.fields[0].toString().contains('java.util.WeakHashMap')
+    }
+
+    def 'falls back to a map for nullable enums'() {
+        final nullable = AnnotationSpec.builder(ClassName.get('org.jspecify.annotations', 'Nullable')).build()
+        final model = modelWith(new Property('color', ClassName.get('test', 'Color'), 'getColor', [nullable]))
+        model.className = 'FlagImpl'
+
+        when:
+        strategy.generate(typeElement('Flag', 0, [getter('getColor', enumType(3))]), model)
+
+        then:
+        model.fields[0].toString().contains('java.util.WeakHashMap')
+    }
+
+    def 'creates instances through the factory only for @Intern types'() {
+        final self = ClassName.get('test', 'TagImpl')
+
+        expect:
+        InternStrategy.newInstance(typeElement('Tag', 0), self, CodeBlock.of('a')).toString() == 'test.TagImpl.of(a)'
+        InternStrategy.newInstance(typeElement('Tag', null), self, CodeBlock.of('a')).toString() == 'new test.TagImpl(a)'
+    }
+
+    def 'uses the shared instance for types without properties'() {
+        expect:
+        InternStrategy.newInstance(typeElement('Marker', 0), ClassName.get('test', 'MarkerImpl'), CodeBlock.of(''))
+                .toString() == 'test.MarkerImpl.INSTANCE'
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName, Integer maxSize, List<ExecutableElement> methods = []) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.enclosingElement >> null
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        if (maxSize == null) {
+            element.getAnnotation(Intern) >> null
+        } else {
+            final intern = Stub(Intern)
+            intern.maxSize() >> maxSize
+            element.getAnnotation(Intern) >> intern
+        }
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        element.interfaces >> []
+        element.superclass >> Stub(TypeMirror) { getKind() >> TypeKind.NONE }
+        element.enclosedElements >> methods
+
+        return element
+    }
+
+    private ExecutableElement getter(String simpleName, TypeMirror returnType) {
+        final method = Stub(ExecutableElement)
+        method.simpleName >> name(simpleName)
+        method.parameters >> []
+        method.kind >> ElementKind.METHOD
+        method.modifiers >> EnumSet.of(Modifier.ABSTRACT, Modifier.PUBLIC)
+        method.returnType >> returnType
+        return method
+    }
+
+    private DeclaredType enumType(int constants) {
+        final element = Stub(TypeElement)
+        element.kind >> ElementKind.ENUM
+        element.enclosedElements >> (1..constants).collect { Stub(Element) { getKind() >> ElementKind.ENUM_CONSTANT } }
+        final mirror = Stub(DeclaredType)
+        mirror.kind >> TypeKind.DECLARED
+        mirror.asElement() >> element
+        return mirror
+    }
+
+    private TypeMirror primitiveBoolean() {
+        Stub(TypeMirror) { getKind() >> TypeKind.BOOLEAN }
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
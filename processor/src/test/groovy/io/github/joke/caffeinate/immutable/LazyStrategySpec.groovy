@@ -0,0 +1,128 @@
+package io.github.joke.caffeinate.immutable
+
+import io.github.joke.caffeinate.customize.Lazy
+import io.github.joke.caffeinate.strategy.ClassModel
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Messager
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.TypeElement
+import javax.lang.model.element.TypeParameterElement
+import javax.lang.model.element.VariableElement
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.type.TypeMirror
+import javax.lang.model.util.Types
+import javax.tools.Diagnostic
+
+@Subject(LazyStrategy)
+class LazyStrategySpec extends Specification {
+
+    Messager messager = Mock()
+    Types types = Stub()
+    final strategy = new LazyStrategy(messager, types)
+
+    def 'ignores methods without @Lazy'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(typeElement([method('getFullName', [Modifier.PUBLIC], false)]), model)
+
+        then:
+        0 * messager._
+        model.methods.empty
+        model.fields.empty
+    }
+
+    def 'rejects @Lazy methods that cannot be memoized'() {
+        final model = new ClassModel()
+        final lazy = method('compute', modifiers, true, parameters, typeParameters, returnKind)
+
+        when:
+        strategy.generate(typeElement([lazy]), model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, message, lazy)
+        model.hasErrors()
+        model.methods.empty
+
+        where:
+        modifiers                            | parameters                | typeParameters                   | returnKind       || message
+        [Modifier.PUBLIC, Modifier.ABSTRACT] | []                        | []                               | TypeKind.INT     || '@Lazy methods must have an implementation'
+        [Modifier.PRIVATE]                   | []                        | []                               | TypeKind.INT     || '@Lazy methods must not be private, static or final'
+        [Modifier.PUBLIC, Modifier.FINAL]    | []                        | []                               | TypeKind.INT     || '@Lazy methods must not be private, static or final'
+        [Modifier.PUBLIC]                    | [Stub(VariableElement)]   | []                               | TypeKind.INT     || '@Lazy methods must have no parameters and no type parameters'
+        [Modifier.PUBLIC]                    | []                        | [Stub(TypeParameterElement)]     | TypeKind.INT     || '@Lazy methods must have no parameters and no type parameters'
+        [Modifier.PUBLIC]                    | []                        | []                               | TypeKind.VOID    || '@Lazy methods must not return void'
+    }
+
+    def 'checks @Lazy methods inherited from supertypes'() {
+        final model = new ClassModel()
+        final lazy = method('getTotal', [Modifier.PUBLIC, Modifier.ABSTRACT], true)
+        final source = typeElement([], typeElement([lazy]))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, '@Lazy methods must have an implementation', lazy)
+        model.hasErrors()
+    }
+
+    def 'ignores inherited @Lazy methods that are overridden without @Lazy'() {
+        final model = new ClassModel()
+        final inherited = method('getTotal', [Modifier.PUBLIC, Modifier.ABSTRACT], true)
+        final source = typeElement([method('getTotal', [Modifier.PUBLIC], false)], typeElement([inherited]))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+        !model.hasErrors()
+        model.fields.empty
+    }
+
+    // --- helpers ---
+
+    private ExecutableElement method(String simpleName, List<Modifier> modifiers, boolean lazy,
+                                     List parameters = [], List typeParameters = [], TypeKind returnKind = TypeKind.INT) {
+        final returnType = Stub(TypeMirror)
+        returnType.kind >> returnKind
+
+        final method = Stub(ExecutableElement)
+        method.simpleName >> name(simpleName)
+        method.kind >> ElementKind.METHOD
+        method.modifiers >> (modifiers as Set)
+        method.parameters >> parameters
+        method.typeParameters >> typeParameters
+        method.returnType >> returnType
+        method.getAnnotation(Lazy) >> (lazy ? Stub(Lazy) : null)
+        return method
+    }
+
+    private TypeElement typeElement(List enclosed, TypeElement superclass = null) {
+        final superType = Stub(DeclaredType)
+        superType.kind >> (superclass != null ? TypeKind.DECLARED : TypeKind.NONE)
+        types.asElement(superType) >> superclass
+
+        final element = Stub(TypeElement)
+        element.kind >> ElementKind.CLASS
+        element.qualifiedName >> name('test.Person')
+        element.enclosedElements >> enclosed
+        element.superclass >> superType
+        element.interfaces >> []
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
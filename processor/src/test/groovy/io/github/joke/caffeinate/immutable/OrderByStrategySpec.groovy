@@ -0,0 +1,275 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.OrderBy
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.ClassStructureStrategy
+import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.TypeHierarchyResolver
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Messager
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.DeclaredType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.type.TypeMirror
+import javax.lang.model.util.Types
+import javax.tools.Diagnostic
+
+@Subject(OrderByStrategy)
+class OrderByStrategySpec extends Specification {
+
+    Messager messager = Mock()
+    Types types = Stub() {
+        erasure(_) >> Stub(TypeMirror)
+    }
+    final strategy = new OrderByStrategy(messager, new TypeHierarchyResolver(types), types)
+
+    def 'runs after the class structure is set up'() {
+        expect:
+        strategy.runsAfter() == [ClassStructureStrategy] as Set
+    }
+
+    def 'generates nothing without @OrderBy'() {
+        final source = Stub(TypeElement)
+        source.getAnnotation(OrderBy) >> null
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+        model.superinterfaces.empty
+        model.methods.empty
+    }
+
+    def 'makes the implementation comparable'() {
+        final source = mockSource(orderBy(['name']), [])
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+        model.superinterfaces*.toString() == ['java.lang.Comparable<test.Sample>']
+        model.fields*.toString() == ['public static final java.util.Comparator<test.Sample> COMPARATOR = test.SampleImpl::compare;\n']
+        model.methods*.name() == ['compareTo', 'compare']
+        model.methods[0].toString().contains('return compare(this, other);')
+        model.methods[1].modifiers() == [Modifier.PRIVATE, Modifier.STATIC] as Set
+    }
+
+    def 'compares properties in the declared order without boxing'() {
+        final source = mockSource(orderBy(['count', 'total', 'name']), [])
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+        model.properties.add(new Property('count', TypeName.INT, 'getCount', []))
+        model.properties.add(new Property('total', ClassName.get(Long), 'getTotal', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        final compare = model.methods.find { it.name() == 'compare' }.toString()
+        final count = compare.indexOf('result = java.lang.Integer.compare(left.getCount(), right.getCount());')
+        final total = compare.indexOf('result = java.lang.Long.compare(left.getTotal(), right.getTotal());')
+        final name = compare.indexOf('result = left.getName().compareTo(right.getName());')
+        0 <= count && count < total && total < name
+        compare.contains('return 0;')
+    }
+
+    def 'orders null values of nullable properties'() {
+        final nullable = AnnotationSpec.builder(ClassName.get('org.jspecify.annotations', 'Nullable')).build()
+        final source = mockSource(orderBy(['name'], nulls), [])
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', [nullable]))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        final compare = model.methods.find { it.name() == 'compare' }.toString()
+        compare.contains('java.lang.String leftName = left.getName();')
+        compare.contains('if (leftName == null || rightName == null) {')
+        compare.contains("return leftName == null ? ${result};")
+        compare.contains('result = leftName.compareTo(rightName);')
+
+        where:
+        nulls              || result
+        OrderBy.Nulls.FIRST || '-1 : 1'
+        OrderBy.Nulls.LAST  || '1 : -1'
+    }
+
+    def 'accepts types implementing Comparable'() {
+        final comparableElement = Stub(TypeElement)
+        comparableElement.qualifiedName >> name('java.lang.Comparable')
+        final returnType = declared(Stub(TypeElement) { getQualifiedName() >> name('test.Version') })
+        final comparable = declared(comparableElement, [returnType])
+        types.directSupertypes(returnType) >> [comparable]
+        types.isAssignable(returnType, returnType) >> true
+        final getter = mockGetter('getVersion', returnType)
+        final source = mockSource(orderBy(['version']), [getter])
+        final model = new ClassModel()
+        model.properties.add(new Property('version', ClassName.get('test', 'Version'), 'getVersion', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+        !model.hasErrors()
+        model.methods.find { it.name() == 'compare' }.toString()
+                .contains('result = left.getVersion().compareTo(right.getVersion());')
+    }
+
+    def 'reports types that are only comparable to an unrelated type'() {
+        final comparableElement = Stub(TypeElement)
+        comparableElement.qualifiedName >> name('java.lang.Comparable')
+        final other = declared(Stub(TypeElement) { getQualifiedName() >> name('test.Bar') })
+        final returnType = declared(Stub(TypeElement) { getQualifiedName() >> name('test.Foo') })
+        types.directSupertypes(returnType) >> [declared(comparableElement, [other])]
+        types.isAssignable(returnType, other) >> false
+        final getter = mockGetter('getFoo', returnType)
+        final source = mockSource(orderBy(['foo']), [getter])
+        final model = new ClassModel()
+        final type = ClassName.get('test', 'Foo')
+        model.properties.add(new Property('foo', type, 'getFoo', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, "@OrderBy property is not comparable: foo has type ${type}", getter)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+    }
+
+    def 'reports properties that are not comparable'() {
+        final returnType = declared(Stub(TypeElement) { getQualifiedName() >> name('java.util.List') })
+        types.directSupertypes(returnType) >> []
+        final getter = mockGetter('getTags', returnType)
+        final source = mockSource(orderBy(['tags']), [getter])
+        final model = new ClassModel()
+        final type = ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String))
+        model.properties.add(new Property('tags', type, 'getTags', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, "@OrderBy property is not comparable: tags has type ${type}", getter)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+        model.methods.empty
+    }
+
+    def 'reports unknown properties'() {
+        final source = mockSource(orderBy(['missing']), [])
+        final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, 'Unknown @OrderBy property: missing', source)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+        model.superinterfaces.empty
+    }
+
+    def 'reports an empty property list'() {
+        final source = mockSource(orderBy([]), [])
+        final model = new ClassModel()
+        model.className = 'SampleImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, '@OrderBy requires at least one property', source)
+
+        expect:
+        model.hasErrors()
+    }
+
+    // --- helpers ---
+
+    private OrderBy orderBy(List<String> names, OrderBy.Nulls nulls = OrderBy.Nulls.FIRST) {
+        final orderBy = Stub(OrderBy)
+        orderBy.value() >> (names as String[])
+        orderBy.nulls() >> nulls
+        return orderBy
+    }
+
+    private TypeElement mockSource(OrderBy orderBy, List<ExecutableElement> methods) {
+        final packageElement = Stub(PackageElement)
+        final packageName = name('test')
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final source = Stub(TypeElement)
+        source.simpleName >> name('Sample')
+        source.kind >> ElementKind.INTERFACE
+        source.enclosingElement >> packageElement
+        source.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(source, p) }
+        source.getAnnotation(OrderBy) >> orderBy
+        source.interfaces >> []
+        source.superclass >> Stub(TypeMirror) { getKind() >> TypeKind.NONE }
+        source.enclosedElements >> methods
+        return source
+    }
+
+    private ExecutableElement mockGetter(String simpleName, TypeMirror returnType) {
+        final method = Stub(ExecutableElement)
+        method.simpleName >> name(simpleName)
+        method.parameters >> []
+        method.kind >> ElementKind.METHOD
+        method.modifiers >> EnumSet.of(Modifier.ABSTRACT, Modifier.PUBLIC)
+        method.returnType >> returnType
+        return method
+    }
+
+    private DeclaredType declared(TypeElement element, List<TypeMirror> typeArguments = []) {
+        final mirror = Stub(DeclaredType)
+        mirror.kind >> TypeKind.DECLARED
+        mirror.asElement() >> element
+        mirror.typeArguments >> typeArguments
+        return mirror
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_ as CharSequence) >> { CharSequence other -> value == other.toString() }
+        return name
+    }
+}
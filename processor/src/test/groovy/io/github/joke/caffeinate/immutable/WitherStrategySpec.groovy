@@ -0,0 +1,129 @@
+package io.github.joke.caffeinate.immutable
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ArrayTypeName
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.strategy.BitSlot
+import io.github.joke.caffeinate.customize.Intern
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.Storage
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(WitherStrategy)
+class WitherStrategySpec extends Specification {
+
+    final strategy = new WitherStrategy()
+    static final nullable = AnnotationSpec.builder(ClassName.get('test', 'Nullable')).build()
+
+    def 'returns this for an unchanged value and copies the other properties otherwise'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.methods*.name == ['withName', 'withAge']
+        final withAge = model.methods[1].toString()
+        withAge.contains('public test.PersonImpl withAge(int age)')
+        withAge.contains('if (this.age == age) {\n    return this;')
+        withAge.contains('return new test.PersonImpl(this.name, age);')
+    }
+
+    def 'shares the copies of unchanged collections through the private constructor'() {
+        final tags = ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String))
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('tags', tags, 'getTags', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.methods[0].toString().contains('return new test.PersonImpl(name, this.tags, true);')
+        model.methods[1].toString().contains(
+                'return new test.PersonImpl(this.name, copyList(tags), true);')
+    }
+
+    def 'compares the current value like equals'() {
+        final model = modelWith(property)
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.methods[0].toString().contains("if (${condition})")
+
+        where:
+        property                                                                  || condition
+        new Property('name', TypeName.get(String), 'getName', [])                 || 'this.name == name || this.name.equals(name)'
+        new Property('nickname', TypeName.get(String), 'getNickname', [nullable]) || 'java.util.Objects.equals(this.nickname, nickname)'
+        new Property('ratio', TypeName.DOUBLE, 'getRatio', [])                    || 'java.lang.Double.compare(this.ratio, ratio) == 0'
+        new Property('data', ArrayTypeName.of(TypeName.BYTE), 'getData', [])      || 'this.data == data'
+    }
+
+    def 'compares unboxed and packed storage without boxing'() {
+        final count = new Property('count', TypeName.INT.box(), 'getCount', [])
+                .withStorage(Storage.UNBOXED, TypeName.INT, null)
+        final active = new Property('active', TypeName.BOOLEAN, 'isActive', [])
+                .withStorage(Storage.PACKED, TypeName.BOOLEAN, new BitSlot('bits0', TypeName.INT, 0))
+        final model = modelWith(count, active)
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person'), model)
+
+        then:
+        model.methods[0].toString().contains('if (this.count == count)')
+        model.methods[1].toString().contains('if (((this.bits0 & 0x1) != 0) == active)')
+        model.methods[1].toString().contains('return new test.PersonImpl(this.count, active);')
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.enclosingElement >> null
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.getAnnotation(Intern) >> null
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
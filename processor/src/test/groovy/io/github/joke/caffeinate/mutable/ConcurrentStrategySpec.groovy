@@ -0,0 +1,111 @@
+package io.github.joke.caffeinate.mutable
+
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Concurrent
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(ConcurrentStrategy)
+class ConcurrentStrategySpec extends Specification {
+
+    final strategy = new ConcurrentStrategy()
+
+    def 'generates nothing without @Concurrent'() {
+        final model = new ClassModel()
+        model.properties.add(new Property('count', TypeName.INT, 'getCount', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.fields.empty
+        model.methods.empty
+    }
+
+    def 'generates a VarHandle and atomic methods per property'() {
+        final model = concurrentModel()
+        model.properties.add(new Property('requestCount', TypeName.INT, 'getRequestCount', []))
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        model.fields*.name() == ['REQUEST_COUNT', 'NAME']
+        model.fields[0].toString().contains('private static final java.lang.invoke.VarHandle REQUEST_COUNT = varHandle("requestCount", int.class);')
+        model.methods*.name() == [
+                'compareAndSetRequestCount', 'getAndUpdateRequestCount', 'updateRequestCount',
+                'compareAndSetName', 'getAndUpdateName', 'updateName',
+                'varHandle']
+    }
+
+    def 'uses primitive operators for int, long and double'() {
+        final model = concurrentModel()
+        model.properties.add(new Property('value', type, 'getValue', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final update = model.methods.find { it.name() == 'updateValue' }
+        update.parameters()[0].type().toString() == operator
+        update.toString().contains("next = updateFunction.${apply}(previous);")
+
+        where:
+        type                   || operator                                         | apply
+        TypeName.INT           || 'java.util.function.IntUnaryOperator'            | 'applyAsInt'
+        TypeName.LONG          || 'java.util.function.LongUnaryOperator'           | 'applyAsLong'
+        TypeName.DOUBLE        || 'java.util.function.DoubleUnaryOperator'         | 'applyAsDouble'
+        TypeName.BOOLEAN       || 'java.util.function.UnaryOperator<java.lang.Boolean>' | 'apply'
+        TypeName.get(String)   || 'java.util.function.UnaryOperator<java.lang.String>'  | 'apply'
+    }
+
+    def 'retries the update until the weak compare-and-set succeeds'() {
+        final model = concurrentModel()
+        model.properties.add(new Property('count', TypeName.LONG, 'getCount', []))
+
+        when:
+        strategy.generate(mockTypeElement(), model)
+
+        then:
+        final getAndUpdate = model.methods.find { it.name() == 'getAndUpdateCount' }.toString()
+        getAndUpdate.contains('previous = (long) COUNT.getVolatile(this);')
+        getAndUpdate.contains('} while (!COUNT.weakCompareAndSet(this, previous, next));')
+        getAndUpdate.contains('return previous;')
+        model.methods.find { it.name() == 'updateCount' }.toString().contains('return next;')
+    }
+
+    private static ClassModel concurrentModel() {
+        final model = new ClassModel()
+        model.className = 'CounterImpl'
+        model.concurrentAccess = Concurrent.Access.VOLATILE
+        return model
+    }
+
+    private TypeElement mockTypeElement() {
+        final packageElement = Stub(PackageElement)
+        final packageName = Stub(Name)
+        packageName.toString() >> 'test'
+        packageElement.qualifiedName >> packageName
+        packageElement.simpleName >> packageName
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        final name = Stub(Name)
+        name.toString() >> 'Counter'
+        element.simpleName >> name
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+}
@@ -0,0 +1,104 @@
+package io.github.joke.caffeinate.mutable
+
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Accessor
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(MutableAccessorStrategy)
+class MutableAccessorStrategySpec extends Specification {
+
+    final strategy = new MutableAccessorStrategy()
+
+    def 'generates nothing without @Accessor'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', false), model)
+
+        then:
+        model.types.empty
+    }
+
+    def 'adds set to the nested Accessor'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', true), model)
+
+        then:
+        model.types.size() == 1
+        model.types[0].methodSpecs()*.name() == ['<init>', 'size', 'names', 'name', 'indexOf', 'get', 'set']
+
+        and:
+        final set = model.types[0].methodSpecs().last().toString()
+        set.startsWith('public static void set(test.PersonImpl instance, int index, java.lang.Object value)')
+        set.contains('case 0:\n      instance.setName((java.lang.String) value);\n      break;')
+        set.contains('case 1:\n      instance.setAge((java.lang.Integer) value);\n      break;')
+        set.contains('throw new java.lang.IndexOutOfBoundsException("No property at index " + index);')
+        !set.contains('SuppressWarnings')
+
+        and: 'get reads through the interface, set needs the generated setters'
+        model.types[0].methodSpecs().find { it.name() == 'get' }.parameters()[0].type().toString() == 'test.Person'
+    }
+
+    def 'suppresses unchecked warnings for parameterized properties'() {
+        final list = ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String))
+        final model = modelWith(new Property('tags', list, 'getTags', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', true), model)
+
+        then:
+        final set = model.types[0].methodSpecs().last().toString()
+        set.startsWith('@java.lang.SuppressWarnings("unchecked")')
+        set.contains('instance.setTags((java.util.List<java.lang.String>) value);')
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName, boolean accessor) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.getAnnotation(Accessor) >> (accessor ? Stub(Accessor) : null)
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.joke.caffeinate.mutable
 
 import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
 import com.palantir.javapoet.TypeName
 import io.github.joke.caffeinate.strategy.ClassModel
 import io.github.joke.caffeinate.strategy.Property
@@ -102,4 +104,17 @@ class MutableConstructorStrategySpec extends Specification {
         expect:
         model.methods[1].parameters[0].annotations.size() == 1
     }
+
+    def 'stores collections without copying'() {
+        final source = Stub(TypeElement)
+        source.kind >> ElementKind.INTERFACE
+        final model = new ClassModel()
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods[1].toString().contains('this.tags = tags;')
+    }
 }
@@ -1,11 +1,14 @@
 package io.github.joke.caffeinate.mutable
 
+import io.github.joke.caffeinate.render.SourceRenderer
+import io.github.joke.caffeinate.stats.ProcessingStatistics
 import io.github.joke.caffeinate.strategy.ClassModel
 import io.github.joke.caffeinate.strategy.GenerationStrategy
 import spock.lang.Specification
 import spock.lang.Subject
 
 import javax.annotation.processing.Filer
+import javax.annotation.processing.Messager
 import javax.lang.model.element.ElementKind
 import javax.lang.model.element.ElementVisitor
 import javax.lang.model.element.Modifier
@@ -17,16 +20,26 @@ import javax.tools.JavaFileObject
 @Subject(MutableGenerator)
 class MutableGeneratorSpec extends Specification {
 
-    GenerationStrategy analysisStrategy = Mock()
-    GenerationStrategy validationStrategy = Mock()
-    GenerationStrategy generationStrategy = Mock()
+    GenerationStrategy analysisStrategy = Mock() {
+        runsAfter() >> ([] as Set)
+    }
+    GenerationStrategy validationStrategy = Mock() {
+        runsAfter() >> ([] as Set)
+    }
+    GenerationStrategy generationStrategy = Mock() {
+        runsAfter() >> ([] as Set)
+    }
     Filer filer = Mock()
+    Messager messager = Mock()
+    final statistics = new ProcessingStatistics([:])
+    final renderer = new SourceRenderer(filer, messager, statistics, 1)
 
     final generator = new MutableGenerator(
             [analysisStrategy] as Set,
             [validationStrategy] as Set,
             [generationStrategy] as Set,
-            filer
+            renderer,
+            statistics
     )
 
     def 'runs analysis then validation then generation in order'() {
@@ -35,6 +48,7 @@ class MutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -56,6 +70,7 @@ class MutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -74,6 +89,7 @@ class MutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -90,6 +106,7 @@ class MutableGeneratorSpec extends Specification {
 
         when:
         generator.generate(source)
+        renderer.flush()
 
         then:
         1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
@@ -102,6 +119,23 @@ class MutableGeneratorSpec extends Specification {
         0 * _
     }
 
+    def 'registers the source element as the only originating element'() {
+        final source = mockTypeElement('Person')
+
+        when:
+        generator.generate(source)
+        renderer.flush()
+
+        then:
+        1 * analysisStrategy.generate(source, _) >> { TypeElement s, ClassModel m ->
+            m.className = 'PersonImpl'
+        }
+        1 * validationStrategy.generate(source, _)
+        1 * generationStrategy.generate(source, _)
+        1 * filer.createSourceFile('test.PersonImpl', source) >> mockJavaFileObject()
+        0 * _
+    }
+
     private TypeElement mockTypeElement(String simpleName) {
         final packageElement = Stub(PackageElement)
         final packageName = Stub(Name)
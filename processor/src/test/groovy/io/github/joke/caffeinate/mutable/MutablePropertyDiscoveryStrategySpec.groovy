@@ -1,7 +1,11 @@
 package io.github.joke.caffeinate.mutable
 
+import io.github.joke.caffeinate.customize.Concurrent
+import io.github.joke.caffeinate.customize.Layout
 import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.PropertyLayout
 import io.github.joke.caffeinate.strategy.TypeHierarchyResolver
+import io.github.joke.caffeinate.strategy.TypeNameCache
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -21,9 +25,11 @@ import javax.tools.Diagnostic
 class MutablePropertyDiscoveryStrategySpec extends Specification {
 
     Messager messager = Mock()
-    Types types = Mock()
+    Types types = Stub() {
+        erasure(_) >> Stub(TypeMirror)
+    }
     final resolver = new TypeHierarchyResolver(types)
-    final strategy = new MutablePropertyDiscoveryStrategy(messager, resolver)
+    final strategy = new MutablePropertyDiscoveryStrategy(messager, resolver, new PropertyLayout(), new TypeNameCache())
 
     def 'adds getter methods to properties'() {
         final method = mockGetterMethod('getName', TypeKind.DECLARED)
@@ -107,6 +113,39 @@ class MutablePropertyDiscoveryStrategySpec extends Specification {
         model.hasErrors()
     }
 
+    def 'records the access mode of @Concurrent'() {
+        final source = mockSourceElement([mockGetterMethod('getName', TypeKind.DECLARED)])
+        source.getAnnotation(Concurrent) >> Stub(Concurrent) { access() >> Concurrent.Access.OPAQUE }
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * messager._
+
+        expect:
+        model.concurrentAccess == Concurrent.Access.OPAQUE
+    }
+
+    def 'reports error for @Concurrent combined with @Layout'() {
+        final source = mockSourceElement([mockGetterMethod('getName', TypeKind.DECLARED)])
+        source.getAnnotation(Concurrent) >> Stub(Concurrent) { access() >> Concurrent.Access.VOLATILE }
+        source.getAnnotation(Layout) >> Stub(Layout)
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, '@Concurrent types cannot be combined with @Layout', source)
+        0 * messager._
+
+        expect:
+        model.hasErrors()
+        model.concurrentAccess == null
+    }
+
     // --- helpers ---
 
     private TypeElement mockSourceElement(List<ExecutableElement> methods) {
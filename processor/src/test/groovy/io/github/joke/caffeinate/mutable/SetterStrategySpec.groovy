@@ -2,6 +2,7 @@ package io.github.joke.caffeinate.mutable
 
 import com.palantir.javapoet.AnnotationSpec
 import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Concurrent
 import io.github.joke.caffeinate.strategy.ClassModel
 import io.github.joke.caffeinate.strategy.Property
 import spock.lang.Specification
@@ -65,6 +66,27 @@ class SetterStrategySpec extends Specification {
         model.methods[0].toString().contains('@java.lang.Override')
     }
 
+    def 'writes through the VarHandle with the ordering of @Concurrent'() {
+        final model = new ClassModel()
+        model.concurrentAccess = access
+        model.properties.add(new Property('requestCount', TypeName.INT, 'getRequestCount', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * _
+
+        expect:
+        model.methods[0].toString().contains("REQUEST_COUNT.${method}(this, requestCount);")
+
+        where:
+        access                             || method
+        Concurrent.Access.VOLATILE         || 'setVolatile'
+        Concurrent.Access.ACQUIRE_RELEASE  || 'setRelease'
+        Concurrent.Access.OPAQUE           || 'setOpaque'
+    }
+
     def 'generates no setters for empty properties'() {
         final model = new ClassModel()
 
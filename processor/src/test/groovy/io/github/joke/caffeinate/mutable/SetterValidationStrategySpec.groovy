@@ -3,6 +3,7 @@ package io.github.joke.caffeinate.mutable
 import com.palantir.javapoet.TypeName
 import io.github.joke.caffeinate.strategy.ClassModel
 import io.github.joke.caffeinate.strategy.Property
+import io.github.joke.caffeinate.strategy.TypeNameCache
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -23,7 +24,7 @@ import javax.tools.Diagnostic
 class SetterValidationStrategySpec extends Specification {
 
     Messager messager = Mock()
-    final strategy = new SetterValidationStrategy(messager)
+    final strategy = new SetterValidationStrategy(messager, new TypeNameCache())
     TypeElement source = Mock()
 
     def 'passes when setter matches a property by name and type'() {
@@ -0,0 +1,216 @@
+package io.github.joke.caffeinate.phase
+
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.render.SourceRenderer
+import io.github.joke.caffeinate.stats.ProcessingStatistics
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage
+import io.github.joke.caffeinate.strategy.ClassModel
+import io.github.joke.caffeinate.strategy.GenerationStrategy
+import io.github.joke.caffeinate.strategy.Property
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Filer
+import javax.annotation.processing.Messager
+import javax.lang.model.element.TypeElement
+
+@Subject(GenerationPipeline)
+class GenerationPipelineSpec extends Specification {
+
+    Filer filer = Mock()
+    Messager messager = Mock()
+    final statistics = new ProcessingStatistics([:])
+    final renderer = new RecordingRenderer(filer, messager, statistics)
+    TypeElement source = Stub()
+    final executed = []
+
+    def 'runs strategies by order and then by class name regardless of set order'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.GENERATION, [new Second(executed), new Late(executed), new First(executed)] as LinkedHashSet)
+                .build()
+
+        when:
+        pipeline.run(source)
+
+        then:
+        executed == ['First', 'Second', 'Late']
+        renderer.submitted.size() == 1
+    }
+
+    def 'runs declared dependencies first regardless of order'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.GENERATION, [new Early(executed), new Late(executed), new First(executed)])
+                .build()
+
+        when:
+        pipeline.run(source)
+
+        then:
+        executed == ['First', 'Late', 'Early']
+    }
+
+    def 'ignores dependencies that are not part of the phase'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.GENERATION, [new Early(executed), new First(executed)])
+                .build()
+
+        when:
+        pipeline.run(source)
+
+        then:
+        executed == ['Early', 'First']
+    }
+
+    def 'schedules every input order identically'() {
+        final strategies = [new First(executed), new Second(executed), new Late(executed), new Early(executed)]
+
+        expect:
+        strategies.permutations().collect { GenerationPipeline.schedule(it)*.getClass()*.simpleName }.unique() ==
+                [['First', 'Second', 'Late', 'Early']]
+    }
+
+    def 'rejects cyclic dependencies'() {
+        when:
+        GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.GENERATION, [new First(executed), new Ping(executed), new Pong(executed)])
+
+        then:
+        final e = thrown(IllegalStateException)
+        e.message == 'Strategies with cyclic runsAfter dependencies: [Ping, Pong]'
+    }
+
+    def 'runs validation after analysis errors but skips generation'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.ANALYSIS, [new Failing(executed)])
+                .phase(Stage.VALIDATION, [new First(executed)])
+                .phase(Stage.GENERATION, [new Second(executed)])
+                .build()
+
+        when:
+        pipeline.run(source)
+
+        then:
+        executed == ['Failing', 'First']
+        renderer.submitted.isEmpty()
+    }
+
+    def 'skips submission when generation reports an error'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.GENERATION, [new Failing(executed)])
+                .build()
+
+        when:
+        pipeline.run(source)
+
+        then:
+        executed == ['Failing']
+        renderer.submitted.isEmpty()
+    }
+
+    def 'uses a fresh model for every element'() {
+        final pipeline = GenerationPipeline.builder(renderer, statistics)
+                .phase(Stage.ANALYSIS, [new Discovering(executed)])
+                .build()
+
+        when:
+        pipeline.run(source)
+        pipeline.run(source)
+
+        then:
+        renderer.submitted.size() == 2
+        !renderer.submitted[0].is(renderer.submitted[1])
+        renderer.submitted*.properties*.size() == [1, 1]
+    }
+
+    def 'rejects stages that do not run strategies'() {
+        when:
+        GenerationPipeline.builder(renderer, statistics).phase(Stage.ASSEMBLY, [])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    static class RecordingRenderer extends SourceRenderer {
+        final List<ClassModel> submitted = []
+
+        RecordingRenderer(Filer filer, Messager messager, ProcessingStatistics statistics) {
+            super(filer, messager, statistics, 1)
+        }
+
+        @Override
+        void submit(TypeElement source, ClassModel model) {
+            submitted << model
+        }
+    }
+
+    static abstract class Recording implements GenerationStrategy {
+        final List executed
+
+        Recording(List executed) {
+            this.executed = executed
+        }
+
+        @Override
+        void generate(TypeElement source, ClassModel model) {
+            executed << getClass().simpleName
+        }
+    }
+
+    static class First extends Recording {
+        First(List executed) { super(executed) }
+    }
+
+    static class Second extends Recording {
+        Second(List executed) { super(executed) }
+    }
+
+    static class Late extends Recording {
+        Late(List executed) { super(executed) }
+
+        @Override
+        int order() { 1 }
+    }
+
+    static class Early extends Recording {
+        Early(List executed) { super(executed) }
+
+        @Override
+        int order() { -1 }
+
+        @Override
+        Set<Class<? extends GenerationStrategy>> runsAfter() { [Late] as Set }
+    }
+
+    static class Ping extends Recording {
+        Ping(List executed) { super(executed) }
+
+        @Override
+        Set<Class<? extends GenerationStrategy>> runsAfter() { [Pong] as Set }
+    }
+
+    static class Pong extends Recording {
+        Pong(List executed) { super(executed) }
+
+        @Override
+        Set<Class<? extends GenerationStrategy>> runsAfter() { [Ping] as Set }
+    }
+
+    static class Failing extends Recording {
+        Failing(List executed) { super(executed) }
+
+        @Override
+        void generate(TypeElement source, ClassModel model) {
+            super.generate(source, model)
+            model.hasErrors = true
+        }
+    }
+
+    static class Discovering extends Recording {
+        Discovering(List executed) { super(executed) }
+
+        @Override
+        void generate(TypeElement source, ClassModel model) {
+            model.properties.add(new Property('name', TypeName.INT, 'getName', []))
+        }
+    }
+}
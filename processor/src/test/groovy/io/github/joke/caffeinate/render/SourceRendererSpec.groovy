@@ -0,0 +1,181 @@
+package io.github.joke.caffeinate.render
+
+import io.github.joke.caffeinate.stats.ProcessingStatistics
+import io.github.joke.caffeinate.strategy.ClassModel
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.annotation.processing.Filer
+import javax.annotation.processing.Messager
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+import javax.tools.Diagnostic
+import javax.tools.FileObject
+import javax.tools.JavaFileObject
+import javax.tools.StandardLocation
+
+@Subject(SourceRenderer)
+class SourceRendererSpec extends Specification {
+
+    Filer filer = Mock()
+    Messager messager = Mock()
+
+    def 'writes files in submission order on flush, whatever the number of threads'() {
+        final renderer = new SourceRenderer(filer, messager, new ProcessingStatistics([:]), threads)
+        final written = []
+        final outputs = [:]
+
+        when:
+        (0..<20).each { renderer.submit(typeElement("Type$it"), model("Type${it}Impl")) }
+
+        then:
+        0 * filer._
+
+        when:
+        renderer.flush()
+        renderer.close()
+
+        then:
+        20 * filer.createSourceFile(_, _) >> { String name, Object[] origins ->
+            written << name
+            final writer = new StringWriter()
+            outputs[name] = writer
+            Stub(JavaFileObject) { openWriter() >> writer }
+        }
+        0 * messager._
+
+        and:
+        written == (0..<20).collect { "test.Type${it}Impl" }
+        outputs['test.Type7Impl'].toString().contains('public class Type7Impl {')
+
+        where:
+        threads << [1, 4]
+    }
+
+    def 'reports write failures on the element in submission order'() {
+        final renderer = new SourceRenderer(filer, messager, new ProcessingStatistics([:]), 2)
+        final first = typeElement('First')
+        final second = typeElement('Second')
+        renderer.submit(first, model('FirstImpl'))
+        renderer.submit(second, model('SecondImpl'))
+
+        when:
+        renderer.flush()
+        renderer.close()
+
+        then:
+        1 * filer.createSourceFile('test.FirstImpl', first) >> { throw new IOException('disk full') }
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.ERROR, 'Failed to generate implementation: disk full', first)
+
+        then:
+        1 * filer.createSourceFile('test.SecondImpl', second) >> Stub(JavaFileObject) { openWriter() >> new StringWriter() }
+        0 * messager._
+    }
+
+    def 'fingerprints the written text with SHA-256 into the class output'() {
+        final renderer = new SourceRenderer(filer, messager, new ProcessingStatistics([:]), 1, 'META-INF/fingerprints')
+        final source = typeElement('Person')
+        final writer = new StringWriter()
+        final resource = new StringWriter()
+        filer.createSourceFile(*_) >> Stub(JavaFileObject) { openWriter() >> writer }
+
+        when:
+        renderer.submit(source, model('PersonImpl'))
+        renderer.flush()
+
+        then:
+        1 * filer.createResource(StandardLocation.CLASS_OUTPUT, '', 'META-INF/fingerprints/test.PersonImpl.sha256', source) >>
+                Stub(FileObject) { openWriter() >> resource }
+
+        and:
+        final expected = java.security.MessageDigest.getInstance('SHA-256')
+                .digest(writer.toString().getBytes('UTF-8')).encodeHex().toString()
+        renderer.fingerprints == ['test.PersonImpl': expected]
+        resource.toString() == "$expected\n"
+    }
+
+    def 'warns on the element when a fingerprint cannot be written'() {
+        final renderer = new SourceRenderer(filer, messager, new ProcessingStatistics([:]), 1, 'META-INF/fingerprints/')
+        final source = typeElement('Person')
+        filer.createSourceFile(*_) >> Stub(JavaFileObject) { openWriter() >> new StringWriter() }
+
+        when:
+        renderer.submit(source, model('PersonImpl'))
+        renderer.flush()
+
+        then:
+        1 * filer.createResource(_, _, 'META-INF/fingerprints/test.PersonImpl.sha256', _) >> {
+            throw new IOException('read-only')
+        }
+        1 * messager.printMessage(
+                Diagnostic.Kind.WARNING, 'Failed to write generated source fingerprint: read-only', source)
+
+        and:
+        renderer.fingerprints.isEmpty()
+    }
+
+    def 'neither computes nor writes fingerprints without the option'() {
+        final renderer = new SourceRenderer(filer, messager, new ProcessingStatistics([:]), 1)
+
+        when:
+        renderer.submit(typeElement('Person'), model('PersonImpl'))
+        renderer.flush()
+
+        then:
+        1 * filer.createSourceFile(*_) >> Stub(JavaFileObject) { openWriter() >> new StringWriter() }
+        0 * filer.createResource(*_)
+
+        and:
+        renderer.fingerprints.isEmpty()
+    }
+
+    def 'reads the number of threads from the processor options'() {
+        expect:
+        SourceRenderer.threads(options) == expected
+
+        where:
+        options                              || expected
+        ['caffeinate.threads': '3']          || 3
+        ['caffeinate.threads': 'many']       || 1
+        [:]                                  || Math.min(Runtime.runtime.availableProcessors(), 8)
+    }
+
+    // --- helpers ---
+
+    private static ClassModel model(String className) {
+        final model = new ClassModel()
+        model.className = className
+        model.modifiers.add(Modifier.PUBLIC)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.enclosingElement >> null
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -0,0 +1,159 @@
+package io.github.joke.caffeinate.stats
+
+import com.google.testing.compile.Compilation
+import com.google.testing.compile.JavaFileObjects
+import io.github.joke.caffeinate.CaffeinateProcessor
+import io.github.joke.caffeinate.stats.ProcessingStatistics.Stage
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.TempDir
+
+import javax.annotation.processing.Messager
+import javax.tools.Diagnostic
+import java.nio.file.Files
+import java.nio.file.Path
+
+import static com.google.testing.compile.Compiler.javac
+
+@Subject(ProcessingStatistics)
+class ProcessingStatisticsSpec extends Specification {
+
+    @TempDir
+    Path reportDir
+
+    Messager messager = Mock()
+
+    def 'is disabled by default and records nothing'() {
+        given:
+        final statistics = new ProcessingStatistics([:])
+
+        when:
+        final start = statistics.start()
+        statistics.record(Stage.ANALYSIS, 'Strategy', start)
+        statistics.countElement('Immutable')
+        statistics.report(messager)
+
+        then:
+        !statistics.enabled
+        start == 0L
+        0 * messager._
+    }
+
+    def 'is enabled by the stats option or a report file'() {
+        expect:
+        new ProcessingStatistics(options).enabled == enabled
+
+        where:
+        options                                        || enabled
+        ['caffeinate.stats': 'true']                   || true
+        ['caffeinate.stats': 'false']                  || false
+        ['caffeinate.stats.report': '/tmp/stats.tsv']  || true
+    }
+
+    def 'aggregates timings per stage and subject'() {
+        given:
+        final statistics = new ProcessingStatistics(['caffeinate.stats': 'true'])
+
+        when:
+        statistics.record(Stage.ANALYSIS, 'Discovery', statistics.start())
+        statistics.record(Stage.ANALYSIS, 'Discovery', statistics.start())
+        statistics.record(Stage.GENERATION, new Object(), statistics.start())
+        statistics.countElement('io.github.joke.caffeinate.Immutable')
+        statistics.countElement('io.github.joke.caffeinate.Immutable')
+
+        then:
+        final lines = statistics.reportLines()
+        lines[0] == 'kind\tstage\tname\tcount\tnanos'
+        lines[1] == 'elements\t\tio.github.joke.caffeinate.Immutable\t2\t0'
+        lines[2].startsWith('timing\tanalysis\tDiscovery\t2\t')
+        lines[3].startsWith('timing\tgeneration\tObject\t1\t')
+        lines.size() == 4
+    }
+
+    def 'reports the summary as a note'() {
+        given:
+        final statistics = new ProcessingStatistics(['caffeinate.stats': 'true'])
+        statistics.record(Stage.WRITE, 'Filer', statistics.start())
+
+        when:
+        statistics.report(messager)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.NOTE, { it.contains('Caffeinate processing statistics') && it.contains('Filer') })
+        0 * messager._
+    }
+
+    def 'writes the report file when configured'() {
+        given:
+        final report = reportDir.resolve('stats.tsv')
+        final statistics = new ProcessingStatistics(['caffeinate.stats.report': report.toString()])
+        statistics.countElement('Mutable')
+
+        when:
+        statistics.report(messager)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.NOTE, _)
+        Files.readAllLines(report) == ['kind\tstage\tname\tcount\tnanos', 'elements\t\tMutable\t1\t0']
+    }
+
+    def 'warns when the report file cannot be written'() {
+        given:
+        final statistics = new ProcessingStatistics(['caffeinate.stats.report': reportDir.toString()])
+
+        when:
+        statistics.report(messager)
+
+        then:
+        1 * messager.printMessage(Diagnostic.Kind.NOTE, _)
+        1 * messager.printMessage(Diagnostic.Kind.WARNING, { it.startsWith('Failed to write processing statistics report') })
+    }
+
+    def 'prints statistics for every phase when enabled on the processor'() {
+        given:
+        final source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Person {
+                String getName();
+            }
+        ''')
+
+        when:
+        final compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .withOptions('-Acaffeinate.stats=true')
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        final notes = compilation.notes()*.getMessage(Locale.ROOT)
+        final summary = notes.find { it.startsWith('Caffeinate processing statistics') }
+        summary != null
+        summary.contains('io.github.joke.caffeinate.Immutable')
+        summary.contains('PropertyDiscoveryStrategy')
+        summary.contains('JavaPoet')
+        summary.contains('Filer')
+        summary.contains('process')
+    }
+
+    def 'prints no statistics by default'() {
+        given:
+        final source = JavaFileObjects.forSourceString('test.Person', '''\
+            package test;
+            import io.github.joke.caffeinate.Immutable;
+            @Immutable
+            public interface Person {}
+        ''')
+
+        when:
+        final compilation = javac()
+            .withProcessors(new CaffeinateProcessor())
+            .compile(source)
+
+        then:
+        compilation.status() == Compilation.Status.SUCCESS
+        compilation.notes().every { !it.getMessage(Locale.ROOT).startsWith('Caffeinate processing statistics') }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.joke.caffeinate.strategy
+
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Accessor
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
+import javax.lang.model.element.TypeElement
+
+@Subject(AccessorStrategy)
+class AccessorStrategySpec extends Specification {
+
+    final strategy = new AccessorStrategy()
+
+    def 'generates nothing without @Accessor'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', false), model)
+
+        then:
+        model.types.empty
+    }
+
+    def 'generates the nested Accessor'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []))
+        model.className = 'PersonImpl'
+
+        when:
+        strategy.generate(typeElement('Person', true), model)
+
+        then:
+        model.types.size() == 1
+        final accessor = model.types[0]
+        accessor.name() == 'Accessor'
+        accessor.fieldSpecs()*.toString() == ['private static final java.lang.String[] NAMES = {"name", "age"};\n']
+        accessor.methodSpecs()*.name() == ['<init>', 'size', 'names', 'name', 'indexOf', 'get']
+
+        and:
+        final methods = accessor.methodSpecs().collectEntries { [(it.name()): it.toString()] }
+        methods.size.contains('return 2;')
+        methods.names.contains('return NAMES.clone();')
+        methods.indexOf.contains('case "age":\n      return 1;')
+        methods.indexOf.contains('default:\n      return -1;')
+        methods.get.startsWith('public static java.lang.Object get(test.Person instance, int index)')
+        methods.get.contains('case 0:\n      return instance.getName();')
+        methods.get.contains('case 1:\n      return instance.getAge();')
+        methods.get.contains('throw new java.lang.IndexOutOfBoundsException("No property at index " + index);')
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName, boolean accessor) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.kind >> ElementKind.INTERFACE
+        element.getAnnotation(Accessor) >> (accessor ? Stub(Accessor) : null)
+        element.enclosingElement >> packageElement
+        element.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(element, p) }
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.joke.caffeinate.strategy
+
+import com.palantir.javapoet.TypeName
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(ClassModel)
+class ClassModelSpec extends Specification {
+
+    final model = new ClassModel()
+
+    def 'findProperty looks up properties by field name'() {
+        model.properties.add(new Property('firstName', TypeName.get(String), 'getFirstName', []))
+        model.properties.add(new Property('age', TypeName.INT, 'getAge', []))
+
+        expect:
+        model.findProperty('age').getterName == 'getAge'
+        model.findProperty('firstName').getterName == 'getFirstName'
+        model.findProperty('lastName') == null
+    }
+
+    def 'findProperty sees properties added after a lookup'() {
+        model.properties.add(new Property('firstName', TypeName.get(String), 'getFirstName', []))
+        model.findProperty('firstName')
+
+        when:
+        model.properties.add(new Property('age', TypeName.INT, 'getAge', []))
+
+        then:
+        model.findProperty('age').getterName == 'getAge'
+    }
+
+    def 'findProperty returns replaced properties'() {
+        model.properties.add(new Property('age', TypeName.get(Integer), 'getAge', []))
+        model.findProperty('age')
+
+        when:
+        model.properties.set(0, model.properties[0].withStorage(Storage.UNBOXED, TypeName.INT, null))
+
+        then:
+        model.findProperty('age').storage == Storage.UNBOXED
+    }
+
+    def 'findProperty reindexes when properties were reordered'() {
+        model.properties.add(new Property('a', TypeName.INT, 'getA', []))
+        model.properties.add(new Property('b', TypeName.INT, 'getB', []))
+        model.findProperty('a')
+
+        when:
+        Collections.reverse(model.properties)
+
+        then:
+        model.findProperty('a').getterName == 'getA'
+        model.findProperty('b').getterName == 'getB'
+    }
+
+    def 'findProperty reindexes when a property was removed and another added'() {
+        model.properties.add(new Property('a', TypeName.INT, 'getA', []))
+        model.properties.add(new Property('b', TypeName.INT, 'getB', []))
+        model.findProperty('a')
+
+        when:
+        model.properties.remove(0)
+        model.properties.add(new Property('c', TypeName.INT, 'getC', []))
+
+        then:
+        model.findProperty('a') == null
+        model.findProperty('b').getterName == 'getB'
+        model.findProperty('c').getterName == 'getC'
+    }
+}
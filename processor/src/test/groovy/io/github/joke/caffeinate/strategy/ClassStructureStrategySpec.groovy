@@ -60,6 +60,15 @@ class ClassStructureStrategySpec extends Specification {
         model.superinterfaces.empty
     }
 
+    def 'resolves the generated class from the name in the model'() {
+        final source = mockTypeElement('Person', ElementKind.INTERFACE)
+        final model = new ClassModel()
+        model.className = 'PersonView'
+
+        expect:
+        ClassStructureStrategy.className(source, model).toString() == 'test.PersonView'
+    }
+
     private TypeElement mockTypeElement(String simpleName, ElementKind kind) {
         final packageElement = Stub(PackageElement)
         final packageName = Stub(Name)
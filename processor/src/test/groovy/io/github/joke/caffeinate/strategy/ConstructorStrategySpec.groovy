@@ -1,11 +1,18 @@
 package io.github.joke.caffeinate.strategy
 
 import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ArrayTypeName
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
 import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Intern
 import spock.lang.Specification
 import spock.lang.Subject
 
 import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ElementVisitor
+import javax.lang.model.element.Name
+import javax.lang.model.element.PackageElement
 import javax.lang.model.element.TypeElement
 
 @Subject(ConstructorStrategy)
@@ -13,9 +20,15 @@ class ConstructorStrategySpec extends Specification {
 
     final strategy = new ConstructorStrategy()
 
+    def 'runs after the class is named'() {
+        expect:
+        strategy.runsAfter() == [ClassStructureStrategy] as Set
+    }
+
     def 'generates constructor with parameters for properties'() {
         final source = Stub(TypeElement)
         source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
         final model = new ClassModel()
         model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
 
@@ -32,24 +45,62 @@ class ConstructorStrategySpec extends Specification {
         constructor.contains('name')
     }
 
-    def 'does not generate constructor when properties are empty'() {
+    def 'generates a private constructor for @Intern types'() {
         final source = Stub(TypeElement)
         source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> Stub(Intern)
         final model = new ClassModel()
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
 
         when:
         strategy.generate(source, model)
 
         then:
-        0 * _
+        model.methods[0].toString().startsWith('private Constructor(java.lang.String name)')
+    }
 
-        expect:
-        model.methods.empty
+    def 'generates a public constructor and a shared instance when properties are empty'() {
+        final source = namedSource('Marker', ElementKind.INTERFACE)
+        final model = new ClassModel()
+        model.className = 'MarkerImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods*.toString() == [
+                '/**\n * Prefer {@link #INSTANCE}, all instances are equal.\n */\npublic Constructor() {\n}\n']
+        model.fields*.toString() == ['public static final test.MarkerImpl INSTANCE = new test.MarkerImpl();\n']
+    }
+
+    def 'generates a private constructor for @Intern types without properties'() {
+        final source = namedSource('Marker', ElementKind.INTERFACE, Stub(Intern))
+        final model = new ClassModel()
+        model.className = 'MarkerImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods*.toString() == ['private Constructor() {\n}\n']
+    }
+
+    def 'calls super() in the singleton constructor of abstract classes'() {
+        final source = namedSource('Marker', ElementKind.CLASS)
+        final model = new ClassModel()
+        model.className = 'MarkerImpl'
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods[0].toString().contains('super();')
     }
 
     def 'adds super() for non-interface source'() {
         final source = Stub(TypeElement)
         source.kind >> ElementKind.CLASS
+        source.getAnnotation(Intern) >> null
         final model = new ClassModel()
         model.properties.add(new Property('id', TypeName.get(String), 'getId', []))
 
@@ -66,6 +117,7 @@ class ConstructorStrategySpec extends Specification {
     def 'does not add super() for interface source'() {
         final source = Stub(TypeElement)
         source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
         final model = new ClassModel()
         model.properties.add(new Property('id', TypeName.get(String), 'getId', []))
 
@@ -83,6 +135,7 @@ class ConstructorStrategySpec extends Specification {
         final annotation = AnnotationSpec.builder(Override).build()
         final source = Stub(TypeElement)
         source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
         final model = new ClassModel()
         model.properties.add(new Property('name', TypeName.get(String), 'getName', [annotation]))
 
@@ -95,4 +148,114 @@ class ConstructorStrategySpec extends Specification {
         expect:
         model.methods[0].toString().contains('@java.lang.Override')
     }
+
+    def 'copies collection and array parameters'() {
+        final source = Stub(TypeElement)
+        source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
+        final model = new ClassModel()
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', []))
+        model.properties.add(new Property('ids', ParameterizedTypeName.get(ClassName.get(Set), ClassName.get(Long)), 'getIds', []))
+        model.properties.add(new Property('names', ParameterizedTypeName.get(ClassName.get(Map), ClassName.get(String), ClassName.get(String)), 'getNames', []))
+        model.properties.add(new Property('data', ArrayTypeName.of(TypeName.BYTE), 'getData', []))
+        model.properties.add(new Property('items', ParameterizedTypeName.get(ClassName.get(Collection), ClassName.get(String)), 'getItems', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods*.name() == ['<init>', '<init>', 'copyList', 'copySet', 'copyMap']
+        final constructor = model.methods[0].toString()
+        constructor.startsWith('public Constructor(')
+        constructor.contains('this(copyList(tags), copySet(ids), copyMap(names), data.clone(), items, true);')
+
+        and:
+        final sharing = model.methods[1].toString()
+        sharing.startsWith('private Constructor(')
+        sharing.contains('boolean copied)')
+        sharing.contains('this.tags = tags;')
+        sharing.contains('this.data = data;')
+    }
+
+    def 'copies in the only constructor of @Intern types'() {
+        final source = Stub(TypeElement)
+        source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> Stub(Intern)
+        final model = new ClassModel()
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods*.name() == ['<init>', 'copyList']
+        model.methods[0].toString().contains('this.tags = copyList(tags);')
+    }
+
+    def 'copies nullable collections only when present'() {
+        final nullable = AnnotationSpec.builder(ClassName.get('org.jspecify.annotations', 'Nullable')).build()
+        final source = Stub(TypeElement)
+        source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
+        final model = new ClassModel()
+        model.properties.add(new Property('tags', ParameterizedTypeName.get(ClassName.get(List), ClassName.get(String)), 'getTags', [nullable]))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.methods[0].toString().contains('this(tags != null ? copyList(tags) : null, true);')
+    }
+
+    def 'keeps collection arguments that cannot change'() {
+        final source = Stub(TypeElement)
+        source.kind >> ElementKind.INTERFACE
+        source.getAnnotation(Intern) >> null
+        final model = new ClassModel()
+        model.properties.add(new Property('counts', ParameterizedTypeName.get(ClassName.get(Map), ClassName.get(String), ClassName.get(Integer)), 'getCounts', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        model.fields.size() == 1
+        model.fields[0].toString().replaceAll(/\s+/, ' ').trim() == ('private static final java.lang.Class<?>[] SHARED_MAPS = {'
+                + 'java.util.Collections.unmodifiableMap(new java.util.LinkedHashMap<>()).getClass(), '
+                + 'java.util.Collections.emptyMap().getClass(), java.util.Map.of().getClass(), '
+                + 'java.util.Map.of(0, 0).getClass()};')
+        model.methods[2].toString() == '''\
+            private static <K, V> java.util.Map<K, V> copyMap(java.util.Map<K, V> value) {
+              java.lang.Class<?> type = value.getClass();
+              for (java.lang.Class<?> shared : SHARED_MAPS) {
+                if (type == shared) {
+                  return value;
+                }
+              }
+              return java.util.Collections.unmodifiableMap(new java.util.LinkedHashMap<>(value));
+            }
+            '''.stripIndent()
+    }
+
+    private TypeElement namedSource(String simpleName, ElementKind kind, Intern intern = null) {
+        final packageElement = Stub(PackageElement)
+        packageElement.qualifiedName >> name('test')
+        packageElement.simpleName >> name('test')
+        packageElement.kind >> ElementKind.PACKAGE
+        packageElement.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitPackage(packageElement, p) }
+
+        final source = Stub(TypeElement)
+        source.simpleName >> name(simpleName)
+        source.kind >> kind
+        source.getAnnotation(Intern) >> intern
+        source.enclosingElement >> packageElement
+        source.accept(*_) >> { ElementVisitor visitor, Object p -> visitor.visitType(source, p) }
+        return source
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
 }
@@ -2,6 +2,7 @@ package io.github.joke.caffeinate.strategy
 
 import com.palantir.javapoet.AnnotationSpec
 import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Concurrent
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -46,6 +47,27 @@ class GetterStrategySpec extends Specification {
         model.methods[0].toString().count('@java.lang.Override') >= 2
     }
 
+    def 'reads through the VarHandle with the ordering of @Concurrent'() {
+        final model = new ClassModel()
+        model.concurrentAccess = access
+        model.properties.add(new Property('name', TypeName.get(String), 'getName', []))
+
+        when:
+        strategy.generate(source, model)
+
+        then:
+        0 * _
+
+        expect:
+        model.methods[0].toString().contains("return (java.lang.String) NAME.${method}(this);")
+
+        where:
+        access                             || method
+        Concurrent.Access.VOLATILE         || 'getVolatile'
+        Concurrent.Access.ACQUIRE_RELEASE  || 'getAcquire'
+        Concurrent.Access.OPAQUE           || 'getOpaque'
+    }
+
     def 'generates no methods for empty properties'() {
         final model = new ClassModel()
 
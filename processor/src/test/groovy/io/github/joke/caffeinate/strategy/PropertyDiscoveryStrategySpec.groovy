@@ -19,9 +19,11 @@ import javax.tools.Diagnostic
 class PropertyDiscoveryStrategySpec extends Specification {
 
     Messager messager = Mock()
-    Types types = Mock()
+    Types types = Stub() {
+        erasure(_) >> Stub(TypeMirror)
+    }
     final resolver = new TypeHierarchyResolver(types)
-    final strategy = new PropertyDiscoveryStrategy(messager, resolver)
+    final strategy = new PropertyDiscoveryStrategy(messager, resolver, new PropertyLayout(), new TypeNameCache())
 
     def 'adds getter methods to properties'() {
         final method = mockGetterMethod('getName', TypeKind.DECLARED)
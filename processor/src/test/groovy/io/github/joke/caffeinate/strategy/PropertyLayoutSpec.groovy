@@ -0,0 +1,149 @@
+package io.github.joke.caffeinate.strategy
+
+import com.palantir.javapoet.AnnotationSpec
+import com.palantir.javapoet.ClassName
+import com.palantir.javapoet.ParameterizedTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.Layout
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.TypeElement
+
+import java.util.Optional
+import java.util.OptionalInt
+import java.util.OptionalLong
+
+@Subject(PropertyLayout)
+class PropertyLayoutSpec extends Specification {
+
+    final layout = new PropertyLayout()
+    final nullable = AnnotationSpec.builder(ClassName.get('test', 'Nullable')).build()
+
+    def 'keeps direct storage without @Layout'() {
+        final model = modelWith(new Property('count', TypeName.INT.box(), 'getCount', []))
+
+        when:
+        layout.apply(source(null, false), model)
+
+        then:
+        model.properties[0].storage == Storage.DIRECT
+        model.properties[0].fieldType == TypeName.INT.box()
+        model.bitWords.empty
+    }
+
+    def 'stores boxed primitives and primitive optionals in primitive fields'() {
+        final model = modelWith(
+                new Property('count', TypeName.INT.box(), 'getCount', []),
+                new Property('average', TypeName.DOUBLE.box(), 'getAverage', [nullable]),
+                new Property('timeout', ClassName.get(OptionalLong), 'getTimeout', []),
+                new Property('limit', ParameterizedTypeName.get(ClassName.get(Optional), TypeName.SHORT.box()), 'getLimit', []),
+                new Property('name', ClassName.get(String), 'getName', []))
+
+        when:
+        layout.apply(source(true, false), model)
+
+        then:
+        model.properties*.storage == [Storage.UNBOXED, Storage.NULLABLE_UNBOXED, Storage.OPTIONAL, Storage.OPTIONAL, Storage.DIRECT]
+        model.properties*.fieldType == [TypeName.INT, TypeName.DOUBLE, TypeName.LONG, TypeName.SHORT, ClassName.get(String)]
+
+        and: 'only nullable values and optionals get a presence bit'
+        model.bitWords == ['bits0']
+        model.bitWordType == TypeName.INT
+        model.properties*.bitSlot*.bit == [null, 0, 1, 2, null]
+    }
+
+    def 'keeps a nullable optional as a reference'() {
+        final model = modelWith(new Property('timeout', ClassName.get(OptionalInt), 'getTimeout', [nullable]))
+
+        when:
+        layout.apply(source(true, false), model)
+
+        then:
+        model.properties[0].storage == Storage.DIRECT
+        model.bitWords.empty
+    }
+
+    def 'spills presence bits into long words beyond 32 bits'() {
+        final properties = (0..<70).collect { new Property("value$it", TypeName.LONG.box(), "getValue$it", [nullable]) }
+        final model = modelWith(*properties)
+
+        when:
+        layout.apply(source(true, false), model)
+
+        then:
+        model.bitWordType == TypeName.LONG
+        model.bitWords == ['bits0', 'bits1']
+        model.properties[63].bitSlot.word == 'bits0'
+        model.properties[63].bitSlot.bit == 63
+        model.properties[64].bitSlot.word == 'bits1'
+        model.properties[64].bitSlot.bit == 0
+    }
+
+    def 'avoids a clash between bit words and property names'() {
+        final model = modelWith(
+                new Property('bits0', TypeName.INT, 'getBits0', []),
+                new Property('count', TypeName.INT.box(), 'getCount', [nullable]))
+
+        when:
+        layout.apply(source(true, false), model)
+
+        then:
+        model.bitWords == ['bits0$']
+    }
+
+    def 'packs booleans into the bit words alongside presence bits'() {
+        final model = modelWith(
+                new Property('active', TypeName.BOOLEAN, 'isActive', []),
+                new Property('average', TypeName.DOUBLE.box(), 'getAverage', [nullable]),
+                new Property('enabled', TypeName.BOOLEAN.box(), 'getEnabled', []),
+                new Property('visible', TypeName.BOOLEAN.box(), 'getVisible', [nullable]))
+
+        when:
+        layout.apply(source(unboxed, true), model)
+
+        then:
+        model.properties*.storage == storages
+        model.properties*.bitSlot*.bit == bits
+
+        where:
+        unboxed || storages                                                                  | bits
+        false   || [Storage.PACKED, Storage.DIRECT, Storage.DIRECT, Storage.DIRECT]          | [0, null, null, null]
+        true    || [Storage.PACKED, Storage.NULLABLE_UNBOXED, Storage.PACKED, Storage.NULLABLE_UNBOXED] | [0, 1, 2, 3]
+    }
+
+    def 'spills packed booleans into a long word beyond 32 flags'() {
+        final properties = (0..<40).collect { new Property("flag$it", TypeName.BOOLEAN, "isFlag$it", []) }
+        final model = modelWith(*properties)
+
+        when:
+        layout.apply(source(false, true), model)
+
+        then:
+        model.properties.every { it.storage == Storage.PACKED && !it.hasField() }
+        model.bitWordType == TypeName.LONG
+        model.bitWords == ['bits0']
+        model.properties[39].bitSlot.bit == 39
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement source(Boolean unboxed, boolean packBooleans) {
+        final element = Stub(TypeElement)
+        if (unboxed == null) {
+            element.getAnnotation(Layout) >> null
+        } else {
+            final annotation = Stub(Layout)
+            annotation.unboxed() >> unboxed
+            annotation.packBooleans() >> packBooleans
+            element.getAnnotation(Layout) >> annotation
+        }
+        return element
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.joke.caffeinate.strategy
 
+import com.palantir.javapoet.TypeName
 import spock.lang.Specification
 import spock.lang.Subject
 
@@ -68,6 +69,47 @@ class PropertyUtilsSpec extends Specification {
         thrown(IllegalArgumentException)
     }
 
+    def 'fieldNameOfGetter strips the get or is prefix'() {
+        expect:
+        PropertyUtils.fieldNameOfGetter(methodName) == expected
+
+        where:
+        methodName     || expected
+        'getFirstName' || 'firstName'
+        'isActive'     || 'active'
+        'getX'         || 'x'
+        'get'          || null
+        'is'           || null
+        'setName'      || null
+    }
+
+    def 'fieldNameOfSetter strips the set prefix'() {
+        expect:
+        PropertyUtils.fieldNameOfSetter(methodName) == expected
+
+        where:
+        methodName     || expected
+        'setFirstName' || 'firstName'
+        'setX'         || 'x'
+        'set'          || null
+        'getName'      || null
+    }
+
+    def 'extractProperty uses the given name and type without converting the return type'() {
+        final method = Mock(ExecutableElement)
+        method.annotationMirrors >> []
+
+        when:
+        final property = PropertyUtils.extractProperty(method, 'getAge', TypeName.INT)
+
+        then:
+        property.fieldName == 'age'
+        property.getterName == 'getAge'
+        property.type == TypeName.INT
+        0 * method.simpleName
+        0 * method.returnType
+    }
+
     def 'setterNameForField produces correct setter name'() {
         expect:
         PropertyUtils.setterNameForField(fieldName) == expected
@@ -78,6 +120,27 @@ class PropertyUtilsSpec extends Specification {
         'x'         || 'setX'
     }
 
+    def 'witherNameForField produces correct wither name'() {
+        expect:
+        PropertyUtils.witherNameForField(fieldName) == expected
+
+        where:
+        fieldName   || expected
+        'firstName' || 'withFirstName'
+        'x'         || 'withX'
+    }
+
+    def 'constantNameForField produces the upper snake case name'() {
+        expect:
+        PropertyUtils.constantNameForField(fieldName) == expected
+
+        where:
+        fieldName      || expected
+        'requestCount' || 'REQUEST_COUNT'
+        'x'            || 'X'
+        'aB'           || 'A_B'
+    }
+
     // --- helpers ---
 
     private ExecutableElement mockMethod(String name, TypeKind returnKind, int paramCount) {
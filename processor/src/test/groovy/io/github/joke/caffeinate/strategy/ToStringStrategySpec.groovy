@@ -0,0 +1,131 @@
+package io.github.joke.caffeinate.strategy
+
+import com.palantir.javapoet.ArrayTypeName
+import com.palantir.javapoet.TypeName
+import io.github.joke.caffeinate.customize.ToString
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.element.ElementKind
+import javax.lang.model.element.ExecutableElement
+import javax.lang.model.element.Modifier
+import javax.lang.model.element.Name
+import javax.lang.model.element.TypeElement
+import javax.lang.model.type.NoType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.util.Types
+
+@Subject(ToStringStrategy)
+class ToStringStrategySpec extends Specification {
+
+    final strategy = new ToStringStrategy(new TypeHierarchyResolver(Stub(Types)))
+
+    def 'uses StringJoiner without @ToString'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []))
+
+        when:
+        strategy.generate(typeElement('Person', null), model)
+
+        then:
+        final method = model.methods[0].toString()
+        method.contains('public java.lang.String toString()')
+        method.contains('return new java.util.StringJoiner(", ", "Person[", "]")')
+        method.contains('.add("name=\'" + this.name + \'\\\'\')')
+        method.contains('.add("age=" + this.age)')
+    }
+
+    def 'uses commons-lang ToStringBuilder for TO_STRING_BUILDER'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+
+        when:
+        strategy.generate(typeElement('Person', ToString.Style.TO_STRING_BUILDER), model)
+
+        then:
+        final method = model.methods[0].toString()
+        method.contains('return new org.apache.commons.lang3.builder.ToStringBuilder(this)')
+        method.contains('.append("name", this.name)')
+    }
+
+    def 'uses a presized StringBuilder with merged constant fragments for STRING_BUILDER'() {
+        final model = modelWith(
+                new Property('name', TypeName.get(String), 'getName', []),
+                new Property('age', TypeName.INT, 'getAge', []),
+                new Property('codes', ArrayTypeName.of(TypeName.INT), 'getCodes', []))
+
+        when:
+        strategy.generate(typeElement('Person', ToString.Style.STRING_BUILDER), model)
+
+        then:
+        final method = model.methods[0].toString()
+        // "Person[name='" (13) + 16, "', age=" (7) + 11, ", codes=" (8) + 32, "]" (1)
+        method.contains('return new java.lang.StringBuilder(88)')
+        method.contains('.append("Person[name=\'").append(this.name)')
+        method.contains('.append("\', age=").append(this.age)')
+        method.contains('.append(", codes=").append(java.util.Arrays.toString(this.codes))')
+        method.contains(".append(']')")
+        !method.contains(' + ')
+    }
+
+    def 'generates only the type name for types without properties'() {
+        final model = new ClassModel()
+
+        when:
+        strategy.generate(typeElement('Marker', ToString.Style.STRING_BUILDER), model)
+
+        then:
+        final method = model.methods[0].toString()
+        method.contains('return new java.lang.StringBuilder(8)')
+        method.contains('.append("Marker[]")')
+    }
+
+    def 'keeps toString declared by an abstract class'() {
+        final model = modelWith(new Property('name', TypeName.get(String), 'getName', []))
+        final toString = Stub(ExecutableElement)
+        toString.simpleName >> name('toString')
+        toString.parameters >> []
+        toString.modifiers >> ([Modifier.PUBLIC] as Set)
+        toString.kind >> ElementKind.METHOD
+
+        when:
+        strategy.generate(typeElement('Person', null, [toString]), model)
+
+        then:
+        model.methods.empty
+    }
+
+    // --- helpers ---
+
+    private static ClassModel modelWith(Property... properties) {
+        final model = new ClassModel()
+        model.properties.addAll(properties)
+        model
+    }
+
+    private TypeElement typeElement(String simpleName, ToString.Style style, List enclosed = []) {
+        final superclass = Stub(NoType)
+        superclass.kind >> TypeKind.NONE
+
+        final element = Stub(TypeElement)
+        element.simpleName >> name(simpleName)
+        element.qualifiedName >> name("test.${simpleName}")
+        element.enclosedElements >> enclosed
+        element.superclass >> superclass
+        if (style == null) {
+            element.getAnnotation(ToString) >> null
+        } else {
+            final annotation = Stub(ToString)
+            annotation.style() >> style
+            element.getAnnotation(ToString) >> annotation
+        }
+        return element
+    }
+
+    private Name name(String value) {
+        final name = Stub(Name)
+        name.toString() >> value
+        name.contentEquals(_) >> { CharSequence other -> other.toString() == value }
+        return name
+    }
+}
@@ -9,6 +9,8 @@ import javax.lang.model.element.ExecutableElement
 import javax.lang.model.element.Modifier
 import javax.lang.model.element.Name
 import javax.lang.model.element.TypeElement
+import javax.lang.model.element.VariableElement
+import javax.lang.model.type.DeclaredType
 import javax.lang.model.type.TypeKind
 import javax.lang.model.type.TypeMirror
 import javax.lang.model.util.Types
@@ -26,6 +28,8 @@ class TypeHierarchyResolverSpec extends Specification {
     @Subject(TypeHierarchyResolver)
     final resolver = new TypeHierarchyResolver(types)
 
+    final Map<String, Name> names = [:]
+
     def 'returns abstract methods from a simple type element'() {
         final method = mockAbstractMethod('getName')
         final element = mockTypeElement([], TypeKind.NONE, [method])
@@ -154,6 +158,21 @@ class TypeHierarchyResolverSpec extends Specification {
         result.size() == 2
     }
 
+    def 'drops an inherited abstract method implemented by the type itself'() {
+        final ifaceElement = mockTypeElement([], TypeKind.NONE, [mockAbstractMethod('getId'), mockAbstractMethod('getFullName')])
+
+        final ifaceMirror = Stub(TypeMirror)
+        types.asElement(ifaceMirror) >> ifaceElement
+
+        final element = mockTypeElement([ifaceMirror], TypeKind.NONE, [mockConcreteMethod('getFullName')])
+
+        when:
+        final result = resolver.getAllAbstractMethods(element)
+
+        then:
+        result*.simpleName*.toString() == ['getId']
+    }
+
     def 'skips interface element that is not a TypeElement'() {
         final nonTypeElement = Stub(Element)
 
@@ -217,14 +236,128 @@ class TypeHierarchyResolverSpec extends Specification {
         result.size() == 2
     }
 
+    def 'walks a shared supertype only once'() {
+        final shared = Mock(TypeElement)
+        final sharedMirror = Stub(TypeMirror)
+        types.asElement(sharedMirror) >> shared
+        final sharedMethod = mockAbstractMethod('getId')
+
+        final first = mockTypeElement([sharedMirror], TypeKind.NONE, [mockAbstractMethod('getName')])
+        final second = mockTypeElement([sharedMirror], TypeKind.NONE, [mockAbstractMethod('getAge')])
+
+        when:
+        final firstResult = resolver.getAllAbstractMethods(first)
+        final secondResult = resolver.getAllAbstractMethods(second)
+
+        then:
+        1 * shared.interfaces >> []
+        1 * shared.superclass >> Stub(TypeMirror) { kind >> TypeKind.NONE }
+        1 * shared.enclosedElements >> [sharedMethod]
+
+        expect:
+        firstResult.size() == 2
+        firstResult[0] == sharedMethod
+        secondResult.size() == 2
+        secondResult[0] == sharedMethod
+    }
+
+    def 'walks a shared supertype again after clear'() {
+        final shared = Mock(TypeElement)
+        final sharedMirror = Stub(TypeMirror)
+        types.asElement(sharedMirror) >> shared
+
+        final element = mockTypeElement([sharedMirror], TypeKind.NONE, [mockAbstractMethod('getName')])
+
+        when:
+        resolver.getAllAbstractMethods(element)
+        resolver.clear()
+        final result = resolver.getAllAbstractMethods(element)
+
+        then:
+        2 * shared.interfaces >> []
+        2 * shared.superclass >> Stub(TypeMirror) { kind >> TypeKind.NONE }
+        2 * shared.enclosedElements >> [mockAbstractMethod('getId')]
+
+        expect:
+        result.size() == 2
+    }
+
+    def 'returns a fresh list for memoized hierarchies'() {
+        final element = mockTypeElement([], TypeKind.NONE, [mockAbstractMethod('getName')])
+
+        when:
+        final first = resolver.getAllAbstractMethods(element)
+        first.clear()
+        final second = resolver.getAllAbstractMethods(element)
+
+        then:
+        0 * _
+
+        expect:
+        second.size() == 1
+    }
+
+    def 'distinguishes methods by erased parameter types'() {
+        final stringElement = Stub(TypeElement)
+        final intType = Stub(TypeMirror) { kind >> TypeKind.INT }
+        final stringType = Stub(TypeMirror) { kind >> TypeKind.DECLARED }
+        final listOfString = Stub(TypeMirror) { kind >> TypeKind.DECLARED }
+        final erasingTypes = Stub(Types) {
+            erasure(intType) >> intType
+            erasure(stringType) >> stringType
+            erasure(listOfString) >> stringType
+            asElement(stringType) >> stringElement
+        }
+        final erasingResolver = new TypeHierarchyResolver(erasingTypes)
+
+        final ifaceMethod = mockAbstractMethod('setValue', [stringType])
+        final ifaceElement = mockTypeElement([], TypeKind.NONE, [ifaceMethod])
+        final ifaceMirror = Stub(TypeMirror)
+        erasingTypes.asElement(ifaceMirror) >> ifaceElement
+
+        final sameErasure = mockAbstractMethod('setValue', [listOfString])
+        final overload = mockAbstractMethod('setValue', [intType])
+        final element = mockTypeElement([ifaceMirror], TypeKind.NONE, [sameErasure, overload])
+
+        when:
+        final result = erasingResolver.getAllAbstractMethods(element)
+
+        then:
+        0 * _
+
+        expect:
+        result == [ifaceMethod, overload]
+    }
+
+    def 'finds a concrete method declared by the type itself'() {
+        final element = mockTypeElement([], TypeKind.NONE, [mockConcreteMethod('toString'), mockAbstractMethod('hashCode')])
+
+        expect:
+        resolver.hasConcreteMethod(element, 'toString', 0)
+        !resolver.hasConcreteMethod(element, 'hashCode', 0)
+        !resolver.hasConcreteMethod(element, 'toString', 1)
+    }
+
+    def 'finds a concrete method inherited from a superclass'() {
+        final superElement = mockTypeElement([], TypeKind.NONE, [mockConcreteMethod('toString')])
+        final superMirror = Stub(DeclaredType)
+        superMirror.kind >> TypeKind.DECLARED
+        superMirror.asElement() >> superElement
+        final element = mockTypeElementWithSuperclass([], superMirror, [])
+
+        expect:
+        resolver.hasConcreteMethod(element, 'toString', 0)
+        !resolver.hasConcreteMethod(element, 'equals', 1)
+    }
+
     // --- helpers ---
 
-    private ExecutableElement mockAbstractMethod(String name) {
+    private ExecutableElement mockAbstractMethod(String name, List<TypeMirror> parameterTypes = []) {
         final method = Stub(ExecutableElement)
         final simpleName = mockName(name)
         method.simpleName >> simpleName
         method.modifiers >> EnumSet.of(Modifier.ABSTRACT, Modifier.PUBLIC)
-        method.parameters >> []
+        method.parameters >> parameterTypes.collect { type -> Stub(VariableElement) { asType() >> type } }
         method.kind >> ElementKind.METHOD
 
         return method
@@ -265,10 +398,13 @@ class TypeHierarchyResolverSpec extends Specification {
         return element
     }
 
+    // javac interns names, so equal names are the same instance
     private Name mockName(String value) {
-        final name = Stub(Name)
-        name.toString() >> value
-        name.contentEquals(_) >> { CharSequence s -> value == s.toString() }
-        return name
+        names.computeIfAbsent(value) {
+            final name = Stub(Name)
+            name.toString() >> value
+            name.contentEquals(_) >> { CharSequence s -> value == s.toString() }
+            return name
+        }
     }
 }
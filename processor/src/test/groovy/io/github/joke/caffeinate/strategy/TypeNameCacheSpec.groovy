@@ -0,0 +1,42 @@
+package io.github.joke.caffeinate.strategy
+
+import com.palantir.javapoet.TypeName
+import spock.lang.Specification
+import spock.lang.Subject
+
+import javax.lang.model.type.PrimitiveType
+import javax.lang.model.type.TypeKind
+import javax.lang.model.type.TypeVisitor
+
+@Subject(TypeNameCache)
+class TypeNameCacheSpec extends Specification {
+
+    final cache = new TypeNameCache()
+
+    def 'converts each mirror once'() {
+        final type = Mock(PrimitiveType)
+
+        when:
+        final first = cache.get(type)
+        final second = cache.get(type)
+
+        then:
+        1 * type.accept(_, _) >> { TypeVisitor visitor, Object p -> visitor.visitPrimitive(type, p) }
+        _ * type.kind >> TypeKind.INT
+        first == TypeName.INT
+        second.is(first)
+    }
+
+    def 'converts again after clear'() {
+        final type = Mock(PrimitiveType)
+        cache.get(type)
+
+        when:
+        cache.clear()
+        cache.get(type)
+
+        then:
+        1 * type.accept(_, _) >> { TypeVisitor visitor, Object p -> visitor.visitPrimitive(type, p) }
+        _ * type.kind >> TypeKind.INT
+    }
+}